@@ -0,0 +1,112 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.BulkAssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.BulkAssignResultDto;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.service.impl.BulkAssignmentServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent assignByReference throughput, and a stress check of its per-reference serialization.
+ * With {@code hotReferences > 0} every thread hits the same few references, otherwise calls spread over all of them.
+ * {@code bulkAssignByReference} sends the same entries {@value #BULK_SIZE} at a time through the bulk service and is
+ * reported per reference, so the two scores compare directly.
+ * After the run every benchmark (reference, task type) must be left with at most one open task, otherwise the trial
+ * fails; the seed tasks are left out because they start with duplicates on purpose.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class AssignByReferenceBenchmark {
+
+    private record ReferenceTask(Long referenceId, ReferenceType referenceType, Task task) {
+    }
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"16", "0"})
+    public int hotReferences;
+
+    static final int BULK_SIZE = 100;
+
+    private BenchmarkFixture fixture;
+    private BulkAssignmentServiceImpl bulkService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(taskCount);
+        bulkService = new BulkAssignmentServiceImpl(fixture.service, new PlatformWorkerThreads(), 0,
+                ServiceTimers.disabled());
+    }
+
+    @Benchmark
+    public String assignByReference() {
+        return fixture.service.assignByReference(randomRequest());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public BulkAssignResultDto bulkAssignByReference() {
+        List<AssignByReferenceRequest> entries = new ArrayList<>(BULK_SIZE);
+        for (int i = 0; i < BULK_SIZE; i++) {
+            entries.add(randomRequest());
+        }
+        BulkAssignByReferenceRequest request = new BulkAssignByReferenceRequest();
+        request.setRequests(entries);
+        return bulkService.assignByReferences(request);
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAtMostOneOpenTaskPerReference() {
+        bulkService.shutdown();
+        Map<ReferenceTask, Long> openTasks = fixture.taskRepository.findAll().stream()
+                .filter(task -> task.getReferenceType() == ReferenceType.ORDER && task.getReferenceId() >= 1_000L)
+                .filter(task -> task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED)
+                .collect(Collectors.groupingBy(AssignByReferenceBenchmark::referenceTask, Collectors.counting()));
+        openTasks.forEach((key, count) -> {
+            if (count > 1) {
+                throw new IllegalStateException(count + " open tasks left for " + key);
+            }
+        });
+    }
+
+    private AssignByReferenceRequest randomRequest() {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setReferenceId(hotReferences > 0
+                ? 1_000L + ThreadLocalRandom.current().nextInt(hotReferences)
+                : fixture.randomReferenceId());
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAssigneeId(fixture.randomAssigneeId());
+        return request;
+    }
+
+    private static ReferenceTask referenceTask(TaskManagement task) {
+        return new ReferenceTask(task.getReferenceId(), task.getReferenceType(), task.getTask());
+    }
+}
@@ -0,0 +1,86 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.service.impl.AssigneeWorkloadIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto-assignment throughput over a large assignee pool. {@code autoAssignByReference} is the full service call;
+ * {@code reserveLeastLoaded} is the workload index pick on its own, and {@code leastLoadedByScan} is what a caller
+ * without the index has to do: sum the open task weights of every assignee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class AutoAssignBenchmark {
+
+    @Param({"100000"})
+    public int taskCount;
+
+    @Param({"10000"})
+    public int assigneeCount;
+
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(taskCount, assigneeCount);
+    }
+
+    @Benchmark
+    public String autoAssignByReference() {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setReferenceId(fixture.randomReferenceId());
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAutoAssign(true);
+        return fixture.service.assignByReference(request);
+    }
+
+    @Benchmark
+    public Long reserveLeastLoaded() {
+        Long assigneeId = fixture.workloadIndex.reserveLeastLoaded(2).orElseThrow();
+        fixture.workloadIndex.release(assigneeId, 2);
+        return assigneeId;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Long leastLoadedByScan() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Long> loads = new HashMap<>();
+        for (TaskManagement task : fixture.taskRepository.findAll()) {
+            if (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED) {
+                loads.merge(task.getAssigneeId(),
+                        AssigneeWorkloadIndex.weight(task.getPriority(), task.getTaskDeadlineTime(), now), Long::sum);
+            }
+        }
+        Long best = null;
+        long bestLoad = Long.MAX_VALUE;
+        for (long assigneeId = 1; assigneeId <= fixture.assigneeCount; assigneeId++) {
+            long load = loads.getOrDefault(assigneeId, 0L);
+            if (load < bestLoad) {
+                best = assigneeId;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,146 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.impl.AssigneeWorkloadIndex;
+import com.railse.hiring.workforcemgmt.service.impl.FinderScanCounters;
+import com.railse.hiring.workforcemgmt.service.impl.TaskActivityServiceImpl;
+import com.railse.hiring.workforcemgmt.service.impl.TaskDeadlineScheduler;
+import com.railse.hiring.workforcemgmt.service.impl.TaskDetailCache;
+import com.railse.hiring.workforcemgmt.service.impl.TaskManagementServiceImpl;
+import com.railse.hiring.workforcemgmt.service.impl.TaskSearchIndex;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Wires the in-memory repositories and the service without Spring and fills them with a
+ * deterministic data set: ORDER references carrying three tasks each, one activity per task
+ * and one comment per ten tasks, spread over 90 days of start dates.
+ */
+public class BenchmarkFixture {
+
+    private static final Task[] ORDER_TASKS = {Task.CREATE_INVOICE, Task.ARRANGE_PICKUP, Task.COLLECT_PAYMENT};
+    private static final int DAYS = 90;
+
+    public final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+    public final InMemoryTaskActivityRepository activityRepository = new InMemoryTaskActivityRepository();
+    public final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository();
+    public final TaskDetailCache taskDetailCache = new TaskDetailCache(taskRepository, activityRepository,
+            commentRepository, true, 10_000);
+    public final TaskActivityServiceImpl activityService = new TaskActivityServiceImpl(activityRepository);
+    public final TaskDeadlineScheduler deadlineScheduler = new TaskDeadlineScheduler(taskRepository, activityService,
+            activityRepository, new PlatformWorkerThreads(), false, 1000, 512, "none");
+    public final AssigneeWorkloadIndex workloadIndex = new AssigneeWorkloadIndex(taskRepository, deadlineScheduler);
+    public final FinderScanCounters finderScanCounters = new FinderScanCounters();
+    public final TaskSearchIndex searchIndex = new TaskSearchIndex(taskRepository, commentRepository, new PlatformWorkerThreads());
+    public final TaskManagementService service = newService(ServiceTimers.disabled());
+
+    public final int taskCount;
+    public final int assigneeCount;
+    public final int referenceCount;
+    public final LocalDate today = LocalDate.now();
+
+    public BenchmarkFixture(int taskCount) {
+        this(taskCount, Math.max(1000, taskCount / 100));
+    }
+
+    public BenchmarkFixture(int taskCount, int assigneeCount) {
+        this.taskCount = taskCount;
+        this.assigneeCount = assigneeCount;
+        this.referenceCount = Math.max(1, taskCount / ORDER_TASKS.length);
+        populate();
+    }
+
+    /** Another service over the same stores and indexes, recording into {@code serviceTimers}. */
+    public TaskManagementService newService(ServiceTimers serviceTimers) {
+        return new TaskManagementServiceImpl(taskRepository, activityRepository, commentRepository,
+                new ITaskManagementMapperImpl(), new ITaskActivityMapperImpl(), new ITaskCommentMapperImpl(),
+                activityService, taskDetailCache, deadlineScheduler, workloadIndex, finderScanCounters, searchIndex,
+                serviceTimers);
+    }
+
+    private void populate() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < taskCount; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setReferenceId((long) (i / ORDER_TASKS.length) + 1_000L);
+            task.setReferenceType(ReferenceType.ORDER);
+            task.setTask(ORDER_TASKS[i % ORDER_TASKS.length]);
+            task.setAssigneeId((long) random.nextInt(assigneeCount) + 1);
+            task.setStatus(randomStatus(random));
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            task.setStartDate(today.minusDays(random.nextInt(DAYS)));
+            task.setTaskDeadlineTime(now.plusHours(random.nextInt(72)));
+            task.setDescription("New task created.");
+            TaskManagement saved = taskRepository.save(task);
+
+            TaskActivity activity = new TaskActivity();
+            activity.setTaskId(saved.getId());
+            activity.setActivityType(ActivityType.TASK_CREATED);
+            activity.setDescription("Task created");
+            activity.setUserId(saved.getAssigneeId());
+            activity.setNewValue(TaskStatus.ASSIGNED.toString());
+            activityRepository.save(activity);
+
+            if (i % 10 == 0) {
+                TaskComment comment = new TaskComment();
+                comment.setTaskId(saved.getId());
+                comment.setComment("Benchmark comment " + i);
+                comment.setUserId(saved.getAssigneeId());
+                commentRepository.save(comment);
+            }
+        }
+    }
+
+    private static TaskStatus randomStatus(Random random) {
+        int roll = random.nextInt(10);
+        if (roll < 6) return TaskStatus.COMPLETED;
+        if (roll < 7) return TaskStatus.CANCELLED;
+        return roll < 9 ? TaskStatus.ASSIGNED : TaskStatus.STARTED;
+    }
+
+    public long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(taskCount) + 1;
+    }
+
+    public long randomAssigneeId() {
+        return ThreadLocalRandom.current().nextLong(assigneeCount) + 1;
+    }
+
+    public long randomReferenceId() {
+        return ThreadLocalRandom.current().nextLong(referenceCount) + 1_000L;
+    }
+
+    public List<Long> randomAssigneeIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(randomAssigneeId());
+        }
+        return ids;
+    }
+
+    public LocalDate randomDay() {
+        return today.minusDays(ThreadLocalRandom.current().nextInt(DAYS));
+    }
+}
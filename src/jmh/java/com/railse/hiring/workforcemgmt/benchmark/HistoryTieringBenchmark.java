@@ -0,0 +1,130 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.ColdTaskHistory;
+import com.railse.hiring.workforcemgmt.repository.impl.HistoryTiering;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the history of a closed task from the hot maps and from its cold block. Every task is COMPLETED and has
+ * the history of a typical lifecycle (created, assigned, two priority changes, a status change, three comments each
+ * repeated by a COMMENT_ADDED activity). With {@code tiered} all of it is moved to {@link ColdTaskHistory} before
+ * the measurement, so a read inflates and decodes the whole block. The setup prints the compressed size of the tier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HistoryTieringBenchmark {
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"false", "true"})
+    public boolean tiered;
+
+    private final ColdTaskHistory coldHistory = new ColdTaskHistory();
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+    private final InMemoryTaskActivityRepository activityRepository = new InMemoryTaskActivityRepository(coldHistory);
+    private final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository(coldHistory);
+    private HistoryTiering tiering;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < taskCount; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setReferenceId((long) i + 1_000L);
+            task.setReferenceType(ReferenceType.ORDER);
+            task.setTask(Task.CREATE_INVOICE);
+            task.setAssigneeId((long) random.nextInt(1000) + 1);
+            task.setStatus(TaskStatus.COMPLETED);
+            task.setPriority(Priority.MEDIUM);
+            task.setStartDate(LocalDate.now());
+            task.setDescription("New task created.");
+            Long taskId = taskRepository.save(task).getId();
+            Long userId = task.getAssigneeId();
+
+            activity(taskId, userId, ActivityType.TASK_CREATED, "Task created", null, TaskStatus.ASSIGNED.toString());
+            activity(taskId, userId, ActivityType.TASK_ASSIGNED, "Task assigned", null, userId.toString());
+            activity(taskId, userId, ActivityType.TASK_PRIORITY_CHANGED, "Priority changed", "MEDIUM", "HIGH");
+            activity(taskId, userId, ActivityType.TASK_PRIORITY_CHANGED, "Priority changed", "HIGH", "MEDIUM");
+            for (int c = 0; c < 3; c++) {
+                String text = "Customer asked to reschedule pickup, slot " + random.nextInt(100) + " confirmed";
+                TaskComment comment = new TaskComment();
+                comment.setTaskId(taskId);
+                comment.setUserId(userId);
+                comment.setComment(text);
+                commentRepository.save(comment);
+                activity(taskId, userId, ActivityType.COMMENT_ADDED, "Comment added", null, text);
+            }
+            activity(taskId, userId, ActivityType.TASK_STATUS_CHANGED, "Status changed", "ASSIGNED", "COMPLETED");
+        }
+        if (tiered) {
+            tiering = new HistoryTiering(taskRepository, activityRepository, commentRepository, coldHistory,
+                    new PlatformWorkerThreads(), true, 0, 3600);
+            tiering.tier();
+            System.out.printf("%n%d tasks, %d activities and %d comments in %d KiB of cold blocks%n",
+                    coldHistory.taskCount(), coldHistory.activityCount(), coldHistory.commentCount(),
+                    coldHistory.compressedBytes() / 1024);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (tiering != null) {
+            tiering.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<TaskActivity> findActivitiesByTaskId() {
+        return activityRepository.findByTaskId(randomTaskId());
+    }
+
+    @Benchmark
+    public List<TaskComment> findCommentsByTaskId() {
+        return commentRepository.findByTaskId(randomTaskId());
+    }
+
+    private long randomTaskId() {
+        return ThreadLocalRandom.current().nextLong(taskCount) + 1;
+    }
+
+    private void activity(Long taskId, Long userId, ActivityType type, String description,
+                          String oldValue, String newValue) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setUserId(userId);
+        activity.setActivityType(type);
+        activity.setDescription(description);
+        activity.setOldValue(oldValue);
+        activity.setNewValue(newValue);
+        activityRepository.save(activity);
+    }
+}
@@ -0,0 +1,84 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the service timers on the hot path: the same calls with {@link ServiceTimers#disabled()} and with timers
+ * recording into a Prometheus registry configured like application.properties (histogram buckets, no client-side
+ * percentiles). findTaskById is served from the detail cache and is not timed, so it should not change at all;
+ * fetchTasksByDate is timed. Most of the cost is the two System.nanoTime() reads, which vary a lot between machines;
+ * run with {@code -Pjmh.threads=1} on a busy or single-CPU host. The finder scan counters are always on in both
+ * variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class MetricsOverheadBenchmark {
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    private BenchmarkFixture fixture;
+    private TaskManagementService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(taskCount);
+        if (!instrumented) {
+            service = fixture.service;
+            return;
+        }
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        });
+        service = fixture.newService(new ServiceTimers(registry));
+    }
+
+    @Benchmark
+    public TaskManagementDto findTaskById() {
+        return service.findTaskById(fixture.randomTaskId());
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> fetchTasksByDate() {
+        LocalDate day = fixture.randomDay();
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setStartDate(day);
+        request.setEndDate(day);
+        request.setAssigneeIds(fixture.randomAssigneeIds(10));
+        return service.fetchTasksByDate(request);
+    }
+}
@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.WorkforcemgmtApplication;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the HTTP stack over slow persistence: the application runs in-process with every task repository
+ * read and write delayed by {@code persistenceLatencyMillis}, and 400 client threads call {@code GET /task-mgmt/{id}}
+ * (detail cache off). On platform threads throughput is capped at Tomcat's 200 workers per latency period; on
+ * virtual threads every concurrent request gets a thread.
+ * <p>
+ * {@code virtualThreads=true} needs the JDK 21 build: {@code ./gradlew jmh -PvirtualThreads
+ * -Pjmh.includes=RequestThreadingBenchmark}, which runs both modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(400)
+public class RequestThreadingBenchmark {
+
+    @Param({"false"})
+    public boolean virtualThreads;
+
+    @Param({"20", "500"})
+    public long persistenceLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("virtualThreads=true needs the JDK 21 build (-PvirtualThreads)");
+        }
+        // Passed as arguments so they win over application.properties
+        context = new SpringApplicationBuilder(WorkforcemgmtApplication.class, SlowPersistence.class)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=200",
+                        "--logging.level.root=WARN",
+                        "--workforcemgmt.threads.virtual=" + virtualThreads,
+                        "--workforcemgmt.task-cache.enabled=false",
+                        "--workforcemgmt.persistence.mode=memory",
+                        "--benchmark.persistence-latency-millis=" + persistenceLatencyMillis);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/task-mgmt/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getTaskById() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + (ThreadLocalRandom.current().nextInt(6) + 1)))
+                .GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** Wraps the task repository so each call sleeps first, standing in for a remote store. */
+    @Configuration
+    static class SlowPersistence {
+
+        @Bean
+        static BeanPostProcessor slowTaskRepository(Environment environment) {
+            long latencyMillis = environment.getProperty("benchmark.persistence-latency-millis", Long.class, 0L);
+            Set<String> delayed = Set.of("findById", "findAllById", "save", "saveAll");
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof TaskRepository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(bean.getClass().getClassLoader(),
+                            ClassUtils.getAllInterfaces(bean), (proxy, method, args) -> {
+                                if (delayed.contains(method.getName())) {
+                                    Thread.sleep(latencyMillis);
+                                }
+                                try {
+                                    return method.invoke(bean, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskFetchByDateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskManagementServiceBenchmark {
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"100"})
+    public int assigneesPerQuery;
+
+    @Param({"100"})
+    public int createBatchSize;
+
+    @Param({"50"})
+    public int pageSize;
+
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(taskCount);
+    }
+
+    @Benchmark
+    public List<TaskManagementDto> fetchTasksByDate() {
+        LocalDate day = fixture.randomDay();
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setStartDate(day);
+        request.setEndDate(day);
+        request.setAssigneeIds(fixture.randomAssigneeIds(assigneesPerQuery));
+        return fixture.service.fetchTasksByDate(request);
+    }
+
+    // First keyset page of the same query, walked in id order from the index
+    @Benchmark
+    public Page<TaskManagementDto> fetchTasksByDateFirstPage() {
+        LocalDate day = fixture.randomDay();
+        TaskFetchByDateRequest request = new TaskFetchByDateRequest();
+        request.setStartDate(day);
+        request.setEndDate(day);
+        request.setAssigneeIds(fixture.randomAssigneeIds(assigneesPerQuery));
+        request.setLimit(pageSize);
+        return fixture.service.fetchTasksByDatePage(request);
+    }
+
+    @Benchmark
+    public String assignByReference() {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setReferenceId(fixture.randomReferenceId());
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAssigneeId(fixture.randomAssigneeId());
+        return fixture.service.assignByReference(request);
+    }
+
+    @Benchmark
+    public TaskManagementDto findTaskById() {
+        return fixture.service.findTaskById(fixture.randomTaskId());
+    }
+
+    // Grows the store by createBatchSize tasks per invocation
+    @Benchmark
+    public List<TaskManagementDto> createTasks() {
+        List<TaskCreateRequest.RequestItem> items = new ArrayList<>(createBatchSize);
+        for (int i = 0; i < createBatchSize; i++) {
+            TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+            item.setReferenceId(fixture.randomReferenceId());
+            item.setReferenceType(ReferenceType.ORDER);
+            item.setTask(Task.CREATE_INVOICE);
+            item.setAssigneeId(fixture.randomAssigneeId());
+            item.setPriority(Priority.MEDIUM);
+            items.add(item);
+        }
+        TaskCreateRequest request = new TaskCreateRequest();
+        request.setRequests(items);
+        return fixture.service.createTasks(request);
+    }
+}
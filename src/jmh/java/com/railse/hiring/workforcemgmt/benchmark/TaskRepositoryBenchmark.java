@@ -0,0 +1,70 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskRepositoryBenchmark {
+
+    @Param({"10000"})
+    public int taskCount;
+
+    @Param({"100"})
+    public int assigneesPerQuery;
+
+    private BenchmarkFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new BenchmarkFixture(taskCount);
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByAssigneeIdIn() {
+        return fixture.taskRepository.findByAssigneeIdIn(fixture.randomAssigneeIds(assigneesPerQuery));
+    }
+
+    @Benchmark
+    public List<TaskManagement> findByReferenceIdAndReferenceType() {
+        return fixture.taskRepository.findByReferenceIdAndReferenceType(fixture.randomReferenceId(), ReferenceType.ORDER);
+    }
+
+    // One-day window through the startDate index
+    @Benchmark
+    public List<TaskManagement> findByAssigneeIdInAndDateRange() {
+        LocalDate day = fixture.randomDay();
+        return fixture.taskRepository.findByAssigneeIdInAndDateRange(fixture.randomAssigneeIds(assigneesPerQuery), day, day);
+    }
+
+    // Same one-day window evaluated the way fetchTasksByDate did before the startDate index
+    @Benchmark
+    public List<TaskManagement> dateRangeByAssigneeScan() {
+        LocalDate day = fixture.randomDay();
+        return fixture.taskRepository.findByAssigneeIdIn(fixture.randomAssigneeIds(assigneesPerQuery)).stream()
+                .filter(task -> {
+                    LocalDate taskStartDate = task.getStartDate();
+                    boolean startedInRange = !taskStartDate.isBefore(day) && !taskStartDate.isAfter(day);
+                    boolean activeFromBefore = taskStartDate.isBefore(day) &&
+                            (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED);
+                    return startedInRange || activeFromBefore;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.impl.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page (50 hits) of {@link TaskSearchIndex} queries. Descriptions are six words and comments (one per five
+ * tasks) eight words drawn from a 5000-word vocabulary with a skewed distribution, so "w0" is in most tasks and
+ * "w4000" in a few hundred per million. The filtered queries keep about one task in a thousand, so they walk far
+ * into the posting lists. Run with {@code -Pjmh.taskCount=1000000} for the million-task figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSearchBenchmark {
+
+    private static final int VOCABULARY = 5000;
+    private static final int PAGE = 50;
+
+    @Param({"100000"})
+    public int taskCount;
+
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository();
+    private final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository();
+    private TaskSearchIndex index;
+    private final Set<TaskStatus> started = EnumSet.of(TaskStatus.STARTED);
+    private final Set<Priority> high = EnumSet.of(Priority.HIGH);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new TaskSearchIndex(taskRepository, commentRepository, new PlatformWorkerThreads());
+        Random random = new Random(42);
+        for (int i = 0; i < taskCount; i++) {
+            TaskManagement task = new TaskManagement();
+            task.setReferenceId((long) i + 1_000L);
+            task.setReferenceType(ReferenceType.ORDER);
+            task.setTask(Task.CREATE_INVOICE);
+            task.setAssigneeId((long) random.nextInt(1000) + 1);
+            task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+            task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            task.setStartDate(LocalDate.now());
+            task.setDescription(words(random, 6));
+            Long taskId = taskRepository.save(task).getId();
+            if (i % 5 == 0) {
+                TaskComment comment = new TaskComment();
+                comment.setTaskId(taskId);
+                comment.setUserId(task.getAssigneeId());
+                comment.setComment(words(random, 8));
+                commentRepository.save(comment);
+            }
+        }
+        // A query waits until every save so far is indexed
+        index.search("w0", null, null, null, null, 1);
+        System.out.printf("%n%d tasks, %d terms%n", taskCount, index.termCount());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        index.shutdown();
+    }
+
+    @Benchmark
+    public List<Long> commonWord() {
+        return index.search("w0", null, null, null, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> rareWord() {
+        return index.search("w4000", null, null, null, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> andOfCommonAndRare() {
+        return index.search("w1 w300", null, null, null, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> orOfThree() {
+        return index.search("w10 w20 OR w30 OR w4000", null, null, null, null, PAGE);
+    }
+
+    @Benchmark
+    public List<Long> filteredByStatusPriorityAndAssignee() {
+        List<Long> assignees = List.of(ThreadLocalRandom.current().nextLong(1000) + 1,
+                ThreadLocalRandom.current().nextLong(1000) + 1);
+        return index.search("w0 OR w1", started, high, assignees, null, PAGE);
+    }
+
+    // Word i is drawn with probability roughly proportional to 1 / (i + 1)
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int word = (int) Math.pow(VOCABULARY + 1, random.nextDouble()) - 1;
+            text.append(i == 0 ? "" : " ").append('w').append(word);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.railse.hiring.workforcemgmt.benchmark;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.ColdTaskHistory;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.wal.WalPersistence;
+import com.railse.hiring.workforcemgmt.repository.impl.wal.WalTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write throughput of durable task saves (group commit makes it scale with -Pjmh.threads) and
+ * recovery time of a log holding {@code taskCount} task records.
+ */
+public class WriteAheadLogBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Writes {
+        Path directory;
+        WalPersistence persistence;
+        WalTaskRepository repository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("wal-bench");
+            InMemoryTaskRepository memory = new InMemoryTaskRepository();
+            persistence = new WalPersistence(memory, new InMemoryTaskActivityRepository(),
+                    new InMemoryTaskCommentRepository(), new ColdTaskHistory(), new PlatformWorkerThreads(),
+                    directory.toString(), 1024, 65536, 3600, Long.MAX_VALUE);
+            repository = new WalTaskRepository(memory, persistence);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            persistence.shutdown();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+        @Param({"10000"})
+        public int taskCount;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("wal-recovery-bench");
+            InMemoryTaskRepository memory = new InMemoryTaskRepository();
+            WalPersistence persistence = new WalPersistence(memory, new InMemoryTaskActivityRepository(),
+                    new InMemoryTaskCommentRepository(), new ColdTaskHistory(), new PlatformWorkerThreads(),
+                    directory.toString(), 1024, 65536, 3600, Long.MAX_VALUE);
+            WalTaskRepository repository = new WalTaskRepository(memory, persistence);
+            for (int i = 0; i < taskCount; i++) {
+                repository.save(newTask());
+            }
+            persistence.shutdown();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public TaskManagement durableSave(Writes writes) {
+        return writes.repository.save(newTask());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public InMemoryTaskRepository recover(Recovery recovery) throws IOException {
+        InMemoryTaskRepository memory = new InMemoryTaskRepository();
+        WalPersistence persistence = new WalPersistence(memory, new InMemoryTaskActivityRepository(),
+                new InMemoryTaskCommentRepository(), new ColdTaskHistory(), new PlatformWorkerThreads(),
+                recovery.directory.toString(), 1024, 65536, 3600, Long.MAX_VALUE);
+        persistence.shutdown();
+        return memory;
+    }
+
+    private static TaskManagement newTask() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(random.nextLong(1_000_000));
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(random.nextLong(10_000));
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setStartDate(LocalDate.now());
+        task.setTaskDeadlineTime(LocalDateTime.now().plusDays(1));
+        task.setDescription("New task created.");
+        return task;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
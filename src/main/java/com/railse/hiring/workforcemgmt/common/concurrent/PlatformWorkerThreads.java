@@ -0,0 +1,54 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@Conditional(PlatformWorkerThreads.VirtualThreadsUnavailable.class)
+public class PlatformWorkerThreads implements WorkerThreads {
+
+    @Override
+    public Thread newThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    @Override
+    public ExecutorService newExecutor(String namePrefix) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(task -> newThread(namePrefix + "-" + count.incrementAndGet(), task));
+    }
+
+    @Override
+    public ExecutorService newFixedExecutor(String namePrefix, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, task -> newThread(namePrefix + "-" + count.incrementAndGet(), task));
+    }
+
+    /**
+     * Virtual threads are off, or on but the JDK 17 build left out {@code VirtualThreadConfiguration}; either way
+     * the platform threads are the only {@link WorkerThreads}.
+     */
+    static class VirtualThreadsUnavailable extends AnyNestedCondition {
+
+        VirtualThreadsUnavailable() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "workforcemgmt.threads.virtual", havingValue = "false", matchIfMissing = true)
+        static class Disabled {
+        }
+
+        @ConditionalOnMissingClass("com.railse.hiring.workforcemgmt.common.concurrent.VirtualThreadConfiguration")
+        static class NotBuilt {
+        }
+    }
+}
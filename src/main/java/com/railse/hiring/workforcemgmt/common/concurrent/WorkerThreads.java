@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates the application's background threads: platform daemon threads by default, virtual threads when built
+ * with {@code -PvirtualThreads} and run with {@code workforcemgmt.threads.virtual=true}.
+ */
+public interface WorkerThreads {
+
+    /** An unstarted thread running {@code task}. */
+    Thread newThread(String name, Runnable task);
+
+    /** An unbounded executor for tasks that may block, with threads named {@code namePrefix-N}. */
+    ExecutorService newExecutor(String namePrefix);
+
+    /** An executor running at most {@code threads} tasks at a time and queueing the rest, named like {@link #newExecutor}. */
+    ExecutorService newFixedExecutor(String namePrefix, int threads);
+}
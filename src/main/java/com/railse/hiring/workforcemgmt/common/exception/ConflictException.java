@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
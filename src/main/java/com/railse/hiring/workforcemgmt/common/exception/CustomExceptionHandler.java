@@ -11,6 +11,13 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @ControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
+    @ExceptionHandler(BadRequestException.class)
+    public final ResponseEntity<Response<Object>> handleBadRequestException(BadRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_REQUEST.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public final ResponseEntity<Response<Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
         ResponseStatus status = new ResponseStatus(StatusCode.NOT_FOUND.getCode(), ex.getMessage());
@@ -18,6 +25,29 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public final ResponseEntity<Response<Object>> handleConflictException(ConflictException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.CONFLICT.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    // Another shard failed or could not be reached while serving this request
+    @ExceptionHandler(ShardRequestException.class)
+    public final ResponseEntity<Response<Object>> handleShardRequestException(ShardRequestException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.BAD_GATEWAY.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.BAD_GATEWAY);
+    }
+
+    // A read replica refusing a write, or a read while it lags too far behind its primary
+    @ExceptionHandler(ReplicaUnavailableException.class)
+    public final ResponseEntity<Response<Object>> handleReplicaUnavailableException(ReplicaUnavailableException ex) {
+        ResponseStatus status = new ResponseStatus(StatusCode.SERVICE_UNAVAILABLE.getCode(), ex.getMessage());
+        Response<Object> response = new Response<>(null, null, status);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public final ResponseEntity<Response<Object>> handleAllExceptions(Exception ex) {
         ResponseStatus status = new ResponseStatus(StatusCode.INTERNAL_SERVER_ERROR.getCode(), "An unexpected error occurred: " + ex.getMessage());
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class ReplicaUnavailableException extends RuntimeException {
+    public ReplicaUnavailableException(String message) {
+        super(message);
+    }
+}
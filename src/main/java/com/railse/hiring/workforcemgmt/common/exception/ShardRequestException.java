@@ -0,0 +1,11 @@
+package com.railse.hiring.workforcemgmt.common.exception;
+
+public class ShardRequestException extends RuntimeException {
+    public ShardRequestException(String message) {
+        super(message);
+    }
+
+    public ShardRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -7,7 +7,10 @@ public enum StatusCode {
     SUCCESS(200, "Success"),
     BAD_REQUEST(400, "Bad Request"),
     NOT_FOUND(404, "Resource Not Found"),
-    INTERNAL_SERVER_ERROR(500, "Internal Server Error");
+    CONFLICT(409, "Conflict"),
+    INTERNAL_SERVER_ERROR(500, "Internal Server Error"),
+    BAD_GATEWAY(502, "Bad Gateway"),
+    SERVICE_UNAVAILABLE(503, "Service Unavailable");
 
     private final int code;
     private final String message;
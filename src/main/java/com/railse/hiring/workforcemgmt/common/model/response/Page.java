@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.common.model.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Page<T>(List<T> items, Pagination pagination) {
+
+    /** Builds a page from up to {@code limit + 1} ordered items; the extra one only signals that more follow. */
+    public static <T> Page<T> of(List<T> items, int limit, Function<T, Long> cursorOf) {
+        boolean hasMore = items.size() > limit;
+        List<T> page = hasMore ? items.subList(0, limit) : items;
+        Long nextCursor = page.isEmpty() ? null : cursorOf.apply(page.get(page.size() - 1));
+        return new Page<>(page, new Pagination(limit, nextCursor, hasMore));
+    }
+}
@@ -2,10 +2,20 @@ package com.railse.hiring.workforcemgmt.common.model.response;
 
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+/**
+ * Keyset pagination: results are ordered by id and {@code nextCursor} is the id of the last returned item.
+ * Pass it back as {@code cursor} to get the page after it; {@code hasMore} is false on the last page.
+ */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class Pagination {
-    // Not implemented for this assignment
-}
\ No newline at end of file
+    private Integer limit;
+    private Long nextCursor;
+    private Boolean hasMore;
+}
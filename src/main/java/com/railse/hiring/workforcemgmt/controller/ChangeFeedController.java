@@ -0,0 +1,118 @@
+package com.railse.hiring.workforcemgmt.controller;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.ChangeBatchDto;
+import com.railse.hiring.workforcemgmt.dto.ChangeEventDto;
+import com.railse.hiring.workforcemgmt.service.impl.ChangeFeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Incremental task, activity and comment changes from the {@link ChangeFeed}, as an alternative to re-fetching.
+ * Plain GET long-polls: it answers as soon as there are events after {@code since}, or empty after the timeout.
+ * With {@code Accept: text/event-stream} the events are pushed as Server-Sent Events until the client disconnects.
+ * Neither holds a request thread while waiting. A {@code since} that fell out of the ring yields a resync batch
+ * (SSE event {@code resync}); the client then reloads current state and continues from its {@code next_since}.
+ */
+@RestController
+@RequestMapping("/task-mgmt")
+public class ChangeFeedController {
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private final ChangeFeed changeFeed;
+    private final long longPollTimeoutMillis;
+    private final long sseTimeoutMillis;
+
+    public ChangeFeedController(ChangeFeed changeFeed,
+                                @Value("${workforcemgmt.change-feed.long-poll-timeout-millis:30000}") long longPollTimeoutMillis,
+                                @Value("${workforcemgmt.change-feed.sse-timeout-millis:0}") long sseTimeoutMillis) {
+        this.changeFeed = changeFeed;
+        this.longPollTimeoutMillis = longPollTimeoutMillis;
+        this.sseTimeoutMillis = sseTimeoutMillis;
+    }
+
+    // Without since, waits for changes after the current end of the feed
+    @GetMapping("/changes")
+    public DeferredResult<Response<ChangeBatchDto>> pollChanges(@RequestParam(required = false) Long since,
+                                                                @RequestParam(required = false) Integer limit) {
+        long from = since != null ? since : changeFeed.lastSeq();
+        int batchSize = batchSize(limit);
+        DeferredResult<Response<ChangeBatchDto>> result = new DeferredResult<>(longPollTimeoutMillis,
+                () -> new Response<>(changeFeed.read(from, batchSize)));
+        poll(result, from, batchSize);
+        return result;
+    }
+
+    // Last-Event-ID lets a reconnecting EventSource resume where it stopped
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        long from = lastEventId != null ? lastEventId : since != null ? since : changeFeed.lastSeq();
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        changeFeed.whenAppended(CompletableFuture.completedFuture(null),
+                () -> push(emitter, closed, from));
+        return emitter;
+    }
+
+    private void poll(DeferredResult<Response<ChangeBatchDto>> result, long since, int batchSize) {
+        if (result.isSetOrExpired()) {
+            return;
+        }
+        CompletionStage<Void> next = changeFeed.nextAppend();
+        ChangeBatchDto batch = changeFeed.read(since, batchSize);
+        if (batch.isResync() || !batch.getEvents().isEmpty()) {
+            result.setResult(new Response<>(batch));
+        } else {
+            changeFeed.whenAppended(next, () -> poll(result, since, batchSize));
+        }
+    }
+
+    // Sends everything after since, then re-arms on the next append; runs on the feed's notifier threads only
+    private void push(SseEmitter emitter, AtomicBoolean closed, long since) {
+        if (closed.get()) {
+            return;
+        }
+        CompletionStage<Void> next = changeFeed.nextAppend();
+        ChangeBatchDto batch = changeFeed.read(since, MAX_BATCH_SIZE);
+        try {
+            if (batch.isResync()) {
+                emitter.send(SseEmitter.event().name("resync").data(batch, MediaType.APPLICATION_JSON));
+                emitter.complete();
+                return;
+            }
+            for (ChangeEventDto event : batch.getEvents()) {
+                emitter.send(SseEmitter.event().id(Long.toString(event.getSeq())).name("change")
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter already completed
+            closed.set(true);
+            return;
+        }
+        long cursor = batch.getNextSince();
+        changeFeed.whenAppended(batch.getEvents().size() == MAX_BATCH_SIZE
+                ? CompletableFuture.completedFuture(null) : next,
+                () -> push(emitter, closed, cursor));
+    }
+
+    private static int batchSize(Integer limit) {
+        return limit != null ? Math.max(1, Math.min(limit, MAX_BATCH_SIZE)) : MAX_BATCH_SIZE;
+    }
+}
@@ -1,12 +1,27 @@
 package com.railse.hiring.workforcemgmt.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
 import com.railse.hiring.workforcemgmt.common.model.response.Response;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.service.BulkAssignmentService;
+import com.railse.hiring.workforcemgmt.service.TaskImportService;
 import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import com.railse.hiring.workforcemgmt.service.impl.TaskDetailCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @RestController
 
@@ -14,10 +29,23 @@ import java.util.List;
 @RequestMapping("/task-mgmt")
 public class TaskManagementController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final TaskManagementService taskManagementService;
+    private final TaskImportService taskImportService;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final TaskDetailCache taskDetailCache;
+    private final ObjectMapper objectMapper;
 
-    public TaskManagementController(TaskManagementService taskManagementService) {
+    public TaskManagementController(TaskManagementService taskManagementService, TaskImportService taskImportService,
+                                    BulkAssignmentService bulkAssignmentService, TaskDetailCache taskDetailCache,
+                                    ObjectMapper objectMapper) {
         this.taskManagementService = taskManagementService;
+        this.taskImportService = taskImportService;
+        this.bulkAssignmentService = bulkAssignmentService;
+        this.taskDetailCache = taskDetailCache;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/{id}")
@@ -30,6 +58,15 @@ public class TaskManagementController {
         return new Response<>(taskManagementService.createTasks(request));
     }
 
+    // Bulk create from an NDJSON (one create item per line) or CSV upload; bad lines are reported, not fatal
+    @PostMapping(value = "/import", consumes = {NDJSON, "text/csv"})
+    public Response<TaskImportResultDto> importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                     InputStream body) {
+        TaskImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(TEXT_CSV)
+                ? TaskImportService.Format.CSV : TaskImportService.Format.NDJSON;
+        return new Response<>(taskImportService.importTasks(body, format));
+    }
+
     @PostMapping("/update")
     public Response<List<TaskManagementDto>> updateTasks(@RequestBody UpdateTaskRequest request) {
         return new Response<>(taskManagementService.updateTasks(request));
@@ -40,9 +77,25 @@ public class TaskManagementController {
         return new Response<>(taskManagementService.assignByReference(request));
     }
 
+    // Many assign-by-ref entries at once; references run in parallel and each gets its own outcome
+    @PostMapping("/assign-by-ref/bulk")
+    public Response<BulkAssignResultDto> assignByReferences(@RequestBody BulkAssignByReferenceRequest request) {
+        return new Response<>(bulkAssignmentService.assignByReferences(request));
+    }
+
     @PostMapping("/fetch-by-date/v2")
     public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
-        return new Response<>(taskManagementService.fetchTasksByDate(request));
+        if (request.getLimit() == null) {
+            return new Response<>(taskManagementService.fetchTasksByDate(request));
+        }
+        Page<TaskManagementDto> page = taskManagementService.fetchTasksByDatePage(request);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    // Same tasks as /fetch-by-date/v2 in id order, written one JSON object per line as they are produced
+    @PostMapping(value = "/fetch-by-date/v2/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByDate(@RequestBody TaskFetchByDateRequest request) {
+        return ndjson(taskManagementService.streamTasksByDate(request));
     }
 
     // FEATURE 2: Priority management endpoints
@@ -52,8 +105,50 @@ public class TaskManagementController {
     }
 
     @GetMapping("/priority/{priority}")
-    public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority) {
-        return new Response<>(taskManagementService.findTasksByPriority(priority));
+    public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) Long cursor) {
+        if (limit == null) {
+            return new Response<>(taskManagementService.findTasksByPriority(priority));
+        }
+        Page<TaskManagementDto> page = taskManagementService.findTasksByPriorityPage(priority, limit, cursor);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    @GetMapping(value = "/priority/{priority}/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamByPriority(@PathVariable Priority priority,
+                                                                  @RequestParam(required = false) Long cursor) {
+        return ndjson(taskManagementService.streamTasksByPriority(priority, cursor));
+    }
+
+    // Open tasks whose deadline has passed, paged by id when a limit is given
+    @GetMapping("/overdue")
+    public Response<List<TaskManagementDto>> getOverdueTasks(@RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) Long cursor) {
+        if (limit == null) {
+            return new Response<>(taskManagementService.findOverdueTasks());
+        }
+        Page<TaskManagementDto> page = taskManagementService.findOverdueTasksPage(limit, cursor);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    // Tasks whose description or comments contain the query's words, optionally filtered, paged by id
+    @PostMapping("/search")
+    public Response<List<TaskManagementDto>> searchTasks(@RequestBody TaskSearchRequest request) {
+        Page<TaskManagementDto> page = taskManagementService.searchTasks(request);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    // Task counts by status, priority and task type, optionally broken down for the given assignees
+    @GetMapping("/stats")
+    public Response<TaskStatsDto> getTaskStats(@RequestParam(name = "assignee_ids", required = false) List<Long> assigneeIds) {
+        return new Response<>(taskManagementService.getTaskStats(assigneeIds));
+    }
+
+    // Hit/miss/eviction counters of the findTaskById detail cache
+    @GetMapping("/cache/stats")
+    public Response<Map<String, Object>> getCacheStats() {
+        return new Response<>(taskDetailCache.stats());
     }
 
     // FEATURE 3: Comments endpoint
@@ -61,4 +156,17 @@ public class TaskManagementController {
     public Response<TaskCommentDto> addComment(@RequestBody AddCommentRequest request) {
         return new Response<>(taskManagementService.addComment(request));
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<StreamingResponseBody> ndjson(Stream<TaskManagementDto> tasks) {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            Iterator<TaskManagementDto> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+}
@@ -11,4 +11,5 @@ public class AssignByReferenceRequest {
     private Long referenceId;
     private ReferenceType referenceType;
     private Long assigneeId;
+    private Boolean autoAssign; // Let the server pick the least-loaded assignee; assigneeId is then ignored
 }
\ No newline at end of file
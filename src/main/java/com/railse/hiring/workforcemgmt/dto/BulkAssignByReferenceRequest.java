@@ -0,0 +1,13 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BulkAssignByReferenceRequest {
+    private List<AssignByReferenceRequest> requests;
+}
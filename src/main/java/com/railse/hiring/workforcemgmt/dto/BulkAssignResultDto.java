@@ -0,0 +1,31 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class BulkAssignResultDto {
+    private int succeeded;
+    private int failed;
+    private List<ReferenceOutcome> results; // One per distinct reference, in order of first appearance
+    private long elapsedMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class ReferenceOutcome {
+        private Long referenceId;
+        private ReferenceType referenceType;
+        private int entries; // Request entries for this reference; only the last one is applied
+        private boolean success;
+        private String message;
+    }
+}
@@ -0,0 +1,17 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ChangeBatchDto {
+    private List<ChangeEventDto> events;
+    // Pass as since on the next call
+    private long nextSince;
+    // The requested position is no longer in the ring: reload current state, then resume from next_since
+    private boolean resync;
+}
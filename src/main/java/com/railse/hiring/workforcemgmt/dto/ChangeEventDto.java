@@ -0,0 +1,19 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class ChangeEventDto {
+    private long seq;
+    private ChangeEntityType entityType;
+    private Long entityId;
+    private Long taskId;
+    private LocalDateTime changedAt;
+    private Object data; // TaskManagementDto, TaskActivityDto or TaskCommentDto as saved
+}
@@ -0,0 +1,22 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Data;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReplicationStatusDto {
+    private String role; // none, primary or replica
+    private Long epoch;
+    private Long lastSeq;        // Primary: latest change in its feed
+    private Integer replicas;    // Primary: connected replicas
+    private Boolean connected;   // Replica: connected to its primary
+    private Long appliedSeq;     // Replica: latest change applied
+    private Long primarySeq;     // Replica: primary's latest change as last heard
+    private Long lagChanges;     // Replica: changes it is known to be missing
+    private Long lagMillis;      // Replica: time since it last had every change of its primary; absent before the first sync
+    private Long maxLagMillis;   // Replica: reads are refused above this lag
+}
@@ -14,4 +14,6 @@ public class TaskFetchByDateRequest {
     private LocalDate startDate;
     private LocalDate endDate;
     private List<Long> assigneeIds;
+    private Integer limit; // Page size; without it every match is returned in one response
+    private Long cursor;   // next_cursor of the previous page
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskImportResultDto {
+    private long lines;
+    private long imported;
+    private long failed;
+    private List<LineError> errors; // First errors by line number; errors_truncated when there were more
+    private boolean errorsTruncated;
+    private long elapsedMillis;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+    public static class LineError {
+        private long line;
+        private String message;
+    }
+}
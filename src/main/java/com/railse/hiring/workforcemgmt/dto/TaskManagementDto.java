@@ -27,6 +27,7 @@ public class TaskManagementDto {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDate startDate;
+    private Long version;
     private List<TaskActivityDto> activities;
     private List<TaskCommentDto> comments;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class TaskSearchRequest {
+    // Words in the description or a comment; words are ANDed, OR separates alternatives: "pickup late OR reschedule"
+    private String query;
+    // Optional filters; a task matches when it is in every list given
+    private List<TaskStatus> statuses;
+    private List<Priority> priorities;
+    private List<Long> assigneeIds;
+    private Integer limit; // Page size, at most 1000
+    private Long cursor;   // next_cursor of the previous page
+}
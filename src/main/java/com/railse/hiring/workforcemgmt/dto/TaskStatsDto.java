@@ -0,0 +1,25 @@
+package com.railse.hiring.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskStatsDto {
+    private long total;
+    private Map<TaskStatus, Long> byStatus;
+    private Map<Priority, Long> byPriority;
+    private Map<Task, Long> byTask;
+    // status -> priority -> task type -> count
+    private Map<TaskStatus, Map<Priority, Map<Task, Long>>> counts;
+    // Per-assignee breakdown, only for the assignees asked for
+    private Map<Long, TaskStatsDto> assignees;
+}
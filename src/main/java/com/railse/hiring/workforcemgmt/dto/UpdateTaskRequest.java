@@ -18,5 +18,6 @@ public class UpdateTaskRequest {
         private Long taskId;
         private TaskStatus taskStatus;
         private String description;
+        private Long expectedVersion; // Optional; the update is rejected with 409 if the task has moved on
     }
 }
\ No newline at end of file
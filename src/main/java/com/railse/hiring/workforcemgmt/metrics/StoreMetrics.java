@@ -0,0 +1,137 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import com.railse.hiring.workforcemgmt.replication.ReplicationReplica;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.ColdTaskHistory;
+import com.railse.hiring.workforcemgmt.service.impl.AsyncTaskActivityService;
+import com.railse.hiring.workforcemgmt.service.impl.FinderScanCounters;
+import com.railse.hiring.workforcemgmt.service.impl.TaskSearchIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Store sizes, write counts and finder selectivity. Everything is read when the registry is scraped: sizes come from
+ * the stores' own counters and writes are counted by save listeners, so nothing here walks a store or adds a meter
+ * lookup to a request. Write rates are the rate() of {@code workforcemgmt.store.writes}.
+ */
+@Component
+public class StoreMetrics implements MeterBinder {
+
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository taskActivityRepository;
+    private final TaskCommentRepository taskCommentRepository;
+    private final FinderScanCounters finderScanCounters;
+    private final ColdTaskHistory coldHistory;
+    private final TaskSearchIndex searchIndex;
+    private final ObjectProvider<AsyncTaskActivityService> asyncActivityLog;
+    private final ObjectProvider<ReplicationReplica> replica;
+    private final LongAdder taskWrites = new LongAdder();
+    private final LongAdder activityWrites = new LongAdder();
+    private final LongAdder commentWrites = new LongAdder();
+
+    public StoreMetrics(TaskRepository taskRepository,
+                        TaskActivityRepository taskActivityRepository,
+                        TaskCommentRepository taskCommentRepository,
+                        FinderScanCounters finderScanCounters,
+                        ColdTaskHistory coldHistory,
+                        TaskSearchIndex searchIndex,
+                        ObjectProvider<AsyncTaskActivityService> asyncActivityLog,
+                        ObjectProvider<ReplicationReplica> replica) {
+        this.taskRepository = taskRepository;
+        this.taskActivityRepository = taskActivityRepository;
+        this.taskCommentRepository = taskCommentRepository;
+        this.finderScanCounters = finderScanCounters;
+        this.coldHistory = coldHistory;
+        this.searchIndex = searchIndex;
+        this.asyncActivityLog = asyncActivityLog;
+        this.replica = replica;
+        taskRepository.addSaveListener(task -> taskWrites.increment());
+        taskActivityRepository.addSaveListener(activity -> activityWrites.increment());
+        taskCommentRepository.addSaveListener(comment -> commentWrites.increment());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        storeSize(registry, "task", () -> taskRepository.countTasks(null).total());
+        storeSize(registry, "activity", taskActivityRepository::count);
+        storeSize(registry, "comment", taskCommentRepository::count);
+        storeWrites(registry, "task", taskWrites);
+        storeWrites(registry, "activity", activityWrites);
+        storeWrites(registry, "comment", commentWrites);
+
+        for (FinderScanCounters.Finder finder : FinderScanCounters.Finder.values()) {
+            String tag = finder.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("workforcemgmt.finder.rows.scanned", finderScanCounters, c -> c.scanned(finder))
+                    .description("Rows the finder read from the repository")
+                    .tag("finder", tag)
+                    .register(registry);
+            FunctionCounter.builder("workforcemgmt.finder.rows.returned", finderScanCounters, c -> c.returned(finder))
+                    .description("Rows the finder kept after filtering")
+                    .tag("finder", tag)
+                    .register(registry);
+        }
+
+        Gauge.builder("workforcemgmt.history.cold.tasks", coldHistory, ColdTaskHistory::taskCount)
+                .description("Closed tasks whose activities and comments are in compressed cold storage")
+                .register(registry);
+        Gauge.builder("workforcemgmt.history.cold.size", coldHistory, ColdTaskHistory::compressedBytes)
+                .description("Compressed size of the cold history blocks")
+                .baseUnit("bytes")
+                .register(registry);
+
+        Gauge.builder("workforcemgmt.search.terms", searchIndex, TaskSearchIndex::termCount)
+                .description("Distinct words in the search index")
+                .register(registry);
+
+        asyncActivityLog.ifAvailable(activityLog -> {
+            Gauge.builder("workforcemgmt.activity.log.queued", activityLog, AsyncTaskActivityService::getQueuedCount)
+                    .description("Activities waiting for the async writer")
+                    .register(registry);
+            FunctionCounter.builder("workforcemgmt.activity.log.dropped", activityLog, AsyncTaskActivityService::getDroppedCount)
+                    .description("Activities dropped because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("workforcemgmt.activity.log.write.failures", activityLog,
+                            AsyncTaskActivityService::getFailedWriteCount)
+                    .description("Failed activity writes, including those that a retry then saved")
+                    .register(registry);
+            FunctionCounter.builder("workforcemgmt.activity.log.lost", activityLog, AsyncTaskActivityService::getLostCount)
+                    .description("Activities not saved after every write attempt failed")
+                    .register(registry);
+        });
+
+        // NaN until the replica first syncs
+        replica.ifAvailable(node -> {
+            Gauge.builder("workforcemgmt.replication.lag", node, r -> r.lagMillis() != null ? r.lagMillis() : Double.NaN)
+                    .description("Time since the replica last had every change of its primary")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("workforcemgmt.replication.lag.changes", node, r -> r.primarySeq() - r.appliedSeq())
+                    .description("Changes the replica is known to be missing")
+                    .register(registry);
+        });
+    }
+
+    private static void storeSize(MeterRegistry registry, String store, Supplier<Number> size) {
+        Gauge.builder("workforcemgmt.store.size", size)
+                .description("Entries held by the store")
+                .tag("store", store)
+                .register(registry);
+    }
+
+    private static void storeWrites(MeterRegistry registry, String store, LongAdder writes) {
+        FunctionCounter.builder("workforcemgmt.store.writes", writes, LongAdder::sum)
+                .description("Entries saved to the store")
+                .tag("store", store)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.railse.hiring.workforcemgmt.model;
+
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+/** Task counts per (status, priority, task type) cell, laid out flat by enum ordinal. */
+public final class TaskCounts {
+
+    private static final int PRIORITIES = Priority.values().length;
+    private static final int TASKS = Task.values().length;
+    public static final int CELLS = TaskStatus.values().length * PRIORITIES * TASKS;
+
+    private final long[] cells;
+
+    public TaskCounts(long[] cells) {
+        this.cells = cells;
+    }
+
+    public static int cell(TaskStatus status, Priority priority, Task task) {
+        return (status.ordinal() * PRIORITIES + priority.ordinal()) * TASKS + task.ordinal();
+    }
+
+    public long get(TaskStatus status, Priority priority, Task task) {
+        return cells[cell(status, priority, task)];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : cells) {
+            total += count;
+        }
+        return total;
+    }
+}
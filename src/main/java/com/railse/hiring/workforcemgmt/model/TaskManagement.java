@@ -24,4 +24,23 @@ public class TaskManagement {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDate startDate; // When the task should start being worked on
+    private Long version; // Bumped on every save, used for optimistic concurrency checks
+
+    public TaskManagement copy() {
+        TaskManagement copy = new TaskManagement();
+        copy.setId(id);
+        copy.setReferenceId(referenceId);
+        copy.setReferenceType(referenceType);
+        copy.setTask(task);
+        copy.setDescription(description);
+        copy.setStatus(status);
+        copy.setAssigneeId(assigneeId);
+        copy.setTaskDeadlineTime(taskDeadlineTime);
+        copy.setPriority(priority);
+        copy.setCreatedAt(createdAt);
+        copy.setUpdatedAt(updatedAt);
+        copy.setStartDate(startDate);
+        copy.setVersion(version);
+        return copy;
+    }
 }
\ No newline at end of file
@@ -7,5 +7,6 @@ public enum ActivityType {
     TASK_STATUS_CHANGED,
     TASK_PRIORITY_CHANGED,
     TASK_CANCELLED,
-    COMMENT_ADDED
+    COMMENT_ADDED,
+    TASK_OVERDUE
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.railse.hiring.workforcemgmt.model.enums;
+
+public enum ChangeEntityType {
+    TASK,
+    ACTIVITY,
+    COMMENT
+}
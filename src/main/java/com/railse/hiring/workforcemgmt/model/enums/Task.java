@@ -4,7 +4,9 @@ import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
 import lombok.Getter;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Getter
@@ -14,6 +16,17 @@ public enum Task {
     ARRANGE_PICKUP(List.of(ReferenceType.ORDER), "Arrange Pickup"),
     COLLECT_PAYMENT(List.of(ReferenceType.ORDER), "Collect Payment");
 
+    // Tasks per reference type, built once; the lists are immutable and shared
+    private static final Map<ReferenceType, List<Task>> TASKS_BY_REFERENCE_TYPE = new EnumMap<>(ReferenceType.class);
+
+    static {
+        for (ReferenceType referenceType : ReferenceType.values()) {
+            TASKS_BY_REFERENCE_TYPE.put(referenceType, Arrays.stream(values())
+                    .filter(task -> task.applicableReferenceTypes.contains(referenceType))
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+    }
+
     private final List<ReferenceType> applicableReferenceTypes;
     private final String view;
 
@@ -23,8 +36,6 @@ public enum Task {
     }
 
     public static List<Task> getTasksByReferenceType(ReferenceType referenceType) {
-        return Arrays.stream(Task.values())
-                .filter(task -> task.getApplicableReferenceTypes().contains(referenceType))
-                .collect(Collectors.toList());
+        return referenceType != null ? TASKS_BY_REFERENCE_TYPE.get(referenceType) : List.of();
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.exception.ReplicaUnavailableException;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The task API of a read replica: reads are served from the replicated stores while the replica is within
+ * {@code workforcemgmt.replication.max-lag-millis} of its primary, writes are refused (503) so clients retry them
+ * against the primary. Imports and bulk assignment go through this service too, so they are refused as well.
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "workforcemgmt.replication.role", havingValue = "replica")
+public class ReplicaTaskManagementService implements TaskManagementService {
+
+    private final TaskManagementService localService;
+    private final ReplicationReplica replica;
+
+    public ReplicaTaskManagementService(@Qualifier("taskManagementServiceImpl") TaskManagementService localService,
+                                        ReplicationReplica replica) {
+        this.localService = localService;
+        this.replica = replica;
+    }
+
+    @Override
+    public List<TaskManagementDto> createTasks(TaskCreateRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public int importTasks(TaskCreateRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<TaskManagementDto> updateTasks(UpdateTaskRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public String assignByReference(AssignByReferenceRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
+        replica.checkLag();
+        return localService.fetchTasksByDate(request);
+    }
+
+    @Override
+    public Page<TaskManagementDto> fetchTasksByDatePage(TaskFetchByDateRequest request) {
+        replica.checkLag();
+        return localService.fetchTasksByDatePage(request);
+    }
+
+    @Override
+    public Stream<TaskManagementDto> streamTasksByDate(TaskFetchByDateRequest request) {
+        replica.checkLag();
+        return localService.streamTasksByDate(request);
+    }
+
+    @Override
+    public TaskManagementDto findTaskById(Long id) {
+        replica.checkLag();
+        return localService.findTaskById(id);
+    }
+
+    @Override
+    public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public List<TaskManagementDto> findTasksByPriority(Priority priority) {
+        replica.checkLag();
+        return localService.findTasksByPriority(priority);
+    }
+
+    @Override
+    public Page<TaskManagementDto> findTasksByPriorityPage(Priority priority, int limit, Long cursor) {
+        replica.checkLag();
+        return localService.findTasksByPriorityPage(priority, limit, cursor);
+    }
+
+    @Override
+    public Stream<TaskManagementDto> streamTasksByPriority(Priority priority, Long cursor) {
+        replica.checkLag();
+        return localService.streamTasksByPriority(priority, cursor);
+    }
+
+    @Override
+    public List<TaskManagementDto> findOverdueTasks() {
+        replica.checkLag();
+        return localService.findOverdueTasks();
+    }
+
+    @Override
+    public Page<TaskManagementDto> findOverdueTasksPage(int limit, Long cursor) {
+        replica.checkLag();
+        return localService.findOverdueTasksPage(limit, cursor);
+    }
+
+    @Override
+    public TaskCommentDto addComment(AddCommentRequest request) {
+        throw readOnly();
+    }
+
+    @Override
+    public TaskStatsDto getTaskStats(List<Long> assigneeIds) {
+        replica.checkLag();
+        return localService.getTaskStats(assigneeIds);
+    }
+
+    @Override
+    public Page<TaskManagementDto> searchTasks(TaskSearchRequest request) {
+        replica.checkLag();
+        return localService.searchTasks(request);
+    }
+
+    private static ReplicaUnavailableException readOnly() {
+        return new ReplicaUnavailableException("This node is a read replica; send writes to the primary");
+    }
+}
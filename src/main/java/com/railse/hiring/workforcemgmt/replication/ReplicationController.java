@@ -0,0 +1,50 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.ReplicationStatusDto;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Replication role and position of this node. On a replica it is answered whatever the lag, so a lagging replica
+ * can still be told apart from a broken one.
+ */
+@RestController
+@RequestMapping("/task-mgmt")
+public class ReplicationController {
+
+    private final ObjectProvider<ReplicationPrimary> primary;
+    private final ObjectProvider<ReplicationReplica> replica;
+
+    public ReplicationController(ObjectProvider<ReplicationPrimary> primary, ObjectProvider<ReplicationReplica> replica) {
+        this.primary = primary;
+        this.replica = replica;
+    }
+
+    @GetMapping("/replication")
+    public Response<ReplicationStatusDto> getStatus() {
+        ReplicationStatusDto status = new ReplicationStatusDto();
+        status.setRole("none");
+        primary.ifAvailable(node -> {
+            status.setRole("primary");
+            status.setEpoch(node.epoch());
+            status.setLastSeq(node.lastSeq());
+            status.setReplicas(node.replicaCount());
+        });
+        replica.ifAvailable(node -> {
+            status.setRole("replica");
+            status.setEpoch(node.epoch());
+            long appliedSeq = node.appliedSeq();
+            long primarySeq = Math.max(node.primarySeq(), appliedSeq);
+            status.setConnected(node.isConnected());
+            status.setAppliedSeq(appliedSeq);
+            status.setPrimarySeq(primarySeq);
+            status.setLagChanges(primarySeq - appliedSeq);
+            status.setLagMillis(node.lagMillis());
+            status.setMaxLagMillis(node.maxLagMillis());
+        });
+        return new Response<>(status);
+    }
+}
@@ -0,0 +1,207 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import com.railse.hiring.workforcemgmt.replication.ReplicationProtocol.MessageType;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.impl.ChangeFeed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Streams every task, activity and comment save to the connected replicas. The {@link ChangeFeed} ring is the
+ * replication log: each replica gets a sender thread that reads the ring from the replica's position, so a slow
+ * replica never holds up writers or other replicas. A replica that is new, was fed by another run of the primary,
+ * or fell so far behind that the ring overwrote its position gets a snapshot of the stores first. Changes are full
+ * upserts, so the snapshot can be read while writes continue and the changes after it are replayed on top.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.replication.role", havingValue = "primary")
+public class ReplicationPrimary {
+
+    private final TaskRepository taskRepository;
+    private final TaskActivityRepository taskActivityRepository;
+    private final TaskCommentRepository taskCommentRepository;
+    private final ChangeFeed changeFeed;
+    private final long heartbeatMillis;
+    private final int maxBatchSize;
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    private final ServerSocket serverSocket;
+    private final ExecutorService senders;
+    private final Set<Socket> replicas = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    public ReplicationPrimary(TaskRepository taskRepository,
+                              TaskActivityRepository taskActivityRepository,
+                              TaskCommentRepository taskCommentRepository,
+                              ChangeFeed changeFeed,
+                              WorkerThreads workerThreads,
+                              @Value("${workforcemgmt.replication.host:127.0.0.1}") String host,
+                              @Value("${workforcemgmt.replication.port:7070}") int port,
+                              @Value("${workforcemgmt.replication.heartbeat-millis:100}") long heartbeatMillis,
+                              @Value("${workforcemgmt.replication.max-batch-size:1024}") int maxBatchSize) {
+        this.taskRepository = taskRepository;
+        this.taskActivityRepository = taskActivityRepository;
+        this.taskCommentRepository = taskCommentRepository;
+        this.changeFeed = changeFeed;
+        this.heartbeatMillis = heartbeatMillis;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        try {
+            this.serverSocket = new ServerSocket();
+            serverSocket.bind(new InetSocketAddress(host, port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen for replicas on " + host + ":" + port, e);
+        }
+        this.senders = workerThreads.newExecutor("replication-sender");
+        workerThreads.newThread("replication-accept", this::acceptLoop).start();
+        log.info("Replication primary listening on {}:{}", host, port);
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long lastSeq() {
+        return changeFeed.lastSeq();
+    }
+
+    public int replicaCount() {
+        return replicas.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        closeQuietly(serverSocket);
+        replicas.forEach(ReplicationPrimary::closeQuietly);
+        senders.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                replicas.add(socket);
+                senders.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (running) {
+                    log.warn("Failed to accept a replica connection", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        String replica = String.valueOf(socket.getRemoteSocketAddress());
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+            long replicaEpoch = in.readLong();
+            long replicaSeq = in.readLong();
+            out.writeLong(epoch);
+            // -1: resume is impossible, start with a snapshot
+            long since = replicaEpoch == epoch ? replicaSeq : -1;
+            log.info("Replica {} connected at seq {}", replica, since);
+            while (running && !Thread.currentThread().isInterrupted()) {
+                CompletionStage<Void> appended = changeFeed.nextAppend();
+                List<ChangeFeed.ChangeEvent> events = since >= 0 ? changeFeed.readEvents(since, maxBatchSize) : null;
+                if (events == null) {
+                    since = sendSnapshot(out);
+                    continue;
+                }
+                for (ChangeFeed.ChangeEvent event : events) {
+                    out.writeByte(MessageType.CHANGE.ordinal());
+                    out.writeLong(event.seq());
+                    ReplicationProtocol.writeEntity(out, event.entityType(), event.model());
+                    since = event.seq();
+                }
+                out.writeByte(MessageType.HEARTBEAT.ordinal());
+                out.writeLong(changeFeed.lastSeq());
+                out.flush();
+                if (events.isEmpty()) {
+                    awaitAppend(appended);
+                }
+            }
+        } catch (IOException e) {
+            if (running) {
+                log.warn("Replica {} disconnected: {}", replica, e.getMessage());
+            }
+        } finally {
+            replicas.remove(socket);
+        }
+    }
+
+    // Everything up to the feed's last seq is already in the stores, because listeners run after the store write
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        long seq = changeFeed.lastSeq();
+        long started = System.nanoTime();
+        for (TaskManagement task : taskRepository.findAll()) {
+            sendSnapshotEntry(out, ChangeEntityType.TASK, task);
+        }
+        for (TaskActivity activity : taskActivityRepository.findAll()) {
+            sendSnapshotEntry(out, ChangeEntityType.ACTIVITY, activity);
+        }
+        for (TaskComment comment : taskCommentRepository.findAll()) {
+            sendSnapshotEntry(out, ChangeEntityType.COMMENT, comment);
+        }
+        out.writeByte(MessageType.SNAPSHOT_END.ordinal());
+        out.writeLong(seq);
+        out.flush();
+        log.info("Sent replica snapshot at seq {} in {} ms", seq, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return seq;
+    }
+
+    private static void sendSnapshotEntry(DataOutputStream out, ChangeEntityType type, Object model) throws IOException {
+        out.writeByte(MessageType.SNAPSHOT_ENTRY.ordinal());
+        ReplicationProtocol.writeEntity(out, type, model);
+    }
+
+    // Wakes on the next save, or after the heartbeat interval so an idle replica still sees the primary is there
+    private void awaitAppend(CompletionStage<Void> appended) {
+        try {
+            appended.toCompletableFuture().get(heartbeatMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Send a heartbeat
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Shutting down
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire format between a primary and its replicas. The replica opens the connection and sends the epoch and sequence
+ * number it has applied up to; the primary answers with its own epoch, then streams messages, each a type byte
+ * followed by:
+ * <ul>
+ *     <li>{@code CHANGE}: seq, entity type, length, JSON model - one save from the primary's change feed</li>
+ *     <li>{@code SNAPSHOT_ENTRY}: entity type, length, JSON model - current state, sent when the replica cannot
+ *     resume from its position (first connect, another epoch, or fell out of the ring)</li>
+ *     <li>{@code SNAPSHOT_END}: seq - the snapshot covers every change up to it</li>
+ *     <li>{@code HEARTBEAT}: seq - the primary's latest change, sent after every batch and when idle</li>
+ * </ul>
+ * The epoch is picked at random by each primary run, so a replica never resumes by sequence number across a restart.
+ */
+final class ReplicationProtocol {
+
+    enum MessageType {
+        CHANGE, SNAPSHOT_ENTRY, SNAPSHOT_END, HEARTBEAT
+    }
+
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+    private static final ChangeEntityType[] ENTITY_TYPES = ChangeEntityType.values();
+
+    // Same encoding as the write-ahead log records
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeEntity(DataOutputStream out, ChangeEntityType type, Object model) throws IOException {
+        byte[] payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsBytes(model);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + model.getClass().getSimpleName(), e);
+        }
+        out.writeByte(type.ordinal());
+        out.writeInt(payload.length);
+        out.write(payload);
+    }
+
+    static Object readEntity(DataInputStream in, ChangeEntityType type) throws IOException {
+        byte[] payload = new byte[in.readInt()];
+        in.readFully(payload);
+        Class<?> modelType = switch (type) {
+            case TASK -> TaskManagement.class;
+            case ACTIVITY -> TaskActivity.class;
+            case COMMENT -> TaskComment.class;
+        };
+        return OBJECT_MAPPER.readValue(payload, modelType);
+    }
+
+    static MessageType readMessageType(DataInputStream in) throws IOException {
+        return MESSAGE_TYPES[checkedOrdinal(in.readUnsignedByte(), MESSAGE_TYPES.length)];
+    }
+
+    static ChangeEntityType readEntityType(DataInputStream in) throws IOException {
+        return ENTITY_TYPES[checkedOrdinal(in.readUnsignedByte(), ENTITY_TYPES.length)];
+    }
+
+    private static int checkedOrdinal(int ordinal, int count) throws IOException {
+        if (ordinal >= count) {
+            throw new IOException("Unknown replication message byte " + ordinal);
+        }
+        return ordinal;
+    }
+}
@@ -0,0 +1,242 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.common.exception.ReplicaUnavailableException;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.RestorableTaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows a {@link ReplicationPrimary}: applies its snapshot and changes to the local in-memory stores on one
+ * thread, through the repositories' {@code replicate} methods so the detail cache, indexes and change feed see them
+ * like local saves, and reconnects from its last applied seq when the connection drops.
+ * <p>
+ * Lag is measured against the primary's heartbeats: each one carries the primary's latest seq and is stamped with
+ * the replica's clock on receipt. Once everything up to a heartbeat's seq is applied, the replica is known to be
+ * current as of that receipt time, and the lag is the time since. An idle, connected replica therefore reports at
+ * most about one heartbeat interval.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.replication.role", havingValue = "replica")
+public class ReplicationReplica {
+
+    private static final int MAX_PENDING_HEARTBEATS = 1024;
+
+    private record Heartbeat(long seq, long receivedNanos) {
+    }
+
+    private final RestorableTaskRepository taskRepository;
+    private final InMemoryTaskActivityRepository activityRepository;
+    private final InMemoryTaskCommentRepository commentRepository;
+    private final String host;
+    private final int port;
+    private final int readTimeoutMillis;
+    private final long reconnectMillis;
+    private final long maxLagMillis;
+    private final Thread follower;
+    // Heartbeats whose seq is not applied yet, oldest first; only touched by the follower thread
+    private final Deque<Heartbeat> pendingHeartbeats = new ArrayDeque<>();
+    private volatile Socket socket;
+    private volatile boolean running = true;
+    private volatile boolean connected;
+    // Epoch of the primary run appliedSeq belongs to; 0 until the first snapshot is complete
+    private volatile long epoch;
+    private volatile long appliedSeq;
+    private volatile long primarySeq;
+    // System.nanoTime() as of which the replica had every change the primary had, or -1 before the first sync
+    private volatile long currentAsOfNanos = -1;
+
+    public ReplicationReplica(RestorableTaskRepository taskRepository,
+                              InMemoryTaskActivityRepository activityRepository,
+                              InMemoryTaskCommentRepository commentRepository,
+                              WorkerThreads workerThreads,
+                              @Value("${workforcemgmt.persistence.mode:memory}") String persistenceMode,
+                              @Value("${workforcemgmt.replication.host:127.0.0.1}") String host,
+                              @Value("${workforcemgmt.replication.port:7070}") int port,
+                              @Value("${workforcemgmt.replication.heartbeat-millis:100}") long heartbeatMillis,
+                              @Value("${workforcemgmt.replication.reconnect-millis:1000}") long reconnectMillis,
+                              @Value("${workforcemgmt.replication.max-lag-millis:5000}") long maxLagMillis) {
+        if (!"memory".equals(persistenceMode)) {
+            throw new IllegalStateException("A replica needs workforcemgmt.persistence.mode=memory; it is rebuilt "
+                    + "from its primary, and applied changes would bypass the write-ahead log");
+        }
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.host = host;
+        this.port = port;
+        // A primary that went silent for this long is treated as gone
+        this.readTimeoutMillis = (int) Math.max(20 * heartbeatMillis, 1000);
+        this.reconnectMillis = reconnectMillis;
+        this.maxLagMillis = maxLagMillis;
+        this.follower = workerThreads.newThread("replication-follower", this::followLoop);
+        follower.start();
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long appliedSeq() {
+        return appliedSeq;
+    }
+
+    public long primarySeq() {
+        return Math.max(primarySeq, appliedSeq);
+    }
+
+    public long maxLagMillis() {
+        return maxLagMillis;
+    }
+
+    /** Milliseconds since the replica was last known to have every change of its primary; null before the first sync. */
+    public Long lagMillis() {
+        long currentAsOf = currentAsOfNanos;
+        return currentAsOf < 0 ? null : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - currentAsOf);
+    }
+
+    /** Throws unless the replica has synced and lags no more than {@code workforcemgmt.replication.max-lag-millis}. */
+    public void checkLag() {
+        Long lag = lagMillis();
+        if (lag == null) {
+            throw new ReplicaUnavailableException("Replica has not synced with its primary yet");
+        }
+        if (lag > maxLagMillis) {
+            throw new ReplicaUnavailableException("Replica is " + lag + " ms behind its primary, more than the "
+                    + maxLagMillis + " ms allowed");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Shutting down
+            }
+        }
+        follower.interrupt();
+    }
+
+    private void followLoop() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(new InetSocketAddress(host, port), readTimeoutMillis);
+                connection.setTcpNoDelay(true);
+                connection.setSoTimeout(readTimeoutMillis);
+                follow(connection);
+            } catch (IOException | RuntimeException e) {
+                if (running) {
+                    log.warn("Replication from {}:{} failed: {}; retrying in {} ms", host, port, e.getMessage(), reconnectMillis);
+                }
+            } finally {
+                connected = false;
+                socket = null;
+                pendingHeartbeats.clear();
+            }
+            try {
+                Thread.sleep(reconnectMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow(Socket connection) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        out.writeLong(epoch);
+        out.writeLong(appliedSeq);
+        out.flush();
+        DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), 1 << 16));
+        long primaryEpoch = in.readLong();
+        connected = true;
+        if (epoch != 0 && primaryEpoch != epoch) {
+            log.warn("Primary at {}:{} restarted; tasks, activities and comments it no longer has stay on this "
+                    + "replica until it is restarted", host, port);
+        }
+        log.info("Replicating from {}:{}{}", host, port, primaryEpoch == epoch ? " from seq " + appliedSeq : ", starting with a snapshot");
+        while (running) {
+            switch (ReplicationProtocol.readMessageType(in)) {
+                case CHANGE -> {
+                    long seq = in.readLong();
+                    applyChange(ReplicationProtocol.readEntityType(in), in);
+                    appliedSeq = seq;
+                }
+                case SNAPSHOT_ENTRY -> applySnapshotEntry(ReplicationProtocol.readEntityType(in), in);
+                case SNAPSHOT_END -> {
+                    appliedSeq = in.readLong();
+                    epoch = primaryEpoch;
+                }
+                case HEARTBEAT -> {
+                    long seq = in.readLong();
+                    primarySeq = seq;
+                    if (pendingHeartbeats.size() == MAX_PENDING_HEARTBEATS) {
+                        pendingHeartbeats.removeFirst();
+                    }
+                    pendingHeartbeats.addLast(new Heartbeat(seq, System.nanoTime()));
+                }
+            }
+            if (epoch == primaryEpoch) {
+                while (!pendingHeartbeats.isEmpty() && pendingHeartbeats.peekFirst().seq() <= appliedSeq) {
+                    currentAsOfNanos = pendingHeartbeats.removeFirst().receivedNanos();
+                }
+            }
+        }
+    }
+
+    // Saves of one task can reach the feed out of order, so an older version than the stored one is skipped
+    private void applyChange(ChangeEntityType type, DataInputStream in) throws IOException {
+        Object model = ReplicationProtocol.readEntity(in, type);
+        if (type == ChangeEntityType.TASK) {
+            TaskManagement task = (TaskManagement) model;
+            Long storedVersion = taskRepository.findById(task.getId()).map(TaskManagement::getVersion).orElse(null);
+            if (storedVersion != null && task.getVersion() != null && storedVersion >= task.getVersion()) {
+                return;
+            }
+        }
+        apply(type, model);
+    }
+
+    // Snapshot entries are the primary's current state and replace whatever the replica has, even a newer version
+    // left over from an earlier primary run
+    private void applySnapshotEntry(ChangeEntityType type, DataInputStream in) throws IOException {
+        apply(type, ReplicationProtocol.readEntity(in, type));
+    }
+
+    private void apply(ChangeEntityType type, Object model) {
+        switch (type) {
+            case TASK -> taskRepository.replicate((TaskManagement) model);
+            case ACTIVITY -> activityRepository.replicate((TaskActivity) model);
+            case COMMENT -> commentRepository.replicate((TaskComment) model);
+        }
+    }
+}
@@ -3,9 +3,15 @@ package com.railse.hiring.workforcemgmt.repository;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskActivityRepository {
     TaskActivity save(TaskActivity activity);
+    List<TaskActivity> saveAll(List<TaskActivity> activities);
     List<TaskActivity> findByTaskId(Long taskId);
     List<TaskActivity> findAll();
+    long count();
+
+    /** Registers a callback run after every saved activity, once it is visible to readers. */
+    void addSaveListener(Consumer<TaskActivity> listener);
 }
\ No newline at end of file
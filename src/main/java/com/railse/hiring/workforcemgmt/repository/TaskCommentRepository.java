@@ -3,9 +3,14 @@ package com.railse.hiring.workforcemgmt.repository;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TaskCommentRepository {
     TaskComment save(TaskComment comment);
     List<TaskComment> findByTaskId(Long taskId);
     List<TaskComment> findAll();
+    long count();
+
+    /** Registers a callback run after every saved comment, once it is visible to readers. */
+    void addSaveListener(Consumer<TaskComment> listener);
 }
\ No newline at end of file
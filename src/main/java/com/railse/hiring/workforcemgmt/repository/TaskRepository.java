@@ -1,17 +1,57 @@
 package com.railse.hiring.workforcemgmt.repository;
 
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TaskRepository {
     Optional<TaskManagement> findById(Long id);
+
+    /**
+     * Stores a copy of the task and bumps its version. A task that carries a version is only saved if the stored
+     * task still has that version, otherwise a {@link com.railse.hiring.workforcemgmt.common.exception.ConflictException}
+     * is thrown; finders return copies, so a task read, changed and saved back is checked against concurrent writers.
+     */
     TaskManagement save(TaskManagement task);
+
+    /**
+     * Saves like {@link #save}, all or nothing: every version is checked before any task of the batch is written,
+     * and no concurrent save of the same tasks can interleave, so a {@code ConflictException} leaves none stored.
+     * A task id may appear only once per batch; a batch repeating one is rejected before anything is written.
+     */
+    List<TaskManagement> saveAll(List<TaskManagement> tasks);
+    List<TaskManagement> findAllById(Collection<Long> ids);
     List<TaskManagement> findAll();
     List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType);
     List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds);
+
+    /**
+     * Tasks of the given assignees that started within [startDate, endDate], plus tasks that
+     * started before startDate and are still ASSIGNED or STARTED.
+     */
+    List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate);
     List<TaskManagement> findByPriority(Priority priority);
+
+    /**
+     * Lazily produces the tasks of {@link #findByAssigneeIdInAndDateRange} in ascending id order, starting after
+     * {@code afterId} ({@code null} for the first), for keyset pagination and streaming.
+     */
+    Stream<TaskManagement> streamByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate, Long afterId);
+
+    /** Current task counts of one assignee, or of all tasks when {@code assigneeId} is null; no tasks are scanned. */
+    TaskCounts countTasks(Long assigneeId);
+
+    /** Registers a callback run after every saved task, once the new version is visible to readers. */
+    void addSaveListener(Consumer<TaskManagement> listener);
+
+    /** Lazily produces the tasks of {@link #findByPriority} in ascending id order, starting after {@code afterId}. */
+    Stream<TaskManagement> streamByPriority(Priority priority, Long afterId);
 }
\ No newline at end of file
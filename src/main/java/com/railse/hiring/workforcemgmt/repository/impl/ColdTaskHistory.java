@@ -0,0 +1,397 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Cold tier of the activity and comment stores: one compressed block per task holding all of its activities and
+ * comments, for tasks that have been closed long enough that their history is only read, rarely. Together they
+ * take a fraction of the heap of the objects they replace:
+ * <ul>
+ *     <li>ids and timestamps are delta-encoded varints;</li>
+ *     <li>fields drawn from a small fixed vocabulary (activity descriptions, the status and priority names that
+ *     creation, status, priority and cancellation activities carry as old and new values) are codes into a shared
+ *     {@link StringDictionary}; comments and all other values are stored inline, as dictionary codes are never
+ *     released;</li>
+ *     <li>the block is deflated, which also folds a comment's text into the COMMENT_ADDED activity repeating it.</li>
+ * </ul>
+ * Blocks are decoded on every read; the repositories merge them with the task's hot entries.
+ */
+@Component
+public class ColdTaskHistory {
+
+    private static final int NULL_STRING = 0;
+    private static final int INLINE_STRING = 1;
+    private static final int NULL_TYPE = 0xFF;
+    // Activity types whose old and new values are TaskStatus or Priority names
+    private static final Set<ActivityType> CODED_VALUES = EnumSet.of(ActivityType.TASK_CREATED,
+            ActivityType.TASK_STATUS_CHANGED, ActivityType.TASK_PRIORITY_CHANGED, ActivityType.TASK_CANCELLED);
+
+    private record Block(byte[] data, int rawLength, int activities, int comments) {
+    }
+
+    /** Decoded contents of a block, in id order. */
+    public record History(List<TaskActivity> activities, List<TaskComment> comments) {
+    }
+
+    private final Map<Long, Block> blocks = new ConcurrentHashMap<>();
+    private final StringDictionary dictionary;
+    private final LongAdder activityCount = new LongAdder();
+    private final LongAdder commentCount = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+
+    public ColdTaskHistory() {
+        this(65536);
+    }
+
+    @Autowired
+    public ColdTaskHistory(@Value("${workforcemgmt.history-tiering.dictionary-size:65536}") int dictionarySize) {
+        this.dictionary = new StringDictionary(dictionarySize);
+    }
+
+    public boolean contains(Long taskId) {
+        return blocks.containsKey(taskId);
+    }
+
+    public List<TaskActivity> findActivities(Long taskId) {
+        Block block = blocks.get(taskId);
+        return block != null ? decode(taskId, block).activities() : List.of();
+    }
+
+    public List<TaskComment> findComments(Long taskId) {
+        Block block = blocks.get(taskId);
+        return block != null ? decode(taskId, block).comments() : List.of();
+    }
+
+    public List<TaskActivity> findAllActivities() {
+        List<TaskActivity> all = new ArrayList<>();
+        blocks.forEach((taskId, block) -> all.addAll(decode(taskId, block).activities()));
+        return all;
+    }
+
+    public List<TaskComment> findAllComments() {
+        List<TaskComment> all = new ArrayList<>();
+        blocks.forEach((taskId, block) -> all.addAll(decode(taskId, block).comments()));
+        return all;
+    }
+
+    public long activityCount() {
+        return activityCount.sum();
+    }
+
+    public long commentCount() {
+        return commentCount.sum();
+    }
+
+    public long taskCount() {
+        return blocks.size();
+    }
+
+    public long compressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    int dictionarySize() {
+        return dictionary.size();
+    }
+
+    /** Decodes every block in turn; blocks installed or replaced meanwhile may or may not be seen. */
+    public void forEach(BiConsumer<Long, History> action) {
+        blocks.forEach((taskId, block) -> action.accept(taskId, decode(taskId, block)));
+    }
+
+    /** Installs the history of a task recovered from durable storage, replacing any block it had. */
+    public void restore(Long taskId, List<TaskActivity> activities, List<TaskComment> comments) {
+        put(taskId, activities, comments);
+    }
+
+    /** Replaces the task's block with one holding exactly these entries. */
+    void put(Long taskId, List<TaskActivity> activities, List<TaskComment> comments) {
+        Block block = encode(activities, comments);
+        Block previous = blocks.put(taskId, block);
+        activityCount.add(block.activities());
+        commentCount.add(block.comments());
+        compressedBytes.add(block.data().length);
+        if (previous != null) {
+            activityCount.add(-previous.activities());
+            commentCount.add(-previous.comments());
+            compressedBytes.add(-previous.data().length);
+        }
+    }
+
+    /**
+     * Cold entries followed by the hot ones not already in the block, in id order. Hot entries have to be read
+     * before the block: tiering installs the block before evicting the hot copies, so an entry is then always in one
+     * of the two, at worst in both.
+     */
+    static <T> List<T> merge(List<T> cold, List<T> hot, Function<T, Long> id) {
+        if (cold.isEmpty()) {
+            return hot;
+        }
+        Set<Long> coldIds = new HashSet<>();
+        cold.forEach(entry -> coldIds.add(id.apply(entry)));
+        List<T> merged = new ArrayList<>(cold.size() + hot.size());
+        merged.addAll(cold);
+        long lastId = id.apply(cold.get(cold.size() - 1));
+        boolean ordered = true;
+        for (T entry : hot) {
+            Long entryId = id.apply(entry);
+            if (!coldIds.contains(entryId)) {
+                ordered &= entryId > lastId;
+                lastId = Math.max(lastId, entryId);
+                merged.add(entry);
+            }
+        }
+        if (!ordered) {
+            merged.sort(Comparator.comparing(id));
+        }
+        return merged;
+    }
+
+    private Block encode(List<TaskActivity> activities, List<TaskComment> comments) {
+        Encoder out = new Encoder();
+        out.varint(activities.size());
+        long previousId = 0;
+        long previousSecond = 0;
+        for (TaskActivity activity : activities) {
+            previousId = out.delta(activity.getId(), previousId);
+            previousSecond = out.timestamp(activity.getCreatedAt(), previousSecond);
+            out.write(activity.getActivityType() != null ? activity.getActivityType().ordinal() : NULL_TYPE);
+            out.nullableLong(activity.getUserId());
+            out.coded(activity.getDescription());
+            if (CODED_VALUES.contains(activity.getActivityType())) {
+                out.coded(activity.getOldValue());
+                out.coded(activity.getNewValue());
+            } else {
+                out.inline(activity.getOldValue());
+                out.inline(activity.getNewValue());
+            }
+        }
+        out.varint(comments.size());
+        previousId = 0;
+        previousSecond = 0;
+        for (TaskComment comment : comments) {
+            previousId = out.delta(comment.getId(), previousId);
+            previousSecond = out.timestamp(comment.getCreatedAt(), previousSecond);
+            out.nullableLong(comment.getUserId());
+            out.inline(comment.getComment());
+        }
+
+        byte[] raw = out.toByteArray();
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return new Block(compressed.toByteArray(), raw.length, activities.size(), comments.size());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private History decode(Long taskId, Block block) {
+        byte[] raw = new byte[block.rawLength()];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block.data());
+            int read = 0;
+            while (read < raw.length) {
+                int inflated = inflater.inflate(raw, read, raw.length - read);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated cold history block");
+                }
+                read += inflated;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt cold history block", e);
+        } finally {
+            inflater.end();
+        }
+
+        Decoder in = new Decoder(ByteBuffer.wrap(raw));
+        ActivityType[] types = ActivityType.values();
+        int activityTotal = in.varint();
+        List<TaskActivity> activities = new ArrayList<>(activityTotal);
+        long id = 0;
+        long second = 0;
+        for (int i = 0; i < activityTotal; i++) {
+            TaskActivity activity = new TaskActivity();
+            id += in.signedVarlong();
+            activity.setId(id);
+            activity.setTaskId(taskId);
+            second += in.signedVarlong();
+            activity.setCreatedAt(in.timestamp(second));
+            int type = in.read();
+            activity.setActivityType(type != NULL_TYPE ? types[type] : null);
+            activity.setUserId(in.nullableLong());
+            activity.setDescription(in.string());
+            activity.setOldValue(in.string());
+            activity.setNewValue(in.string());
+            activities.add(activity);
+        }
+        int commentTotal = in.varint();
+        List<TaskComment> comments = new ArrayList<>(commentTotal);
+        id = 0;
+        second = 0;
+        for (int i = 0; i < commentTotal; i++) {
+            TaskComment comment = new TaskComment();
+            id += in.signedVarlong();
+            comment.setId(id);
+            comment.setTaskId(taskId);
+            second += in.signedVarlong();
+            comment.setCreatedAt(in.timestamp(second));
+            comment.setUserId(in.nullableLong());
+            comment.setComment(in.string());
+            comments.add(comment);
+        }
+        return new History(activities, comments);
+    }
+
+    // The task id is the block's key, so entries only carry their own fields
+    private final class Encoder extends ByteArrayOutputStream {
+
+        long delta(Long value, long previous) {
+            signedVarlong(value - previous);
+            return value;
+        }
+
+        // Seconds as a delta from the previous entry, then nanos; a missing timestamp is a zero delta with nanos -1
+        long timestamp(LocalDateTime time, long previousSecond) {
+            if (time == null) {
+                signedVarlong(0);
+                signedVarlong(-1);
+                return previousSecond;
+            }
+            long second = time.toEpochSecond(ZoneOffset.UTC);
+            signedVarlong(second - previousSecond);
+            signedVarlong(time.getNano());
+            return second;
+        }
+
+        void nullableLong(Long value) {
+            if (value == null) {
+                varint(0);
+            } else {
+                varint(1);
+                signedVarlong(value);
+            }
+        }
+
+        // Only for fixed-vocabulary fields: the dictionary keeps every string it is given
+        void coded(String value) {
+            int code = value != null ? dictionary.encode(value) : -1;
+            if (code >= 0) {
+                varint(code + 2);
+            } else {
+                inline(value);
+            }
+        }
+
+        void inline(String value) {
+            if (value == null) {
+                varint(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(INLINE_STRING);
+            varint(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void signedVarlong(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+    }
+
+    private final class Decoder {
+
+        private final ByteBuffer buffer;
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int read() {
+            return buffer.get() & 0xFF;
+        }
+
+        LocalDateTime timestamp(long second) {
+            long nanos = signedVarlong();
+            return nanos < 0 ? null : LocalDateTime.ofEpochSecond(second, (int) nanos, ZoneOffset.UTC);
+        }
+
+        Long nullableLong() {
+            return varint() == 0 ? null : signedVarlong();
+        }
+
+        String string() {
+            int tag = varint();
+            if (tag == NULL_STRING) {
+                return null;
+            }
+            if (tag != INLINE_STRING) {
+                return dictionary.decode(tag - 2);
+            }
+            int length = varint();
+            String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+
+        int varint() {
+            return (int) varlong();
+        }
+
+        long varlong() {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int next = read();
+                value |= (long) (next & 0x7F) << shift;
+                if ((next & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        long signedVarlong() {
+            long value = varlong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Task store that keeps tasks in primitive, struct-of-arrays segments instead of one object graph per task.
+ * <p>
+ * Row {@code id - 1} of segment {@code (id - 1) >> SEGMENT_BITS} holds a task: ids and references as longs,
+ * timestamps as UTC epoch seconds plus an int nano-of-second, the start date as an epoch day, enums as ordinal bytes
+ * and the description as an index into a reference-counted string table: a row takes about 73 bytes. The
+ * {@link TaskIndex} both stores keep adds about 300 more, so a task costs about 380 bytes here against about 525 in
+ * {@link InMemoryTaskRepository} (1M tasks, three per reference, 10,000 assignees, 90 start days). {@link TaskManagement}
+ * instances are only materialized when a finder returns them; callers get copies, so changes take effect on
+ * {@link #save}, which compares and bumps the row's version under the task's write lock stripe. Reads are optimistic
+ * and only fall back to the read lock when a write to the segment overlapped them.
+ * Enabled with {@code workforcemgmt.task-store=compact}.
+ */
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.task-store", havingValue = "compact")
+public class CompactTaskRepository implements RestorableTaskRepository {
+
+    private static final int SEGMENT_BITS = 16;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_BITS;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+    private static final Task[] TASKS = Task.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final class Segment {
+        final long[] referenceId = new long[SEGMENT_SIZE];
+        final long[] assigneeId = new long[SEGMENT_SIZE];
+        final long[] deadline = new long[SEGMENT_SIZE];
+        final long[] createdAt = new long[SEGMENT_SIZE];
+        final long[] updatedAt = new long[SEGMENT_SIZE];
+        final long[] version = new long[SEGMENT_SIZE];
+        final int[] deadlineNano = new int[SEGMENT_SIZE];
+        final int[] createdAtNano = new int[SEGMENT_SIZE];
+        final int[] updatedAtNano = new int[SEGMENT_SIZE];
+        final int[] startDay = new int[SEGMENT_SIZE];
+        final int[] description = new int[SEGMENT_SIZE];
+        final byte[] referenceType = new byte[SEGMENT_SIZE];
+        final byte[] task = new byte[SEGMENT_SIZE];
+        final byte[] status = new byte[SEGMENT_SIZE];
+        final byte[] priority = new byte[SEGMENT_SIZE];
+        final boolean[] present = new boolean[SEGMENT_SIZE];
+        final StampedLock lock = new StampedLock();
+    }
+
+    private volatile Segment[] segments = new Segment[0];
+    private final Object growLock = new Object();
+    private final AtomicLong idCounter = new AtomicLong(0);
+    private final TaskIndex taskIndex = new TaskIndex();
+    private final TaskWriteLocks writeLocks = new TaskWriteLocks();
+    private final List<Consumer<TaskManagement>> saveListeners = new CopyOnWriteArrayList<>();
+
+    // Each distinct description is stored once with the number of rows using it; an id whose last row changes
+    // description is freed and reused, so rewriting descriptions does not grow the table. Guarded by descriptionIds
+    private final Map<String, Integer> descriptionIds = new HashMap<>();
+    private volatile String[] descriptions = new String[64];
+    private int[] descriptionRefs = new int[64];
+    private final Deque<Integer> freeDescriptionIds = new ArrayDeque<>();
+    private int descriptionCount;
+
+    public CompactTaskRepository() {
+        SeedTasks.create().forEach(this::restore);
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return Optional.ofNullable(id != null ? read(id) : null);
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return saveAll(List.of(task)).get(0);
+    }
+
+    // Reserves one id block and takes a single timestamp for the whole batch. Every version is checked under the
+    // batch's write locks before any task is stored, so a conflict leaves the whole batch unsaved
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks, Consumer<List<TaskManagement>> beforeStore) {
+        TaskWriteLocks.requireDistinctIds(tasks);
+        int newTasks = 0;
+        for (TaskManagement task : tasks) {
+            if (task.getId() == null) {
+                newTasks++;
+            }
+        }
+        TreeSet<Integer> locked = writeLocks.lock(tasks);
+        try {
+            for (TaskManagement task : tasks) {
+                if (task.getId() != null) {
+                    checkVersion(task);
+                }
+            }
+            long nextId = idCounter.getAndAdd(newTasks) + 1;
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskManagement> next = new ArrayList<>(tasks.size());
+            for (TaskManagement task : tasks) {
+                TaskManagement stored = task.copy();
+                if (stored.getId() == null) {
+                    stored.setId(nextId++);
+                    stored.setCreatedAt(now);
+                }
+                stored.setUpdatedAt(now);
+                stored.setVersion(storedVersion(stored.getId()) + 1);
+                next.add(stored);
+            }
+            beforeStore.accept(next);
+            for (int i = 0; i < next.size(); i++) {
+                TaskManagement stored = next.get(i);
+                write(stored);
+                taskIndex.index(stored);
+                if (!saveListeners.isEmpty()) {
+                    TaskManagement saved = stored.copy();
+                    saveListeners.forEach(listener -> listener.accept(saved));
+                }
+                TaskManagement task = tasks.get(i);
+                task.setId(stored.getId());
+                task.setCreatedAt(stored.getCreatedAt());
+                task.setUpdatedAt(stored.getUpdatedAt());
+                task.setVersion(stored.getVersion());
+            }
+        } finally {
+            writeLocks.unlock(locked);
+        }
+        return tasks;
+    }
+
+    @Override
+    public void restore(TaskManagement task) {
+        idCounter.accumulateAndGet(task.getId(), Math::max);
+        TaskManagement stored = task.copy();
+        if (stored.getVersion() == null) {
+            stored.setVersion(1L);
+        }
+        write(stored);
+        taskIndex.index(stored);
+    }
+
+    @Override
+    public void replicate(TaskManagement task) {
+        restore(task);
+        if (!saveListeners.isEmpty()) {
+            TaskManagement saved = findById(task.getId()).orElseThrow();
+            saveListeners.forEach(listener -> listener.accept(saved));
+        }
+    }
+
+    @Override
+    public TaskCounts countTasks(Long assigneeId) {
+        return taskIndex.counts(assigneeId);
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskManagement> listener) {
+        saveListeners.add(listener);
+    }
+
+    @Override
+    public List<TaskManagement> findAllById(Collection<Long> ids) {
+        return resolve(ids, task -> true);
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        List<TaskManagement> result = new ArrayList<>();
+        long maxId = idCounter.get();
+        for (long id = 1; id <= maxId; id++) {
+            TaskManagement task = read(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return resolve(taskIndex.idsByReference(referenceId, referenceType),
+                task -> Objects.equals(task.getReferenceId(), referenceId) && task.getReferenceType() == referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolve(taskIndex.idsByAssignees(assignees), task -> assignees.contains(task.getAssigneeId()));
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate) {
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolve(taskIndex.idsByAssigneesAndDateRange(assignees, startDate, endDate),
+                task -> assignees.contains(task.getAssigneeId()));
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        return resolve(taskIndex.idsByPriority(priority), task -> task.getPriority() == priority);
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate, Long afterId) {
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolveLazily(taskIndex.idsByAssigneesAndDateRangeAfter(assignees, startDate, endDate, afterId),
+                task -> assignees.contains(task.getAssigneeId()));
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByPriority(Priority priority, Long afterId) {
+        return resolveLazily(taskIndex.idsByPriorityAfter(priority, afterId), task -> task.getPriority() == priority);
+    }
+
+    private List<TaskManagement> resolve(Collection<Long> ids, Predicate<TaskManagement> stillMatches) {
+        List<TaskManagement> result = new ArrayList<>();
+        for (Long id : ids) {
+            TaskManagement task = read(id);
+            if (task != null && stillMatches.test(task)) {
+                result.add(task);
+            }
+        }
+        return result;
+    }
+
+    private Stream<TaskManagement> resolveLazily(Iterator<Long> ids, Predicate<TaskManagement> stillMatches) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(ids, Spliterator.ORDERED), false)
+                .map(this::read)
+                .filter(task -> task != null && stillMatches.test(task));
+    }
+
+    private TaskManagement read(long id) {
+        long row = id - 1;
+        Segment[] current = segments;
+        int segmentIndex = (int) (row >>> SEGMENT_BITS);
+        if (row < 0 || segmentIndex >= current.length) {
+            return null;
+        }
+        Segment segment = current[segmentIndex];
+        int slot = (int) (row & (SEGMENT_SIZE - 1));
+        long stamp = segment.lock.tryOptimisticRead();
+        TaskManagement task = materialize(segment, slot, id);
+        if (segment.lock.validate(stamp)) {
+            return task;
+        }
+        stamp = segment.lock.readLock();
+        try {
+            return materialize(segment, slot, id);
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    // May run without the lock and see a row half-written; every stored value decodes safely and read() then
+    // discards the result
+    private TaskManagement materialize(Segment segment, int slot, long id) {
+        if (!segment.present[slot]) {
+            return null;
+        }
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceId(boxed(segment.referenceId[slot]));
+        task.setAssigneeId(boxed(segment.assigneeId[slot]));
+        task.setTaskDeadlineTime(dateTime(segment.deadline[slot], segment.deadlineNano[slot]));
+        task.setCreatedAt(dateTime(segment.createdAt[slot], segment.createdAtNano[slot]));
+        task.setUpdatedAt(dateTime(segment.updatedAt[slot], segment.updatedAtNano[slot]));
+        int startDay = segment.startDay[slot];
+        task.setStartDate(startDay != NULL_INT ? LocalDate.ofEpochDay(startDay) : null);
+        int description = segment.description[slot];
+        String[] table = descriptions;
+        task.setDescription(description >= 0 && description < table.length ? table[description] : null);
+        task.setReferenceType(constant(REFERENCE_TYPES, segment.referenceType[slot]));
+        task.setTask(constant(TASKS, segment.task[slot]));
+        task.setStatus(constant(STATUSES, segment.status[slot]));
+        task.setPriority(constant(PRIORITIES, segment.priority[slot]));
+        task.setVersion(segment.version[slot]);
+        return task;
+    }
+
+    private void checkVersion(TaskManagement task) {
+        long stored = storedVersion(task.getId());
+        if (stored > 0 && task.getVersion() != null && task.getVersion() != stored) {
+            throw new ConflictException("Task " + task.getId() + " was modified concurrently: expected version "
+                    + task.getVersion() + " but found " + stored);
+        }
+    }
+
+    // Version of the stored row, 0 when there is none
+    private long storedVersion(long id) {
+        long row = id - 1;
+        Segment[] current = segments;
+        int segmentIndex = (int) (row >>> SEGMENT_BITS);
+        if (row < 0 || segmentIndex >= current.length) {
+            return 0;
+        }
+        Segment segment = current[segmentIndex];
+        int slot = (int) (row & (SEGMENT_SIZE - 1));
+        long stamp = segment.lock.readLock();
+        try {
+            return segment.present[slot] ? segment.version[slot] : 0;
+        } finally {
+            segment.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Writes the row with the task's version; saves have already checked and bumped it under the batch's write locks.
+     * The row's previous description is only released once the write lock has moved the stamp on, so an optimistic
+     * reader that still sees the old id fails validation before the id can be reused.
+     */
+    private void write(TaskManagement task) {
+        long row = task.getId() - 1;
+        Segment segment = segmentFor(row);
+        int slot = (int) (row & (SEGMENT_SIZE - 1));
+        int description = acquireDescription(task.getDescription());
+        int released = -1;
+        long stamp = segment.lock.writeLock();
+        try {
+            released = segment.present[slot] ? segment.description[slot] : -1;
+            segment.version[slot] = task.getVersion();
+            segment.referenceId[slot] = unboxed(task.getReferenceId());
+            segment.assigneeId[slot] = unboxed(task.getAssigneeId());
+            segment.deadline[slot] = epochSecond(task.getTaskDeadlineTime());
+            segment.deadlineNano[slot] = nano(task.getTaskDeadlineTime());
+            segment.createdAt[slot] = epochSecond(task.getCreatedAt());
+            segment.createdAtNano[slot] = nano(task.getCreatedAt());
+            segment.updatedAt[slot] = epochSecond(task.getUpdatedAt());
+            segment.updatedAtNano[slot] = nano(task.getUpdatedAt());
+            segment.startDay[slot] = task.getStartDate() != null ? Math.toIntExact(task.getStartDate().toEpochDay()) : NULL_INT;
+            segment.description[slot] = description;
+            segment.referenceType[slot] = ordinal(task.getReferenceType());
+            segment.task[slot] = ordinal(task.getTask());
+            segment.status[slot] = ordinal(task.getStatus());
+            segment.priority[slot] = ordinal(task.getPriority());
+            segment.present[slot] = true;
+        } finally {
+            segment.lock.unlockWrite(stamp);
+            releaseDescription(released);
+        }
+    }
+
+    private Segment segmentFor(long row) {
+        int segmentIndex = Math.toIntExact(row >>> SEGMENT_BITS);
+        Segment[] current = segments;
+        if (segmentIndex < current.length) {
+            return current[segmentIndex];
+        }
+        synchronized (growLock) {
+            current = segments;
+            if (segmentIndex >= current.length) {
+                Segment[] grown = Arrays.copyOf(current, segmentIndex + 1);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new Segment();
+                }
+                segments = grown;
+                current = grown;
+            }
+            return current[segmentIndex];
+        }
+    }
+
+    // Descriptions are mostly a handful of constants ("New task created."), so each distinct string is stored once
+    private int acquireDescription(String description) {
+        if (description == null) {
+            return -1;
+        }
+        synchronized (descriptionIds) {
+            Integer id = descriptionIds.get(description);
+            if (id == null) {
+                id = freeDescriptionIds.poll();
+                if (id == null) {
+                    if (descriptionCount == descriptionRefs.length) {
+                        descriptionRefs = Arrays.copyOf(descriptionRefs, descriptionCount * 2);
+                        descriptions = Arrays.copyOf(descriptions, descriptionCount * 2);
+                    }
+                    id = descriptionCount++;
+                }
+                descriptions[id] = description;
+                descriptionIds.put(description, id);
+            }
+            descriptionRefs[id]++;
+            return id;
+        }
+    }
+
+    private void releaseDescription(int id) {
+        if (id < 0) {
+            return;
+        }
+        synchronized (descriptionIds) {
+            if (--descriptionRefs[id] == 0) {
+                descriptionIds.remove(descriptions[id]);
+                descriptions[id] = null;
+                freeDescriptionIds.push(id);
+            }
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NULL_LONG;
+    }
+
+    private static int nano(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.getNano() : 0;
+    }
+
+    private static LocalDateTime dateTime(long epochSecond, int nano) {
+        return epochSecond != NULL_LONG ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value != null ? value.ordinal() : -1);
+    }
+
+    private static <E> E constant(E[] values, byte ordinal) {
+        return ordinal >= 0 ? values[ordinal] : null;
+    }
+
+    private static long unboxed(Long value) {
+        return value != null ? value : NULL_LONG;
+    }
+
+    private static Long boxed(long value) {
+        return value != NULL_LONG ? value : null;
+    }
+}
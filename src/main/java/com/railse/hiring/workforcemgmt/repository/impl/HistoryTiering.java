@@ -0,0 +1,161 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the activities and comments of tasks that have been COMPLETED or CANCELLED for
+ * {@code workforcemgmt.history-tiering.cold-after-minutes} into {@link ColdTaskHistory}. Candidates come from save
+ * listeners, so the store is only walked once at startup; every pass re-reads the task and skips it if it was
+ * reopened or saved again since. Entries added to a cold task later are folded into its block on a later pass;
+ * a task whose history is all cold already, such as one restored from a snapshot, is left alone.
+ * Disabled with {@code workforcemgmt.history-tiering.enabled=false}.
+ */
+@Slf4j
+@Component
+public class HistoryTiering {
+
+    private final TaskRepository taskRepository;
+    private final InMemoryTaskActivityRepository activityRepository;
+    private final InMemoryTaskCommentRepository commentRepository;
+    private final ColdTaskHistory coldHistory;
+    private final long coldAfterMinutes;
+    // Task id -> when it was last seen closed
+    private final Map<Long, LocalDateTime> candidates = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final Thread tierer;
+    private volatile boolean running = true;
+
+    public HistoryTiering(TaskRepository taskRepository,
+                          InMemoryTaskActivityRepository activityRepository,
+                          InMemoryTaskCommentRepository commentRepository,
+                          ColdTaskHistory coldHistory,
+                          WorkerThreads workerThreads,
+                          @Value("${workforcemgmt.history-tiering.enabled:true}") boolean enabled,
+                          @Value("${workforcemgmt.history-tiering.cold-after-minutes:1440}") long coldAfterMinutes,
+                          @Value("${workforcemgmt.history-tiering.interval-seconds:60}") long intervalSeconds) {
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.coldHistory = coldHistory;
+        this.coldAfterMinutes = coldAfterMinutes;
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(intervalSeconds);
+        if (!enabled) {
+            this.tierer = null;
+            return;
+        }
+        taskRepository.addSaveListener(this::taskSaved);
+        activityRepository.addSaveListener(activity -> historyAdded(activity.getTaskId()));
+        commentRepository.addSaveListener(comment -> historyAdded(comment.getTaskId()));
+        taskRepository.findAll().forEach(this::taskSaved);
+        this.tierer = workerThreads.newThread("history-tiering", this::tierLoop);
+        tierer.start();
+    }
+
+    /** Moves every task closed before the cutoff; returns how many tasks were moved. */
+    public int tier() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(coldAfterMinutes);
+        int moved = 0;
+        for (Map.Entry<Long, LocalDateTime> candidate : candidates.entrySet()) {
+            if (candidate.getValue().isAfter(cutoff)) {
+                continue;
+            }
+            Long taskId = candidate.getKey();
+            TaskManagement task = taskRepository.findById(taskId).orElse(null);
+            if (task != null && isClosedSince(task, cutoff) && moveToCold(taskId)) {
+                moved++;
+            }
+            candidates.remove(taskId, candidate.getValue());
+        }
+        return moved;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (tierer != null) {
+            LockSupport.unpark(tierer);
+        }
+    }
+
+    // The block is installed before the hot copies go, so a concurrent reader always finds every entry
+    private boolean moveToCold(Long taskId) {
+        if (coldHistory.contains(taskId) && !activityRepository.hasHot(taskId) && !commentRepository.hasHot(taskId)) {
+            return false;
+        }
+        List<TaskActivity> activities = activityRepository.findByTaskId(taskId);
+        List<TaskComment> comments = commentRepository.findByTaskId(taskId);
+        if (activities.isEmpty() && comments.isEmpty()) {
+            return false;
+        }
+        coldHistory.put(taskId, activities, comments);
+        activityRepository.evict(taskId, activities.stream().map(TaskActivity::getId).collect(Collectors.toSet()));
+        commentRepository.evict(taskId, comments.stream().map(TaskComment::getId).collect(Collectors.toSet()));
+        return true;
+    }
+
+    private void tierLoop() {
+        long nextPass = System.nanoTime() + intervalNanos;
+        while (running) {
+            long waitNanos = nextPass - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+                continue;
+            }
+            tierSafely();
+            nextPass = System.nanoTime() + intervalNanos;
+        }
+    }
+
+    private void tierSafely() {
+        try {
+            long started = System.nanoTime();
+            int moved = tier();
+            if (moved > 0) {
+                log.info("Moved the history of {} closed tasks to cold storage in {} ms ({} KiB compressed in total)",
+                        moved, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), coldHistory.compressedBytes() / 1024);
+            }
+        } catch (RuntimeException e) {
+            log.error("History tiering pass failed", e);
+        }
+    }
+
+    private void taskSaved(TaskManagement task) {
+        if (isClosed(task)) {
+            candidates.put(task.getId(), task.getUpdatedAt() != null ? task.getUpdatedAt() : LocalDateTime.now());
+        } else {
+            candidates.remove(task.getId());
+        }
+    }
+
+    // New history on a task that is already cold is folded into its block on a later pass
+    private void historyAdded(Long taskId) {
+        if (coldHistory.contains(taskId)) {
+            candidates.putIfAbsent(taskId, LocalDateTime.now());
+        }
+    }
+
+    private static boolean isClosedSince(TaskManagement task, LocalDateTime cutoff) {
+        return isClosed(task) && (task.getUpdatedAt() == null || !task.getUpdatedAt().isAfter(cutoff));
+    }
+
+    private static boolean isClosed(TaskManagement task) {
+        return task.getStatus() == TaskStatus.COMPLETED || task.getStatus() == TaskStatus.CANCELLED;
+    }
+}
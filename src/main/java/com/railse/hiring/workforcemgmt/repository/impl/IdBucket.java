@@ -0,0 +1,170 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted set of task ids under one key of the {@link TaskIndex}, held as sorted blocks of at most
+ * {@link #BLOCK_SIZE} primitive longs, about 8 bytes per id instead of the 40 or more of a skip list node with a boxed
+ * id. Blocks are never changed once published: a write copies the block it touches and the array of blocks and swaps
+ * them in through a volatile write, so readers iterate a consistent snapshot without locking. Writers are serialized
+ * on the bucket. Ids mostly arrive in increasing order, so a full last block is followed by a new one rather than
+ * split; emptied blocks are dropped, partly emptied ones are not merged.
+ */
+final class IdBucket extends AbstractCollection<Long> {
+
+    static final int BLOCK_SIZE = 256;
+    private static final long[][] NO_BLOCKS = new long[0][];
+
+    private volatile long[][] blocks = NO_BLOCKS;
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (long[] ids : blocks) {
+            size += ids.length;
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return blocks.length == 0;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new Ids(blocks, null);
+    }
+
+    /** Ids in ascending order, starting after {@code afterId} ({@code null} for the first). */
+    Iterator<Long> iterator(Long afterId) {
+        return new Ids(blocks, afterId);
+    }
+
+    synchronized boolean addId(long id) {
+        long[][] current = blocks;
+        if (current.length == 0) {
+            blocks = new long[][]{{id}};
+            return true;
+        }
+        int block = Math.min(blockEndingAtOrAfter(current, id), current.length - 1);
+        long[] ids = current[block];
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return false;
+        }
+        at = -at - 1;
+        long[][] next;
+        if (ids.length < BLOCK_SIZE) {
+            next = current.clone();
+            next[block] = inserted(ids, at, id);
+        } else if (block == current.length - 1 && at == ids.length) {
+            next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = new long[]{id};
+        } else {
+            long[] grown = inserted(ids, at, id);
+            next = new long[current.length + 1][];
+            System.arraycopy(current, 0, next, 0, block);
+            next[block] = Arrays.copyOfRange(grown, 0, grown.length / 2);
+            next[block + 1] = Arrays.copyOfRange(grown, grown.length / 2, grown.length);
+            System.arraycopy(current, block + 1, next, block + 2, current.length - block - 1);
+        }
+        blocks = next;
+        return true;
+    }
+
+    synchronized boolean removeId(long id) {
+        long[][] current = blocks;
+        int block = blockEndingAtOrAfter(current, id);
+        if (block == current.length) {
+            return false;
+        }
+        long[] ids = current[block];
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return false;
+        }
+        long[][] next;
+        if (ids.length > 1) {
+            long[] shrunk = new long[ids.length - 1];
+            System.arraycopy(ids, 0, shrunk, 0, at);
+            System.arraycopy(ids, at + 1, shrunk, at, ids.length - at - 1);
+            next = current.clone();
+            next[block] = shrunk;
+        } else {
+            next = new long[current.length - 1][];
+            System.arraycopy(current, 0, next, 0, block);
+            System.arraycopy(current, block + 1, next, block, current.length - block - 1);
+        }
+        blocks = next;
+        return true;
+    }
+
+    private static long[] inserted(long[] ids, int at, long id) {
+        long[] grown = new long[ids.length + 1];
+        System.arraycopy(ids, 0, grown, 0, at);
+        grown[at] = id;
+        System.arraycopy(ids, at, grown, at + 1, ids.length - at);
+        return grown;
+    }
+
+    // First block whose last id is >= id, or blocks.length
+    private static int blockEndingAtOrAfter(long[][] blocks, long id) {
+        int low = 0;
+        int high = blocks.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long[] ids = blocks[mid];
+            if (ids[ids.length - 1] < id) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private static final class Ids implements Iterator<Long> {
+
+        private final long[][] blocks;
+        private int block;
+        private int position;
+
+        Ids(long[][] blocks, Long afterId) {
+            this.blocks = blocks;
+            if (afterId != null) {
+                if (afterId == Long.MAX_VALUE) {
+                    block = blocks.length;
+                    return;
+                }
+                block = blockEndingAtOrAfter(blocks, afterId + 1);
+                if (block < blocks.length) {
+                    int at = Arrays.binarySearch(blocks[block], afterId + 1);
+                    position = at >= 0 ? at : -at - 1;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return block < blocks.length;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long[] ids = blocks[block];
+            long id = ids[position];
+            if (++position == ids.length) {
+                block++;
+                position = 0;
+            }
+            return id;
+        }
+    }
+}
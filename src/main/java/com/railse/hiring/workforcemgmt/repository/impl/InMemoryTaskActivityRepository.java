@@ -2,41 +2,176 @@ package com.railse.hiring.workforcemgmt.repository.impl;
 
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Repository
 public class InMemoryTaskActivityRepository implements TaskActivityRepository {
 
     private final Map<Long, TaskActivity> activityStore = new ConcurrentHashMap<>();
+    // Append-ordered log per task so findByTaskId needs neither a scan nor a sort
+    private final Map<Long, List<TaskActivity>> activitiesByTask = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
+    private final List<Consumer<TaskActivity>> saveListeners = new CopyOnWriteArrayList<>();
+    private final ColdTaskHistory coldHistory;
+
+    public InMemoryTaskActivityRepository() {
+        this(new ColdTaskHistory());
+    }
+
+    @Autowired
+    public InMemoryTaskActivityRepository(ColdTaskHistory coldHistory) {
+        this.coldHistory = coldHistory;
+    }
 
     @Override
     public TaskActivity save(TaskActivity activity) {
-        if (activity.getId() == null) {
-            activity.setId(idCounter.incrementAndGet());
-            activity.setCreatedAt(LocalDateTime.now());
+        return saveAll(List.of(activity)).get(0);
+    }
+
+    @Override
+    public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+        return saveAll(activities, batch -> {
+        });
+    }
+
+    /**
+     * Saves like {@link #saveAll(List)}, but first hands {@code beforeStore} the batch with ids and createdAt assigned,
+     * from one reserved id block and a single timestamp. Nothing is stored or announced to the save listeners unless it
+     * returns normally; otherwise the new entries lose their id and createdAt again.
+     */
+    public List<TaskActivity> saveAll(List<TaskActivity> activities, Consumer<List<TaskActivity>> beforeStore) {
+        List<TaskActivity> created = new ArrayList<>();
+        for (TaskActivity activity : activities) {
+            if (activity.getId() == null) {
+                created.add(activity);
+            }
+        }
+        long nextId = idCounter.getAndAdd(created.size()) + 1;
+        LocalDateTime now = LocalDateTime.now();
+        for (TaskActivity activity : created) {
+            activity.setId(nextId++);
+            activity.setCreatedAt(now);
+        }
+        try {
+            beforeStore.accept(activities);
+        } catch (RuntimeException e) {
+            for (TaskActivity activity : created) {
+                activity.setId(null);
+                activity.setCreatedAt(null);
+            }
+            throw e;
+        }
+        activities.forEach(activity -> activityStore.put(activity.getId(), activity));
+        Map<Long, List<TaskActivity>> createdByTask = new LinkedHashMap<>();
+        for (TaskActivity activity : created) {
+            createdByTask.computeIfAbsent(activity.getTaskId(), k -> new ArrayList<>()).add(activity);
+        }
+        createdByTask.forEach(this::addToLogs);
+        if (!saveListeners.isEmpty()) {
+            activities.forEach(activity -> saveListeners.forEach(listener -> listener.accept(activity)));
+        }
+        return activities;
+    }
+
+    /**
+     * Puts an entry recovered from durable storage as-is, keeping its id and createdAt.
+     * Replay can deliver the same entry twice (snapshot plus log tail).
+     */
+    public void restore(TaskActivity activity) {
+        idCounter.accumulateAndGet(activity.getId(), Math::max);
+        if (activityStore.put(activity.getId(), activity) == null) {
+            addToLogs(activity.getTaskId(), List.of(activity));
+        }
+    }
+
+    /** Keeps new entries from being given {@code id} or a lower one, for entries restored into {@link ColdTaskHistory}. */
+    public void reserveId(long id) {
+        idCounter.accumulateAndGet(id, Math::max);
+    }
+
+    /** Puts an entry received from a replication primary like {@link #restore}, notifying listeners if it is new. */
+    public void replicate(TaskActivity activity) {
+        if (!activityStore.containsKey(activity.getId())) {
+            restore(activity);
+            saveListeners.forEach(listener -> listener.accept(activity));
         }
-        activityStore.put(activity.getId(), activity);
-        return activity;
     }
 
     @Override
     public List<TaskActivity> findByTaskId(Long taskId) {
-        return activityStore.values().stream()
-                .filter(activity -> activity.getTaskId().equals(taskId))
-                .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
-                .collect(Collectors.toList());
+        List<TaskActivity> log = activitiesByTask.get(taskId);
+        List<TaskActivity> hot = log != null ? List.copyOf(log) : List.of();
+        return coldHistory.contains(taskId)
+                ? ColdTaskHistory.merge(coldHistory.findActivities(taskId), hot, TaskActivity::getId) : hot;
     }
 
     @Override
     public List<TaskActivity> findAll() {
-        return List.copyOf(activityStore.values());
+        List<TaskActivity> all = new ArrayList<>(activityStore.values());
+        all.addAll(coldHistory.findAllActivities());
+        return all;
+    }
+
+    @Override
+    public long count() {
+        return activityStore.size() + coldHistory.activityCount();
+    }
+
+    /** The entries still outside {@link ColdTaskHistory}, for snapshots that persist its blocks separately. */
+    public List<TaskActivity> findAllHot() {
+        return new ArrayList<>(activityStore.values());
+    }
+
+    boolean hasHot(Long taskId) {
+        return activitiesByTask.containsKey(taskId);
+    }
+
+    /** Drops the hot copies of entries that {@link ColdTaskHistory} now holds for the task. */
+    void evict(Long taskId, Set<Long> ids) {
+        activitiesByTask.computeIfPresent(taskId, (id, log) -> {
+            log.removeIf(entry -> ids.contains(entry.getId()));
+            return log.isEmpty() ? null : log;
+        });
+        ids.forEach(activityStore::remove);
+    }
+
+    // The per-task log is kept in id order. Replay and concurrent saves can deliver entries out of order, but they
+    // mostly come in order, so an insert is usually an append
+    private void addToLogs(Long taskId, List<TaskActivity> entries) {
+        activitiesByTask.compute(taskId, (id, log) -> {
+            List<TaskActivity> taskLog = log != null ? log : newLog();
+            for (TaskActivity entry : entries) {
+                int position = taskLog.size();
+                while (position > 0 && taskLog.get(position - 1).getId() > entry.getId()) {
+                    position--;
+                }
+                taskLog.add(position, entry);
+            }
+            return taskLog;
+        });
+    }
+
+    // Appends are amortized O(1); readers copy under the list's lock, writers of a task are already serialized by
+    // compute on its entry
+    private static List<TaskActivity> newLog() {
+        return Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskActivity> listener) {
+        saveListeners.add(listener);
     }
 }
\ No newline at end of file
@@ -2,41 +2,156 @@ package com.railse.hiring.workforcemgmt.repository.impl;
 
 import com.railse.hiring.workforcemgmt.model.TaskComment;
 import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Repository
 public class InMemoryTaskCommentRepository implements TaskCommentRepository {
 
     private final Map<Long, TaskComment> commentStore = new ConcurrentHashMap<>();
+    // Append-ordered log per task so findByTaskId needs neither a scan nor a sort
+    private final Map<Long, List<TaskComment>> commentsByTask = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
+    private final List<Consumer<TaskComment>> saveListeners = new CopyOnWriteArrayList<>();
+    private final ColdTaskHistory coldHistory;
+
+    public InMemoryTaskCommentRepository() {
+        this(new ColdTaskHistory());
+    }
+
+    @Autowired
+    public InMemoryTaskCommentRepository(ColdTaskHistory coldHistory) {
+        this.coldHistory = coldHistory;
+    }
 
     @Override
     public TaskComment save(TaskComment comment) {
-        if (comment.getId() == null) {
+        return save(comment, saved -> {
+        });
+    }
+
+    /**
+     * Saves like {@link #save(TaskComment)}, but first hands {@code beforeStore} the comment with its id and createdAt
+     * assigned. Nothing is stored or announced to the save listeners unless it returns normally; otherwise a new
+     * comment loses its id and createdAt again.
+     */
+    public TaskComment save(TaskComment comment, Consumer<TaskComment> beforeStore) {
+        boolean created = comment.getId() == null;
+        if (created) {
             comment.setId(idCounter.incrementAndGet());
             comment.setCreatedAt(LocalDateTime.now());
         }
-        commentStore.put(comment.getId(), comment);
+        try {
+            beforeStore.accept(comment);
+        } catch (RuntimeException e) {
+            if (created) {
+                comment.setId(null);
+                comment.setCreatedAt(null);
+            }
+            throw e;
+        }
+        if (commentStore.put(comment.getId(), comment) == null) {
+            addToLog(comment);
+        }
+        saveListeners.forEach(listener -> listener.accept(comment));
         return comment;
     }
 
+    /**
+     * Puts an entry recovered from durable storage as-is, keeping its id and createdAt.
+     * Replay can deliver the same entry twice (snapshot plus log tail).
+     */
+    public void restore(TaskComment comment) {
+        idCounter.accumulateAndGet(comment.getId(), Math::max);
+        if (commentStore.put(comment.getId(), comment) == null) {
+            addToLog(comment);
+        }
+    }
+
+    /** Keeps new entries from being given {@code id} or a lower one, for entries restored into {@link ColdTaskHistory}. */
+    public void reserveId(long id) {
+        idCounter.accumulateAndGet(id, Math::max);
+    }
+
+    /** Puts an entry received from a replication primary like {@link #restore}, notifying listeners if it is new. */
+    public void replicate(TaskComment comment) {
+        if (!commentStore.containsKey(comment.getId())) {
+            restore(comment);
+            saveListeners.forEach(listener -> listener.accept(comment));
+        }
+    }
+
     @Override
     public List<TaskComment> findByTaskId(Long taskId) {
-        return commentStore.values().stream()
-                .filter(comment -> comment.getTaskId().equals(taskId))
-                .sorted((a, b) -> a.getCreatedAt().compareTo(b.getCreatedAt()))
-                .collect(Collectors.toList());
+        List<TaskComment> log = commentsByTask.get(taskId);
+        List<TaskComment> hot = log != null ? List.copyOf(log) : List.of();
+        return coldHistory.contains(taskId)
+                ? ColdTaskHistory.merge(coldHistory.findComments(taskId), hot, TaskComment::getId) : hot;
     }
 
     @Override
     public List<TaskComment> findAll() {
-        return List.copyOf(commentStore.values());
+        List<TaskComment> all = new ArrayList<>(commentStore.values());
+        all.addAll(coldHistory.findAllComments());
+        return all;
+    }
+
+    @Override
+    public long count() {
+        return commentStore.size() + coldHistory.commentCount();
+    }
+
+    /** The entries still outside {@link ColdTaskHistory}, for snapshots that persist its blocks separately. */
+    public List<TaskComment> findAllHot() {
+        return new ArrayList<>(commentStore.values());
+    }
+
+    boolean hasHot(Long taskId) {
+        return commentsByTask.containsKey(taskId);
+    }
+
+    /** Drops the hot copies of entries that {@link ColdTaskHistory} now holds for the task. */
+    void evict(Long taskId, Set<Long> ids) {
+        commentsByTask.computeIfPresent(taskId, (id, log) -> {
+            log.removeIf(entry -> ids.contains(entry.getId()));
+            return log.isEmpty() ? null : log;
+        });
+        ids.forEach(commentStore::remove);
+    }
+
+    // The per-task log is kept in id order. Replay and concurrent saves can deliver entries out of order, but they
+    // mostly come in order, so an insert is usually an append
+    private void addToLog(TaskComment comment) {
+        commentsByTask.compute(comment.getTaskId(), (taskId, log) -> {
+            List<TaskComment> taskLog = log != null ? log : newLog();
+            int position = taskLog.size();
+            while (position > 0 && taskLog.get(position - 1).getId() > comment.getId()) {
+                position--;
+            }
+            taskLog.add(position, comment);
+            return taskLog;
+        });
+    }
+
+    // Appends are amortized O(1); readers copy under the list's lock, writers of a task are already serialized by
+    // compute on its entry
+    private static List<TaskComment> newLog() {
+        return Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskComment> listener) {
+        saveListeners.add(listener);
     }
 }
\ No newline at end of file
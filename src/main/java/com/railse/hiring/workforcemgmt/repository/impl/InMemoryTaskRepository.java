@@ -1,95 +1,230 @@
 package com.railse.hiring.workforcemgmt.repository.impl;
 
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
 import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
-import com.railse.hiring.workforcemgmt.model.enums.Task;
-import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
-import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.sharding.TaskIdSpace;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * Default task store. Each stored task is a private copy that is never mutated after it is put; finders hand out
+ * copies and {@link #save} swaps in a new version, so reads never lock. Writers of the same task are serialized on
+ * {@link TaskWriteLocks}, under which a save compares the version it was read at with the stored one, so a batch is
+ * checked and stored as a whole.
+ */
 @Repository
-public class InMemoryTaskRepository implements TaskRepository {
+@ConditionalOnProperty(name = "workforcemgmt.task-store", havingValue = "object", matchIfMissing = true)
+public class InMemoryTaskRepository implements RestorableTaskRepository {
 
     private final Map<Long, TaskManagement> taskStore = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
+    private final TaskIndex taskIndex = new TaskIndex();
+    private final TaskWriteLocks writeLocks = new TaskWriteLocks();
+    private final List<Consumer<TaskManagement>> saveListeners = new CopyOnWriteArrayList<>();
 
     public InMemoryTaskRepository() {
-        // Seed data using LocalDate for startDate and LocalDateTime for deadline
-        createSeedTask(101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH, LocalDate.now().minusDays(1));
-        createSeedTask(101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH, LocalDate.now());
-        createSeedTask(102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM, LocalDate.now());
-        createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW, LocalDate.now());
-        createSeedTask(201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW, LocalDate.now()); // Duplicate for Bug #1
-        createSeedTask(103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM, LocalDate.now()); // For Bug #2
-    }
-
-    private void createSeedTask(Long refId, ReferenceType refType, Task task, Long assigneeId, TaskStatus status, Priority priority, LocalDate startDate) {
-        long newId = idCounter.incrementAndGet();
-        TaskManagement newTask = new TaskManagement();
-        newTask.setId(newId);
-        newTask.setReferenceId(refId);
-        newTask.setReferenceType(refType);
-        newTask.setTask(task);
-        newTask.setAssigneeId(assigneeId);
-        newTask.setStatus(status);
-        newTask.setPriority(priority);
-        newTask.setDescription("This is a seed task.");
-        newTask.setStartDate(startDate); // LocalDate
-        newTask.setTaskDeadlineTime(LocalDateTime.now().plusDays(1)); // LocalDateTime
-        newTask.setCreatedAt(LocalDateTime.now());
-        newTask.setUpdatedAt(LocalDateTime.now());
-        taskStore.put(newId, newTask);
+        this(false, 0);
+    }
+
+    // A shard allocates ids in its own range and starts empty, the seed tasks would collide across shards
+    @Autowired
+    public InMemoryTaskRepository(@Value("${workforcemgmt.sharding.enabled:false}") boolean sharded,
+                                  @Value("${workforcemgmt.sharding.self:0}") int shard) {
+        if (sharded) {
+            idCounter.set(TaskIdSpace.idBase(Math.max(shard, 0)));
+        } else {
+            SeedTasks.create().forEach(this::restore);
+        }
     }
 
     @Override
     public Optional<TaskManagement> findById(Long id) {
-        return Optional.ofNullable(taskStore.get(id));
+        TaskManagement task = taskStore.get(id);
+        return Optional.ofNullable(task != null ? task.copy() : null);
     }
 
     @Override
     public TaskManagement save(TaskManagement task) {
-        if (task.getId() == null) {
-            task.setId(idCounter.incrementAndGet());
-            task.setCreatedAt(LocalDateTime.now());
+        return saveAll(List.of(task)).get(0);
+    }
+
+    // Reserves one id block and takes a single timestamp for the whole batch. Every version is checked under the
+    // batch's write locks before any task is stored, so a conflict leaves the whole batch unsaved
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks, Consumer<List<TaskManagement>> beforeStore) {
+        TaskWriteLocks.requireDistinctIds(tasks);
+        int newTasks = 0;
+        for (TaskManagement task : tasks) {
+            if (task.getId() == null) {
+                newTasks++;
+            }
         }
-        task.setUpdatedAt(LocalDateTime.now());
-        taskStore.put(task.getId(), task);
-        return task;
+        TreeSet<Integer> locked = writeLocks.lock(tasks);
+        try {
+            for (TaskManagement task : tasks) {
+                if (task.getId() != null) {
+                    checkVersion(taskStore.get(task.getId()), task);
+                }
+            }
+            long nextId = idCounter.getAndAdd(newTasks) + 1;
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskManagement> next = new ArrayList<>(tasks.size());
+            for (TaskManagement task : tasks) {
+                TaskManagement stored = task.copy();
+                if (stored.getId() == null) {
+                    stored.setId(nextId++);
+                    stored.setCreatedAt(now);
+                }
+                stored.setUpdatedAt(now);
+                TaskManagement current = taskStore.get(stored.getId());
+                stored.setVersion(current != null && current.getVersion() != null ? current.getVersion() + 1 : 1);
+                next.add(stored);
+            }
+            beforeStore.accept(next);
+            for (int i = 0; i < next.size(); i++) {
+                TaskManagement stored = next.get(i);
+                taskStore.put(stored.getId(), stored);
+                taskIndex.index(stored);
+                saveListeners.forEach(listener -> listener.accept(stored));
+                saved(tasks.get(i), stored);
+            }
+        } finally {
+            writeLocks.unlock(locked);
+        }
+        return tasks;
+    }
+
+    @Override
+    public TaskCounts countTasks(Long assigneeId) {
+        return taskIndex.counts(assigneeId);
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskManagement> listener) {
+        saveListeners.add(listener);
+    }
+
+    @Override
+    public List<TaskManagement> findAllById(Collection<Long> ids) {
+        return resolve(ids, task -> true);
+    }
+
+    @Override
+    public void restore(TaskManagement task) {
+        idCounter.accumulateAndGet(task.getId(), Math::max);
+        TaskManagement stored = task.copy();
+        if (stored.getVersion() == null) {
+            stored.setVersion(1L);
+        }
+        taskStore.put(stored.getId(), stored);
+        taskIndex.index(stored);
+    }
+
+    @Override
+    public void replicate(TaskManagement task) {
+        restore(task);
+        TaskManagement stored = taskStore.get(task.getId());
+        saveListeners.forEach(listener -> listener.accept(stored));
     }
 
     @Override
     public List<TaskManagement> findAll() {
-        return List.copyOf(taskStore.values());
+        return taskStore.values().stream().map(TaskManagement::copy).toList();
     }
 
     @Override
     public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
-        return taskStore.values().stream()
-                .filter(task -> task.getReferenceId().equals(referenceId) && task.getReferenceType().equals(referenceType))
-                .collect(Collectors.toList());
+        return resolve(taskIndex.idsByReference(referenceId, referenceType),
+                task -> Objects.equals(task.getReferenceId(), referenceId) && task.getReferenceType() == referenceType);
     }
 
     @Override
     public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
-        return taskStore.values().stream()
-                .filter(task -> assigneeIds.contains(task.getAssigneeId()))
-                .collect(Collectors.toList());
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolve(taskIndex.idsByAssignees(assignees), task -> assignees.contains(task.getAssigneeId()));
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate) {
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolve(taskIndex.idsByAssigneesAndDateRange(assignees, startDate, endDate),
+                task -> assignees.contains(task.getAssigneeId()));
     }
 
     @Override
     public List<TaskManagement> findByPriority(Priority priority) {
-        return taskStore.values().stream()
-                .filter(task -> task.getPriority() == priority)
-                .collect(Collectors.toList());
+        return resolve(taskIndex.idsByPriority(priority), task -> task.getPriority() == priority);
+    }
+
+    // Index buckets may briefly lag a concurrent save, so re-check the predicate against the stored version
+    @Override
+    public Stream<TaskManagement> streamByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate, Long afterId) {
+        Set<Long> assignees = new HashSet<>(assigneeIds);
+        return resolveLazily(taskIndex.idsByAssigneesAndDateRangeAfter(assignees, startDate, endDate, afterId),
+                task -> assignees.contains(task.getAssigneeId()));
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByPriority(Priority priority, Long afterId) {
+        return resolveLazily(taskIndex.idsByPriorityAfter(priority, afterId), task -> task.getPriority() == priority);
+    }
+
+    private List<TaskManagement> resolve(Collection<Long> ids, Predicate<TaskManagement> stillMatches) {
+        List<TaskManagement> result = new ArrayList<>();
+        for (Long id : ids) {
+            TaskManagement task = taskStore.get(id);
+            if (task != null && stillMatches.test(task)) {
+                result.add(task.copy());
+            }
+        }
+        return result;
+    }
+
+    private Stream<TaskManagement> resolveLazily(Iterator<Long> ids, Predicate<TaskManagement> stillMatches) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(ids, Spliterator.ORDERED), false)
+                .map(taskStore::get)
+                .filter(task -> task != null && stillMatches.test(task))
+                .map(TaskManagement::copy);
+    }
+
+    private static void saved(TaskManagement task, TaskManagement stored) {
+        task.setId(stored.getId());
+        task.setCreatedAt(stored.getCreatedAt());
+        task.setUpdatedAt(stored.getUpdatedAt());
+        task.setVersion(stored.getVersion());
+    }
+
+    private static void checkVersion(TaskManagement current, TaskManagement task) {
+        if (current != null && task.getVersion() != null && !task.getVersion().equals(current.getVersion())) {
+            throw new ConflictException("Task " + task.getId() + " was modified concurrently: expected version "
+                    + task.getVersion() + " but found " + current.getVersion());
+        }
     }
 }
@@ -0,0 +1,36 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@link TaskRepository} backing store that durable storage can be replayed into.
+ */
+public interface RestorableTaskRepository extends TaskRepository {
+
+    @Override
+    default List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        return saveAll(tasks, batch -> {
+        });
+    }
+
+    /**
+     * Saves like {@link #saveAll(List)}, but first hands {@code beforeStore} the batch as it will be stored, with ids,
+     * timestamps and new versions assigned and every version checked, while the batch's write locks are held.
+     * Nothing is stored, announced to the save listeners or changed on the given tasks unless it returns normally.
+     */
+    List<TaskManagement> saveAll(List<TaskManagement> tasks, Consumer<List<TaskManagement>> beforeStore);
+
+    /**
+     * Puts a task recovered from durable storage as-is, keeping its id and timestamps.
+     */
+    void restore(TaskManagement task);
+
+    /**
+     * Puts a task received from a replication primary as-is, like {@link #restore}, and notifies the save listeners.
+     */
+    void replicate(TaskManagement task);
+}
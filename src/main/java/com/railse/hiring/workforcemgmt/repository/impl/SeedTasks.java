@@ -0,0 +1,50 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seed data shared by the task store implementations.
+ */
+final class SeedTasks {
+
+    private SeedTasks() {
+    }
+
+    static List<TaskManagement> create() {
+        // Seed data using LocalDate for startDate and LocalDateTime for deadline
+        List<TaskManagement> tasks = new ArrayList<>();
+        tasks.add(createSeedTask(1L, 101L, ReferenceType.ORDER, Task.CREATE_INVOICE, 1L, TaskStatus.ASSIGNED, Priority.HIGH, LocalDate.now().minusDays(1)));
+        tasks.add(createSeedTask(2L, 101L, ReferenceType.ORDER, Task.ARRANGE_PICKUP, 1L, TaskStatus.COMPLETED, Priority.HIGH, LocalDate.now()));
+        tasks.add(createSeedTask(3L, 102L, ReferenceType.ORDER, Task.CREATE_INVOICE, 2L, TaskStatus.ASSIGNED, Priority.MEDIUM, LocalDate.now()));
+        tasks.add(createSeedTask(4L, 201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 2L, TaskStatus.ASSIGNED, Priority.LOW, LocalDate.now()));
+        tasks.add(createSeedTask(5L, 201L, ReferenceType.ENTITY, Task.ASSIGN_CUSTOMER_TO_SALES_PERSON, 3L, TaskStatus.ASSIGNED, Priority.LOW, LocalDate.now())); // Duplicate for Bug #1
+        tasks.add(createSeedTask(6L, 103L, ReferenceType.ORDER, Task.COLLECT_PAYMENT, 1L, TaskStatus.CANCELLED, Priority.MEDIUM, LocalDate.now())); // For Bug #2
+        return tasks;
+    }
+
+    private static TaskManagement createSeedTask(Long id, Long refId, ReferenceType refType, Task task, Long assigneeId, TaskStatus status, Priority priority, LocalDate startDate) {
+        TaskManagement newTask = new TaskManagement();
+        newTask.setId(id);
+        newTask.setReferenceId(refId);
+        newTask.setReferenceType(refType);
+        newTask.setTask(task);
+        newTask.setAssigneeId(assigneeId);
+        newTask.setStatus(status);
+        newTask.setPriority(priority);
+        newTask.setDescription("This is a seed task.");
+        newTask.setStartDate(startDate); // LocalDate
+        newTask.setTaskDeadlineTime(LocalDateTime.now().plusDays(1)); // LocalDateTime
+        newTask.setCreatedAt(LocalDateTime.now());
+        newTask.setUpdatedAt(LocalDateTime.now());
+        return newTask;
+    }
+}
@@ -0,0 +1,60 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only table of short strings shared by all cold history blocks, so a description or status value that
+ * thousands of activities repeat is stored once and referenced by its code. Codes are never reused or removed, so
+ * only fields with a small fixed vocabulary may be encoded; free text such as comments has to stay inline. Once
+ * {@code capacity} strings are in, new strings are not given a code and blocks store them inline.
+ * <p>
+ * Only the tiering thread adds strings. Readers look codes up from blocks that were published through a
+ * concurrent map after the codes were added, which makes the entries visible without locking here.
+ */
+final class StringDictionary {
+
+    static final int MAX_STRING_LENGTH = 64;
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final String[][] chunks;
+    private final int capacity;
+    private int size;
+
+    StringDictionary(int capacity) {
+        this.capacity = capacity;
+        this.chunks = new String[(capacity + CHUNK_SIZE - 1) / CHUNK_SIZE][];
+    }
+
+    /** The string's code, adding it if there is room; -1 if it is too long or the dictionary is full. */
+    synchronized int encode(String value) {
+        if (value.length() > MAX_STRING_LENGTH) {
+            return -1;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (size == capacity) {
+            return -1;
+        }
+        int chunk = size >>> CHUNK_BITS;
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new String[CHUNK_SIZE];
+        }
+        chunks[chunk][size & (CHUNK_SIZE - 1)] = value;
+        codes.put(value, size);
+        return size++;
+    }
+
+    String decode(int code) {
+        return chunks[code >>> CHUNK_BITS][code & (CHUNK_SIZE - 1)];
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
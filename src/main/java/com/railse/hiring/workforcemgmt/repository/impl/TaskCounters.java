@@ -0,0 +1,59 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Incrementally maintained task counts by status x priority x task type, overall and per assignee.
+ * {@link TaskIndex} moves a task between cells when one of those keys changes, so reading a grid never scans tasks.
+ * The overall grid is hit by every save and uses {@link LongAdder}s; per-assignee grids see little contention and
+ * use one {@link AtomicLongArray} each to stay small. Tasks with a null status, priority or type are not counted.
+ */
+class TaskCounters {
+
+    private final LongAdder[] overall = new LongAdder[TaskCounts.CELLS];
+    private final Map<Long, AtomicLongArray> byAssignee = new ConcurrentHashMap<>();
+
+    TaskCounters() {
+        for (int cell = 0; cell < overall.length; cell++) {
+            overall[cell] = new LongAdder();
+        }
+    }
+
+    void add(Long assigneeId, TaskStatus status, Priority priority, Task task, int delta) {
+        if (status == null || priority == null || task == null) {
+            return;
+        }
+        int cell = TaskCounts.cell(status, priority, task);
+        overall[cell].add(delta);
+        if (assigneeId != null) {
+            byAssignee.computeIfAbsent(assigneeId, k -> new AtomicLongArray(TaskCounts.CELLS)).addAndGet(cell, delta);
+        }
+    }
+
+    TaskCounts overall() {
+        long[] cells = new long[TaskCounts.CELLS];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = overall[cell].sum();
+        }
+        return new TaskCounts(cells);
+    }
+
+    TaskCounts forAssignee(Long assigneeId) {
+        long[] cells = new long[TaskCounts.CELLS];
+        AtomicLongArray grid = byAssignee.get(assigneeId);
+        if (grid != null) {
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = grid.get(cell);
+            }
+        }
+        return new TaskCounts(cells);
+    }
+}
@@ -0,0 +1,350 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Concurrent secondary indexes over the task store (assignee, reference and priority -> task ids),
+ * plus per-assignee startDate-ordered indexes of all tasks and of open (ASSIGNED/STARTED) tasks, and the
+ * status x priority x task type counters behind the stats endpoint.
+ * The last indexed values of every task are kept so a save that changes a key can move the id
+ * out of its old bucket; updates for the same task id are serialized through {@link ConcurrentHashMap#compute}
+ * and an older task version never replaces a newer one. Each bucket is an {@link IdBucket} of primitive ids.
+ */
+class TaskIndex {
+
+    private record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+    }
+
+    private record DateKey(Long assigneeId, LocalDate startDate) {
+    }
+
+    // Last indexed values of a task, unboxed so an entry holds no objects of its own; nulls are NONE or -1
+    private static final class IndexEntry {
+        private static final long NONE = Long.MIN_VALUE;
+        private static final int NO_DAY = Integer.MIN_VALUE;
+        private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+        private static final Priority[] PRIORITIES = Priority.values();
+        private static final TaskStatus[] STATUSES = TaskStatus.values();
+        private static final Task[] TASKS = Task.values();
+
+        private final long assigneeId;
+        private final long referenceId;
+        private final long version;
+        private final int startDay;
+        private final byte referenceType;
+        private final byte priority;
+        private final byte status;
+        private final byte task;
+
+        private IndexEntry(TaskManagement task) {
+            this.assigneeId = task.getAssigneeId() != null ? task.getAssigneeId() : NONE;
+            this.referenceId = task.getReferenceId() != null ? task.getReferenceId() : NONE;
+            this.version = task.getVersion() != null ? task.getVersion() : 0;
+            this.startDay = task.getStartDate() != null ? (int) task.getStartDate().toEpochDay() : NO_DAY;
+            this.referenceType = ordinal(task.getReferenceType());
+            this.priority = ordinal(task.getPriority());
+            this.status = ordinal(task.getStatus());
+            this.task = ordinal(task.getTask());
+        }
+
+        static IndexEntry of(TaskManagement task) {
+            return new IndexEntry(task);
+        }
+
+        Long assigneeId() {
+            return assigneeId != NONE ? assigneeId : null;
+        }
+
+        ReferenceKey reference() {
+            return new ReferenceKey(referenceId != NONE ? referenceId : null, constant(REFERENCE_TYPES, referenceType));
+        }
+
+        Priority priority() {
+            return constant(PRIORITIES, priority);
+        }
+
+        TaskStatus status() {
+            return constant(STATUSES, status);
+        }
+
+        Task task() {
+            return constant(TASKS, task);
+        }
+
+        long version() {
+            return version;
+        }
+
+        boolean sameCountCell(IndexEntry other) {
+            return assigneeId == other.assigneeId && status == other.status
+                    && priority == other.priority && task == other.task;
+        }
+
+        DateKey dateKey() {
+            return assigneeId != NONE && startDay != NO_DAY ? new DateKey(assigneeId, LocalDate.ofEpochDay(startDay)) : null;
+        }
+
+        DateKey openDateKey() {
+            TaskStatus current = status();
+            return current == TaskStatus.ASSIGNED || current == TaskStatus.STARTED ? dateKey() : null;
+        }
+
+        private static byte ordinal(Enum<?> value) {
+            return (byte) (value != null ? value.ordinal() : -1);
+        }
+
+        private static <E> E constant(E[] values, byte ordinal) {
+            return ordinal >= 0 ? values[ordinal] : null;
+        }
+    }
+
+    private final Map<Long, IndexEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, IdBucket> byAssignee = new ConcurrentHashMap<>();
+    private final Map<ReferenceKey, IdBucket> byReference = new ConcurrentHashMap<>();
+    private final Map<Priority, IdBucket> byPriority = new EnumMap<>(Priority.class);
+    private final Map<Long, NavigableMap<LocalDate, IdBucket>> byAssigneeStartDate = new ConcurrentHashMap<>();
+    private final Map<Long, NavigableMap<LocalDate, IdBucket>> openByAssigneeStartDate = new ConcurrentHashMap<>();
+    private final TaskCounters counters = new TaskCounters();
+
+    TaskIndex() {
+        for (Priority priority : Priority.values()) {
+            byPriority.put(priority, new IdBucket());
+        }
+    }
+
+    void index(TaskManagement task) {
+        Long id = task.getId();
+        IndexEntry current = IndexEntry.of(task);
+        entries.compute(id, (key, previous) -> {
+            // Two saves of the same task can reach the index out of order; never go back to an older version
+            if (previous != null && previous.version() > current.version()) {
+                return previous;
+            }
+            Long oldAssignee = previous != null ? previous.assigneeId() : null;
+            ReferenceKey oldReference = previous != null ? previous.reference() : null;
+            Priority oldPriority = previous != null ? previous.priority() : null;
+
+            if (previous == null || !Objects.equals(oldAssignee, current.assigneeId())) {
+                move(byAssignee, oldAssignee, current.assigneeId(), id);
+            }
+            if (previous == null || !Objects.equals(oldReference, current.reference())) {
+                move(byReference, oldReference, current.reference(), id);
+            }
+            if (previous == null || oldPriority != current.priority()) {
+                if (oldPriority != null) {
+                    byPriority.get(oldPriority).removeId(id);
+                }
+                if (current.priority() != null) {
+                    byPriority.get(current.priority()).addId(id);
+                }
+            }
+            DateKey oldDateKey = previous != null ? previous.dateKey() : null;
+            if (previous == null || !Objects.equals(oldDateKey, current.dateKey())) {
+                moveDated(byAssigneeStartDate, oldDateKey, current.dateKey(), id);
+            }
+            DateKey oldOpenKey = previous != null ? previous.openDateKey() : null;
+            if (previous == null || !Objects.equals(oldOpenKey, current.openDateKey())) {
+                moveDated(openByAssigneeStartDate, oldOpenKey, current.openDateKey(), id);
+            }
+            if (previous == null || !previous.sameCountCell(current)) {
+                if (previous != null) {
+                    counters.add(previous.assigneeId(), previous.status(), previous.priority(), previous.task(), -1);
+                }
+                counters.add(current.assigneeId(), current.status(), current.priority(), current.task(), 1);
+            }
+            return current;
+        });
+    }
+
+    /** Counts of all tasks, or of one assignee's tasks when {@code assigneeId} is not null. */
+    TaskCounts counts(Long assigneeId) {
+        return assigneeId != null ? counters.forAssignee(assigneeId) : counters.overall();
+    }
+
+    Collection<Long> idsByAssignee(Long assigneeId) {
+        return bucket(byAssignee, assigneeId);
+    }
+
+    List<Long> idsByAssignees(Collection<Long> assigneeIds) {
+        List<Long> ids = new ArrayList<>();
+        for (Long assigneeId : assigneeIds) {
+            ids.addAll(idsByAssignee(assigneeId));
+        }
+        return ids;
+    }
+
+    Collection<Long> idsByReference(Long referenceId, ReferenceType referenceType) {
+        return bucket(byReference, new ReferenceKey(referenceId, referenceType));
+    }
+
+    Collection<Long> idsByPriority(Priority priority) {
+        return priority != null ? byPriority.get(priority) : List.of();
+    }
+
+    /**
+     * Ids of tasks whose startDate falls in [from, to], plus tasks that started before {@code from}
+     * and are still open. Only the matching date buckets are visited.
+     */
+    List<Long> idsByAssigneesAndDateRange(Collection<Long> assigneeIds, LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        for (Long assigneeId : assigneeIds) {
+            NavigableMap<LocalDate, IdBucket> dated = byAssigneeStartDate.get(assigneeId);
+            if (dated != null && !from.isAfter(to)) {
+                dated.subMap(from, true, to, true).values().forEach(ids::addAll);
+            }
+            NavigableMap<LocalDate, IdBucket> open = openByAssigneeStartDate.get(assigneeId);
+            if (open != null) {
+                open.headMap(from, false).values().forEach(ids::addAll);
+            }
+        }
+        return ids;
+    }
+
+    /** Ids of {@code priority} in ascending order, starting after {@code afterId} ({@code null} for the first). */
+    Iterator<Long> idsByPriorityAfter(Priority priority, Long afterId) {
+        if (priority == null) {
+            return Collections.emptyIterator();
+        }
+        return byPriority.get(priority).iterator(afterId);
+    }
+
+    /**
+     * Same ids as {@link #idsByAssigneesAndDateRange}, but in ascending order and starting after {@code afterId}:
+     * a lazy k-way merge over the tails of the matching buckets, so a page only walks as far as it needs.
+     */
+    Iterator<Long> idsByAssigneesAndDateRangeAfter(Collection<Long> assigneeIds, LocalDate from, LocalDate to, Long afterId) {
+        List<IdBucket> buckets = new ArrayList<>();
+        for (Long assigneeId : assigneeIds) {
+            NavigableMap<LocalDate, IdBucket> dated = byAssigneeStartDate.get(assigneeId);
+            if (dated != null && !from.isAfter(to)) {
+                buckets.addAll(dated.subMap(from, true, to, true).values());
+            }
+            NavigableMap<LocalDate, IdBucket> open = openByAssigneeStartDate.get(assigneeId);
+            if (open != null) {
+                buckets.addAll(open.headMap(from, false).values());
+            }
+        }
+        return new MergingIterator(buckets, afterId);
+    }
+
+    private static final class MergingIterator implements Iterator<Long> {
+
+        private record Head(long id, Iterator<Long> rest) {
+        }
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(Head::id));
+        private long last = Long.MIN_VALUE;
+
+        MergingIterator(List<IdBucket> buckets, Long afterId) {
+            for (IdBucket bucket : buckets) {
+                advance(bucket.iterator(afterId));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            // A task moving between buckets can briefly sit in two of them; skip the repeat
+            while (!heads.isEmpty() && heads.peek().id() == last) {
+                advance(heads.poll().rest());
+            }
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Head head = heads.poll();
+            advance(head.rest());
+            last = head.id();
+            return head.id();
+        }
+
+        private void advance(Iterator<Long> ids) {
+            if (ids.hasNext()) {
+                heads.add(new Head(ids.next(), ids));
+            }
+        }
+    }
+
+    // Buckets are created and dropped inside compute of their key, so a bucket is never removed while an id is being
+    // added to it and moving tasks around leaves no empty buckets behind
+    private static void moveDated(Map<Long, NavigableMap<LocalDate, IdBucket>> index,
+                                  DateKey oldKey, DateKey newKey, Long id) {
+        if (oldKey != null) {
+            index.computeIfPresent(oldKey.assigneeId(), (assigneeId, dated) -> {
+                dated.computeIfPresent(oldKey.startDate(), (startDate, bucket) -> without(bucket, id));
+                return dated.isEmpty() ? null : dated;
+            });
+        }
+        if (newKey != null) {
+            index.compute(newKey.assigneeId(), (assigneeId, dated) -> {
+                NavigableMap<LocalDate, IdBucket> next = dated != null ? dated : new ConcurrentSkipListMap<>();
+                next.compute(newKey.startDate(), (startDate, bucket) -> with(bucket, id));
+                return next;
+            });
+        }
+    }
+
+    private static <K> void move(Map<K, IdBucket> index, K oldKey, K newKey, Long id) {
+        if (oldKey != null) {
+            index.computeIfPresent(oldKey, (key, bucket) -> without(bucket, id));
+        }
+        if (newKey != null) {
+            index.compute(newKey, (key, bucket) -> with(bucket, id));
+        }
+    }
+
+    private static IdBucket with(IdBucket bucket, Long id) {
+        IdBucket next = bucket != null ? bucket : new IdBucket();
+        next.addId(id);
+        return next;
+    }
+
+    private static IdBucket without(IdBucket bucket, Long id) {
+        bucket.removeId(id);
+        return bucket.isEmpty() ? null : bucket;
+    }
+
+    /** Number of assignee, reference and assignee/start-date buckets currently held. */
+    int bucketCount() {
+        int count = byAssignee.size() + byReference.size();
+        for (NavigableMap<LocalDate, IdBucket> dated : byAssigneeStartDate.values()) {
+            count += dated.size();
+        }
+        for (NavigableMap<LocalDate, IdBucket> dated : openByAssigneeStartDate.values()) {
+            count += dated.size();
+        }
+        return count;
+    }
+
+    private static <K> Collection<Long> bucket(Map<K, IdBucket> index, K key) {
+        if (key == null) {
+            return List.of();
+        }
+        IdBucket ids = index.get(key);
+        return ids != null ? ids : List.of();
+    }
+}
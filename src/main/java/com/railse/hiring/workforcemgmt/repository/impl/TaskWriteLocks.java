@@ -0,0 +1,56 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lock stripes that make a {@code saveAll} batch all-or-nothing: the stripes of every existing task id in the batch
+ * are held while all versions are checked and the new versions written, so a concurrent writer cannot fail a later
+ * task of the batch after earlier ones were stored. Stripes are taken in ascending order so batches cannot deadlock.
+ */
+final class TaskWriteLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    TaskWriteLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Rejects a batch that names a task id twice: both copies would pass the version check against the same stored
+     * version and the second write would then fail after the first was stored.
+     */
+    static void requireDistinctIds(List<TaskManagement> tasks) {
+        Set<Long> ids = new HashSet<>();
+        for (TaskManagement task : tasks) {
+            if (task.getId() != null && !ids.add(task.getId())) {
+                throw new IllegalArgumentException("Task " + task.getId() + " appears more than once in the batch");
+            }
+        }
+    }
+
+    /** Locks the stripes of the batch's task ids; pass the result to {@link #unlock}. */
+    TreeSet<Integer> lock(List<TaskManagement> tasks) {
+        TreeSet<Integer> locked = new TreeSet<>();
+        for (TaskManagement task : tasks) {
+            if (task.getId() != null) {
+                locked.add(Math.floorMod(task.getId().hashCode(), STRIPES));
+            }
+        }
+        locked.forEach(stripe -> stripes[stripe].lock());
+        return locked;
+    }
+
+    void unlock(TreeSet<Integer> locked) {
+        locked.descendingSet().forEach(stripe -> stripes[stripe].unlock());
+    }
+}
@@ -0,0 +1,281 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Binary, fixed-width columnar snapshot of the task store.
+ * <p>
+ * Layout: a 32-byte header ({@code magic, version, rowCount, stringCount, stringBytes}), then one column per field
+ * in {@link #LONG_COLUMNS}/{@link #INT_COLUMNS}/{@link #BYTE_COLUMNS} order, then the description string table
+ * ({@code int[stringCount + 1]} offsets followed by UTF-8 bytes). Ids and timestamps are longs (timestamps as UTC
+ * epoch seconds with their nano-of-second in an int column, start dates as epoch days, plus the optimistic-locking
+ * version), enums are stored as ordinal bytes, and descriptions are deduplicated into the string table and
+ * referenced by index. Nulls are encoded as {@link #NULL_LONG} / {@code -1}. Snapshots of any other format version are
+ * rejected.
+ * <p>
+ * Columns are written through a reusable buffer and read back through one {@link MappedByteBuffer} per column,
+ * decoding row ranges in parallel, so warm-up is bounded by object construction and not by parsing.
+ */
+public final class ColumnarTaskSnapshot {
+
+    private static final int MAGIC = 0x57465453; // "WFTS"
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 32;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+    private static final int ROWS_PER_CHUNK = 1 << 16;
+
+    private static final int LONG_COLUMNS = 8;  // id, referenceId, assigneeId, deadline, createdAt, updatedAt, startDate, version
+    private static final int INT_COLUMNS = 4;   // description index, deadline, createdAt and updatedAt nano-of-second
+    private static final int BYTE_COLUMNS = 4;  // referenceType, task, status, priority
+
+    private static final ReferenceType[] REFERENCE_TYPES = ReferenceType.values();
+    private static final Task[] TASKS = Task.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private ColumnarTaskSnapshot() {
+    }
+
+    public static void write(Path path, List<TaskManagement> tasks) throws IOException {
+        int rows = tasks.size();
+        Map<String, Integer> stringIndex = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[] descriptions = new int[rows];
+        long stringBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            String description = tasks.get(row).getDescription();
+            if (description == null) {
+                descriptions[row] = -1;
+                continue;
+            }
+            Integer index = stringIndex.get(description);
+            if (index == null) {
+                index = strings.size();
+                byte[] utf8 = description.getBytes(StandardCharsets.UTF_8);
+                strings.add(utf8);
+                stringIndex.put(description, index);
+                stringBytes += utf8.length;
+            }
+            descriptions[row] = index;
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(rows).putInt(strings.size()).putLong(stringBytes).putInt(0);
+
+            writeNullableLongs(out, buffer, tasks, TaskManagement::getId);
+            writeNullableLongs(out, buffer, tasks, TaskManagement::getReferenceId);
+            writeNullableLongs(out, buffer, tasks, TaskManagement::getAssigneeId);
+            writeLongs(out, buffer, tasks, task -> epochSecond(task.getTaskDeadlineTime()));
+            writeLongs(out, buffer, tasks, task -> epochSecond(task.getCreatedAt()));
+            writeLongs(out, buffer, tasks, task -> epochSecond(task.getUpdatedAt()));
+            writeLongs(out, buffer, tasks, task -> task.getStartDate() != null ? task.getStartDate().toEpochDay() : NULL_LONG);
+            writeNullableLongs(out, buffer, tasks, TaskManagement::getVersion);
+            for (int row = 0; row < rows; row++) {
+                ensure(out, buffer, Integer.BYTES).putInt(descriptions[row]);
+            }
+            writeInts(out, buffer, tasks, task -> nano(task.getTaskDeadlineTime()));
+            writeInts(out, buffer, tasks, task -> nano(task.getCreatedAt()));
+            writeInts(out, buffer, tasks, task -> nano(task.getUpdatedAt()));
+            writeBytes(out, buffer, tasks, task -> ordinal(task.getReferenceType()));
+            writeBytes(out, buffer, tasks, task -> ordinal(task.getTask()));
+            writeBytes(out, buffer, tasks, task -> ordinal(task.getStatus()));
+            writeBytes(out, buffer, tasks, task -> ordinal(task.getPriority()));
+
+            int offset = 0;
+            for (byte[] utf8 : strings) {
+                ensure(out, buffer, Integer.BYTES).putInt(offset);
+                offset += utf8.length;
+            }
+            ensure(out, buffer, Integer.BYTES).putInt(offset);
+            for (byte[] utf8 : strings) {
+                int written = 0;
+                while (written < utf8.length) {
+                    int chunk = Math.min(utf8.length - written, WRITE_BUFFER_BYTES);
+                    ensure(out, buffer, chunk).put(utf8, written, chunk);
+                    written += chunk;
+                }
+            }
+            flush(out, buffer);
+            out.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Decodes every row and hands it to {@code sink}, possibly from several threads at once. */
+    public static void read(Path path, Consumer<TaskManagement> sink) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            in.read(header, 0);
+            header.flip();
+            int magic = header.getInt();
+            int formatVersion = header.getInt();
+            if (magic != MAGIC || formatVersion != VERSION) {
+                throw new IOException("Not a version " + VERSION + " columnar task snapshot: " + path);
+            }
+            long rowCount = header.getLong();
+            int stringCount = header.getInt();
+            long stringBytes = header.getLong();
+            if (rowCount * Long.BYTES > Integer.MAX_VALUE || stringBytes > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " exceeds the per-column mapping limit");
+            }
+            int rows = (int) rowCount;
+
+            long position = HEADER_BYTES;
+            MappedByteBuffer[] longs = new MappedByteBuffer[LONG_COLUMNS];
+            for (int column = 0; column < LONG_COLUMNS; column++) {
+                longs[column] = in.map(FileChannel.MapMode.READ_ONLY, position, (long) rows * Long.BYTES);
+                position += (long) rows * Long.BYTES;
+            }
+            MappedByteBuffer[] ints = new MappedByteBuffer[INT_COLUMNS];
+            for (int column = 0; column < INT_COLUMNS; column++) {
+                ints[column] = in.map(FileChannel.MapMode.READ_ONLY, position, (long) rows * Integer.BYTES);
+                position += (long) rows * Integer.BYTES;
+            }
+            MappedByteBuffer[] bytes = new MappedByteBuffer[BYTE_COLUMNS];
+            for (int column = 0; column < BYTE_COLUMNS; column++) {
+                bytes[column] = in.map(FileChannel.MapMode.READ_ONLY, position, rows);
+                position += rows;
+            }
+            MappedByteBuffer stringOffsets = in.map(FileChannel.MapMode.READ_ONLY, position, (long) (stringCount + 1) * Integer.BYTES);
+            position += (long) (stringCount + 1) * Integer.BYTES;
+            MappedByteBuffer stringData = in.map(FileChannel.MapMode.READ_ONLY, position, stringBytes);
+
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                int start = stringOffsets.getInt(i * Integer.BYTES);
+                int end = stringOffsets.getInt((i + 1) * Integer.BYTES);
+                byte[] utf8 = new byte[end - start];
+                stringData.get(start, utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            int chunks = (rows + ROWS_PER_CHUNK - 1) / ROWS_PER_CHUNK;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int end = Math.min(rows, (chunk + 1) * ROWS_PER_CHUNK);
+                for (int row = chunk * ROWS_PER_CHUNK; row < end; row++) {
+                    sink.accept(decode(row, longs, ints, bytes, strings));
+                }
+            });
+        }
+    }
+
+    private static TaskManagement decode(int row, ByteBuffer[] longs, ByteBuffer[] ints, ByteBuffer[] bytes, String[] strings) {
+        int longOffset = row * Long.BYTES;
+        int intOffset = row * Integer.BYTES;
+        TaskManagement task = new TaskManagement();
+        task.setId(boxed(longs[0].getLong(longOffset)));
+        task.setReferenceId(boxed(longs[1].getLong(longOffset)));
+        task.setAssigneeId(boxed(longs[2].getLong(longOffset)));
+        task.setTaskDeadlineTime(dateTime(longs[3].getLong(longOffset), ints[1].getInt(intOffset)));
+        task.setCreatedAt(dateTime(longs[4].getLong(longOffset), ints[2].getInt(intOffset)));
+        task.setUpdatedAt(dateTime(longs[5].getLong(longOffset), ints[3].getInt(intOffset)));
+        long epochDay = longs[6].getLong(longOffset);
+        task.setStartDate(epochDay != NULL_LONG ? LocalDate.ofEpochDay(epochDay) : null);
+        int description = ints[0].getInt(intOffset);
+        task.setDescription(description >= 0 ? strings[description] : null);
+        task.setReferenceType(constant(REFERENCE_TYPES, bytes[0].get(row)));
+        task.setTask(constant(TASKS, bytes[1].get(row)));
+        task.setStatus(constant(STATUSES, bytes[2].get(row)));
+        task.setPriority(constant(PRIORITIES, bytes[3].get(row)));
+        task.setVersion(boxed(longs[7].getLong(longOffset)));
+        return task;
+    }
+
+    private static void writeLongs(FileChannel out, ByteBuffer buffer, List<TaskManagement> tasks,
+                                   ToLongFunction<TaskManagement> column) throws IOException {
+        for (TaskManagement task : tasks) {
+            ensure(out, buffer, Long.BYTES).putLong(column.applyAsLong(task));
+        }
+    }
+
+    private static void writeInts(FileChannel out, ByteBuffer buffer, List<TaskManagement> tasks,
+                                  ToIntFunction<TaskManagement> column) throws IOException {
+        for (TaskManagement task : tasks) {
+            ensure(out, buffer, Integer.BYTES).putInt(column.applyAsInt(task));
+        }
+    }
+
+    private static void writeNullableLongs(FileChannel out, ByteBuffer buffer, List<TaskManagement> tasks,
+                                           Function<TaskManagement, Long> column) throws IOException {
+        for (TaskManagement task : tasks) {
+            Long value = column.apply(task);
+            ensure(out, buffer, Long.BYTES).putLong(value != null ? value : NULL_LONG);
+        }
+    }
+
+    private static void writeBytes(FileChannel out, ByteBuffer buffer, List<TaskManagement> tasks,
+                                   ToLongFunction<TaskManagement> column) throws IOException {
+        for (TaskManagement task : tasks) {
+            ensure(out, buffer, 1).put((byte) column.applyAsLong(task));
+        }
+    }
+
+    private static ByteBuffer ensure(FileChannel out, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(out, buffer);
+        }
+        return buffer;
+    }
+
+    private static void flush(FileChannel out, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NULL_LONG;
+    }
+
+    private static int nano(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.getNano() : 0;
+    }
+
+    private static LocalDateTime dateTime(long epochSecond, int nano) {
+        return epochSecond != NULL_LONG ? LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC) : null;
+    }
+
+    private static long ordinal(Enum<?> value) {
+        return value != null ? value.ordinal() : -1;
+    }
+
+    private static <E> E constant(E[] values, byte ordinal) {
+        return ordinal >= 0 ? values[ordinal] : null;
+    }
+
+    private static Long boxed(long value) {
+        return value != NULL_LONG ? value : null;
+    }
+}
@@ -0,0 +1,199 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.repository.impl.ColdTaskHistory;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.RestorableTaskRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.wal.WriteAheadLog.RecordType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the write-ahead log for the three in-memory stores: rebuilds them from snapshot plus log tail at startup,
+ * serializes every write into the log and takes periodic compacted snapshots. Tasks are snapshotted into a
+ * {@link ColumnarTaskSnapshot} sidecar; activities and comments stay framed JSON records. The history that
+ * {@link ColdTaskHistory} holds is snapshotted as one record per task and restored straight into it, so it does not
+ * come back as hot objects after a restart.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.persistence.mode", havingValue = "wal")
+public class WalPersistence {
+
+    private static final String TASK_COLUMNS_EXTENSION = "tasks";
+
+    record ColdHistoryRecord(Long taskId, List<TaskActivity> activities, List<TaskComment> comments) {
+    }
+
+    private final RestorableTaskRepository taskRepository;
+    private final InMemoryTaskActivityRepository activityRepository;
+    private final InMemoryTaskCommentRepository commentRepository;
+    private final ColdTaskHistory coldHistory;
+    private final WriteAheadLog writeAheadLog;
+    private final long snapshotMinLogBytes;
+    private final ScheduledExecutorService checkpointScheduler;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public WalPersistence(RestorableTaskRepository taskRepository,
+                          InMemoryTaskActivityRepository activityRepository,
+                          InMemoryTaskCommentRepository commentRepository,
+                          ColdTaskHistory coldHistory,
+                          WorkerThreads workerThreads,
+                          @Value("${workforcemgmt.persistence.wal.directory:./data/wal}") String directory,
+                          @Value("${workforcemgmt.persistence.wal.max-batch-size:1024}") int maxBatchSize,
+                          @Value("${workforcemgmt.persistence.wal.queue-capacity:65536}") int queueCapacity,
+                          @Value("${workforcemgmt.persistence.wal.snapshot-interval-seconds:300}") long snapshotIntervalSeconds,
+                          @Value("${workforcemgmt.persistence.wal.snapshot-min-log-bytes:67108864}") long snapshotMinLogBytes) {
+        this.taskRepository = taskRepository;
+        this.activityRepository = activityRepository;
+        this.commentRepository = commentRepository;
+        this.coldHistory = coldHistory;
+        this.snapshotMinLogBytes = snapshotMinLogBytes;
+        this.writeAheadLog = new WriteAheadLog(Path.of(directory), maxBatchSize, queueCapacity, workerThreads);
+
+        long started = System.nanoTime();
+        writeAheadLog.recover(this::loadTaskColumns, this::apply);
+        log.info("Recovered task stores from {} in {} ms", directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        writeAheadLog.start();
+
+        checkpointScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "wal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checkpointScheduler.scheduleWithFixedDelay(this::checkpointIfNeeded,
+                snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public CompletableFuture<Void> append(TaskManagement task) {
+        return writeAheadLog.append(RecordType.TASK, serialize(task));
+    }
+
+    public CompletableFuture<Void> append(TaskActivity activity) {
+        return writeAheadLog.append(RecordType.ACTIVITY, serialize(activity));
+    }
+
+    public CompletableFuture<Void> append(TaskComment comment) {
+        return writeAheadLog.append(RecordType.COMMENT, serialize(comment));
+    }
+
+    /** Blocks until every given write is durable, surfacing the first failure. */
+    public static void await(List<CompletableFuture<Void>> writes) {
+        try {
+            CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to persist write-ahead log record", e.getCause());
+        }
+    }
+
+    public void checkpoint() throws IOException {
+        long started = System.nanoTime();
+        writeAheadLog.checkpoint((snapshotNumber, sink) -> {
+            ColumnarTaskSnapshot.write(writeAheadLog.sidecarPath(snapshotNumber, TASK_COLUMNS_EXTENSION), taskRepository.findAll());
+            // Hot entries first: tiering installs a block before evicting its hot copies, so an entry moved meanwhile
+            // is in one of the two reads, and those found in both are written once, inside the block
+            List<TaskActivity> hotActivities = activityRepository.findAllHot();
+            List<TaskComment> hotComments = commentRepository.findAllHot();
+            Set<Long> tasksWithHotEntries = new HashSet<>();
+            hotActivities.forEach(activity -> tasksWithHotEntries.add(activity.getTaskId()));
+            hotComments.forEach(comment -> tasksWithHotEntries.add(comment.getTaskId()));
+            Set<Long> coldActivityIds = new HashSet<>();
+            Set<Long> coldCommentIds = new HashSet<>();
+            coldHistory.forEach((taskId, history) -> {
+                sink.accept(RecordType.COLD_HISTORY,
+                        serialize(new ColdHistoryRecord(taskId, history.activities(), history.comments())));
+                if (tasksWithHotEntries.contains(taskId)) {
+                    history.activities().forEach(activity -> coldActivityIds.add(activity.getId()));
+                    history.comments().forEach(comment -> coldCommentIds.add(comment.getId()));
+                }
+            });
+            hotActivities.stream()
+                    .filter(activity -> !coldActivityIds.contains(activity.getId()))
+                    .sorted(Comparator.comparing(TaskActivity::getId))
+                    .forEach(activity -> sink.accept(RecordType.ACTIVITY, serialize(activity)));
+            hotComments.stream()
+                    .filter(comment -> !coldCommentIds.contains(comment.getId()))
+                    .sorted(Comparator.comparing(TaskComment::getId))
+                    .forEach(comment -> sink.accept(RecordType.COMMENT, serialize(comment)));
+        });
+        log.info("Wrote task store snapshot in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        checkpointScheduler.shutdownNow();
+        writeAheadLog.close();
+    }
+
+    private void checkpointIfNeeded() {
+        try {
+            if (writeAheadLog.segmentSize() >= snapshotMinLogBytes) {
+                checkpoint();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Write-ahead log checkpoint failed", e);
+        }
+    }
+
+    private void loadTaskColumns(long snapshotNumber) throws IOException {
+        Path columns = writeAheadLog.sidecarPath(snapshotNumber, TASK_COLUMNS_EXTENSION);
+        if (Files.exists(columns)) {
+            ColumnarTaskSnapshot.read(columns, taskRepository::restore);
+        }
+    }
+
+    private void apply(RecordType type, byte[] payload) {
+        try {
+            switch (type) {
+                case TASK -> taskRepository.restore(objectMapper.readValue(payload, TaskManagement.class));
+                case ACTIVITY -> activityRepository.restore(objectMapper.readValue(payload, TaskActivity.class));
+                case COMMENT -> commentRepository.restore(objectMapper.readValue(payload, TaskComment.class));
+                case COLD_HISTORY -> restoreColdHistory(objectMapper.readValue(payload, ColdHistoryRecord.class));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt " + type + " record in write-ahead log", e);
+        }
+    }
+
+    // The repositories' id counters have to move past the cold ids too, or new entries would reuse them
+    private void restoreColdHistory(ColdHistoryRecord cold) {
+        coldHistory.restore(cold.taskId(), cold.activities(), cold.comments());
+        cold.activities().forEach(activity -> activityRepository.reserveId(activity.getId()));
+        cold.comments().forEach(comment -> commentRepository.reserveId(comment.getId()));
+    }
+
+    private byte[] serialize(Object entity) {
+        try {
+            return objectMapper.writeValueAsBytes(entity);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + entity.getClass().getSimpleName(), e);
+        }
+    }
+}
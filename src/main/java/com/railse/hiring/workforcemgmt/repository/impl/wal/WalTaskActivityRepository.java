@@ -0,0 +1,61 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Durable {@link TaskActivityRepository}: reads are served by the in-memory store, every save is appended to the
+ * write-ahead log and only reaches the store, its save listeners and readers once it is on disk. A save whose append
+ * fails leaves the store unchanged.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.persistence.mode", havingValue = "wal")
+public class WalTaskActivityRepository implements TaskActivityRepository {
+
+    private final InMemoryTaskActivityRepository delegate;
+    private final WalPersistence persistence;
+
+    public WalTaskActivityRepository(InMemoryTaskActivityRepository delegate, WalPersistence persistence) {
+        this.delegate = delegate;
+        this.persistence = persistence;
+    }
+
+    @Override
+    public TaskActivity save(TaskActivity activity) {
+        return saveAll(List.of(activity)).get(0);
+    }
+
+    @Override
+    public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+        return delegate.saveAll(activities,
+                batch -> WalPersistence.await(batch.stream().map(persistence::append).toList()));
+    }
+
+    @Override
+    public List<TaskActivity> findByTaskId(Long taskId) {
+        return delegate.findByTaskId(taskId);
+    }
+
+    @Override
+    public List<TaskActivity> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskActivity> listener) {
+        delegate.addSaveListener(listener);
+    }
+}
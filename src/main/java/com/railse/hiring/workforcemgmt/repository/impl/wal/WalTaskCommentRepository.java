@@ -0,0 +1,55 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Durable {@link TaskCommentRepository}: reads are served by the in-memory store, every save is appended to the
+ * write-ahead log and only reaches the store, its save listeners and readers once it is on disk. A save whose append
+ * fails leaves the store unchanged.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.persistence.mode", havingValue = "wal")
+public class WalTaskCommentRepository implements TaskCommentRepository {
+
+    private final InMemoryTaskCommentRepository delegate;
+    private final WalPersistence persistence;
+
+    public WalTaskCommentRepository(InMemoryTaskCommentRepository delegate, WalPersistence persistence) {
+        this.delegate = delegate;
+        this.persistence = persistence;
+    }
+
+    @Override
+    public TaskComment save(TaskComment comment) {
+        return delegate.save(comment, saved -> WalPersistence.await(List.of(persistence.append(saved))));
+    }
+
+    @Override
+    public List<TaskComment> findByTaskId(Long taskId) {
+        return delegate.findByTaskId(taskId);
+    }
+
+    @Override
+    public List<TaskComment> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskComment> listener) {
+        delegate.addSaveListener(listener);
+    }
+}
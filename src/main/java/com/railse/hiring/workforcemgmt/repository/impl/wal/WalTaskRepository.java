@@ -0,0 +1,104 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.RestorableTaskRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Durable {@link TaskRepository}: reads are served by the in-memory store, every save is appended to the
+ * write-ahead log and only reaches the store, its save listeners and readers once it is on disk. A save whose append
+ * fails leaves the store unchanged.
+ */
+@Primary
+@Repository
+@ConditionalOnProperty(name = "workforcemgmt.persistence.mode", havingValue = "wal")
+public class WalTaskRepository implements TaskRepository {
+
+    private final RestorableTaskRepository delegate;
+    private final WalPersistence persistence;
+
+    public WalTaskRepository(RestorableTaskRepository delegate, WalPersistence persistence) {
+        this.delegate = delegate;
+        this.persistence = persistence;
+    }
+
+    @Override
+    public TaskManagement save(TaskManagement task) {
+        return saveAll(List.of(task)).get(0);
+    }
+
+    // Appended while the store holds the batch's write locks, so the log sees saves of a task in the same order as
+    // memory; the store only takes the batch once it is durable
+    @Override
+    public List<TaskManagement> saveAll(List<TaskManagement> tasks) {
+        return delegate.saveAll(tasks, batch -> WalPersistence.await(batch.stream().map(persistence::append).toList()));
+    }
+
+    @Override
+    public Optional<TaskManagement> findById(Long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<TaskManagement> findAllById(Collection<Long> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<TaskManagement> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<TaskManagement> findByReferenceIdAndReferenceType(Long referenceId, ReferenceType referenceType) {
+        return delegate.findByReferenceIdAndReferenceType(referenceId, referenceType);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdIn(List<Long> assigneeIds) {
+        return delegate.findByAssigneeIdIn(assigneeIds);
+    }
+
+    @Override
+    public List<TaskManagement> findByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate) {
+        return delegate.findByAssigneeIdInAndDateRange(assigneeIds, startDate, endDate);
+    }
+
+    @Override
+    public List<TaskManagement> findByPriority(Priority priority) {
+        return delegate.findByPriority(priority);
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByAssigneeIdInAndDateRange(List<Long> assigneeIds, LocalDate startDate, LocalDate endDate, Long afterId) {
+        return delegate.streamByAssigneeIdInAndDateRange(assigneeIds, startDate, endDate, afterId);
+    }
+
+    @Override
+    public Stream<TaskManagement> streamByPriority(Priority priority, Long afterId) {
+        return delegate.streamByPriority(priority, afterId);
+    }
+
+    @Override
+    public TaskCounts countTasks(Long assigneeId) {
+        return delegate.countTasks(assigneeId);
+    }
+
+    @Override
+    public void addSaveListener(Consumer<TaskManagement> listener) {
+        delegate.addSaveListener(listener);
+    }
+}
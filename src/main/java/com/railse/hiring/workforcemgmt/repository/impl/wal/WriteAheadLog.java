@@ -0,0 +1,376 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segmented write-ahead log with group commit.
+ * <p>
+ * Callers enqueue records and get a future that completes once the record is on disk; a single writer
+ * thread drains whatever is queued, writes it in one go and issues one {@code force} for the whole batch.
+ * Records are framed as {@code [length][crc32][type][payload]} so a torn tail is detected and dropped on recovery.
+ * A checkpoint rolls over to a new segment, writes a snapshot that covers everything before it and deletes
+ * the older segments; recovery loads the newest snapshot and replays the segments from its number onwards.
+ * Replay relies on records being full upserts keyed by id, so a snapshot taken while writes continue is safe.
+ */
+public class WriteAheadLog implements Closeable {
+
+    public enum RecordType {
+        TASK, ACTIVITY, COMMENT, COLD_HISTORY
+    }
+
+    /** Receives records during recovery and snapshot writing. */
+    public interface RecordSink {
+        void accept(RecordType type, byte[] payload);
+    }
+
+    /** Writes snapshot {@code number}: framed records go to {@code sink}, bulk data may go to {@link #sidecarPath} files. */
+    public interface SnapshotWriter {
+        void write(long number, RecordSink sink) throws IOException;
+    }
+
+    /** Loads the sidecar files of snapshot {@code number} during recovery, before its framed records are replayed. */
+    public interface SnapshotReader {
+        void read(long number) throws IOException;
+    }
+
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + 1;
+    private static final int READ_BUFFER_BYTES = 1 << 20;
+    private static final Pattern SEGMENT_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.dat");
+    private static final Pattern SNAPSHOT_ANY_FILE = Pattern.compile("snapshot-(\\d+)\\..+");
+
+    private record PendingWrite(RecordType type, byte[] payload, CompletableFuture<Void> done) {
+    }
+
+    private final Path directory;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    private final WorkerThreads workerThreads;
+    private final ReentrantLock segmentLock = new ReentrantLock();
+    // Appenders hold the read lock from the running check until the record is queued; close takes the write lock to
+    // stop, so no record can be queued after the writer's final drain
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private Thread writer;
+    private FileChannel channel;
+    private long segment;
+    private volatile boolean running;
+
+    public WriteAheadLog(Path directory, int maxBatchSize, int queueCapacity, WorkerThreads workerThreads) {
+        this.directory = directory;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workerThreads = workerThreads;
+    }
+
+    /**
+     * Loads the newest snapshot and streams the log tail into {@code sink}. Must be called before {@link #start()}.
+     */
+    public void recover(SnapshotReader snapshotReader, RecordSink sink) {
+        try {
+            Files.createDirectories(directory);
+            long snapshot = latest(SNAPSHOT_FILE);
+            if (snapshot >= 0) {
+                snapshotReader.read(snapshot);
+                readRecords(snapshotPath(snapshot), sink, false);
+            }
+            List<Long> segments = list(SEGMENT_FILE);
+            for (int i = 0; i < segments.size(); i++) {
+                long number = segments.get(i);
+                if (number >= snapshot) {
+                    readRecords(segmentPath(number), sink, i == segments.size() - 1);
+                }
+            }
+            segment = segments.isEmpty() ? Math.max(snapshot, 0) : segments.get(segments.size() - 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover write-ahead log in " + directory, e);
+        }
+    }
+
+    public void start() {
+        try {
+            channel = openSegment(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open write-ahead log segment " + segment, e);
+        }
+        running = true;
+        writer = workerThreads.newThread("wal-writer", this::drainLoop);
+        writer.start();
+    }
+
+    // A put into a full queue waits here with the read lock held; the writer keeps draining until close has the
+    // write lock
+    public CompletableFuture<Void> append(RecordType type, byte[] payload) {
+        PendingWrite write = new PendingWrite(type, payload, new CompletableFuture<>());
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is not running"));
+            }
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return write.done();
+    }
+
+    /**
+     * Rolls the log over to a new segment, writes a snapshot of the current state through {@code snapshotWriter}
+     * and removes segments and snapshots that the new snapshot supersedes. The framed {@code .dat} file is moved
+     * into place last, so a snapshot only counts once all of its sidecar files are complete.
+     */
+    public void checkpoint(SnapshotWriter snapshotWriter) throws IOException {
+        long snapshotNumber;
+        segmentLock.lock();
+        try {
+            channel.force(false);
+            channel.close();
+            segment++;
+            channel = openSegment(segment);
+            snapshotNumber = segment;
+        } finally {
+            segmentLock.unlock();
+        }
+
+        Path tmp = directory.resolve("snapshot-" + snapshotNumber + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            IOException[] failure = new IOException[1];
+            snapshotWriter.write(snapshotNumber, (type, payload) -> {
+                if (failure[0] == null) {
+                    try {
+                        writeFully(out, frame(type, payload));
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            out.force(true);
+        }
+        Files.move(tmp, snapshotPath(snapshotNumber), StandardCopyOption.ATOMIC_MOVE);
+        // The rename and the new segment only survive a crash once the directory itself is on disk; until then
+        // the older segments are still needed
+        forceDirectory();
+
+        for (long number : list(SEGMENT_FILE)) {
+            if (number < snapshotNumber) {
+                Files.deleteIfExists(segmentPath(number));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                Matcher matcher = SNAPSHOT_ANY_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches() && Long.parseLong(matcher.group(1)) < snapshotNumber) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private void forceDirectory() throws IOException {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    public Path sidecarPath(long snapshotNumber, String extension) {
+        return directory.resolve("snapshot-" + snapshotNumber + "." + extension);
+    }
+
+    public long segmentSize() throws IOException {
+        segmentLock.lock();
+        try {
+            return channel.size();
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    /** Stops accepting writes, flushes everything already queued and closes the current segment. */
+    @Override
+    public void close() throws IOException {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<PendingWrite> orphaned = new ArrayList<>();
+        queue.drainTo(orphaned);
+        orphaned.forEach(write -> write.done().completeExceptionally(new IllegalStateException("Write-ahead log is closed")));
+        segmentLock.lock();
+        try {
+            if (channel != null && channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            segmentLock.unlock();
+        }
+    }
+
+    private void drainLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        int size = 0;
+        for (PendingWrite write : batch) {
+            size += HEADER_BYTES + write.payload().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (PendingWrite write : batch) {
+            buffer.put(frame(write.type(), write.payload()));
+        }
+        buffer.flip();
+
+        IOException failure = null;
+        segmentLock.lock();
+        try {
+            writeFully(channel, buffer);
+            channel.force(false);
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            segmentLock.unlock();
+        }
+        for (PendingWrite write : batch) {
+            if (failure == null) {
+                write.done().complete(null);
+            } else {
+                write.done().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private static ByteBuffer frame(RecordType type, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(type.ordinal());
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put((byte) type.ordinal()).put(payload);
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // Reads framed records until EOF or the first torn/corrupt record; the tail of the live segment is truncated there
+    private static void readRecords(Path path, RecordSink sink, boolean truncateTornTail) throws IOException {
+        long fileSize = Files.size(path);
+        long position = 0;
+        RecordType[] types = RecordType.values();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), READ_BUFFER_BYTES))) {
+            CRC32 crc = new CRC32();
+            while (position + HEADER_BYTES <= fileSize) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                int typeOrdinal = in.readByte();
+                if (length < 0 || typeOrdinal < 0 || typeOrdinal >= types.length
+                        || position + HEADER_BYTES + length > fileSize) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(typeOrdinal);
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                sink.accept(types[typeOrdinal], payload);
+                position += HEADER_BYTES + length;
+            }
+        }
+        if (truncateTornTail && position < fileSize) {
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                out.truncate(position);
+            }
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        FileChannel segmentChannel = FileChannel.open(segmentPath(number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        segmentChannel.position(segmentChannel.size());
+        return segmentChannel;
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("wal-" + number + ".log");
+    }
+
+    private Path snapshotPath(long number) {
+        return directory.resolve("snapshot-" + number + ".dat");
+    }
+
+    private long latest(Pattern pattern) throws IOException {
+        List<Long> numbers = list(pattern);
+        return numbers.isEmpty() ? -1 : numbers.get(numbers.size() - 1);
+    }
+
+    private List<Long> list(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> pattern.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
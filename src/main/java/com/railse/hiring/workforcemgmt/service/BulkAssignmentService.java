@@ -0,0 +1,8 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.BulkAssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.BulkAssignResultDto;
+
+public interface BulkAssignmentService {
+    BulkAssignResultDto assignByReferences(BulkAssignByReferenceRequest request);
+}
@@ -3,7 +3,12 @@ package com.railse.hiring.workforcemgmt.service;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
 
+import java.util.List;
+
 public interface TaskActivityService {
     void logActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue);
+    void logActivities(List<TaskActivity> activities);
+    TaskActivity buildActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue);
     TaskActivity createActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue);
+    void awaitLogged(Long taskId);
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.railse.hiring.workforcemgmt.service;
+
+import com.railse.hiring.workforcemgmt.dto.TaskImportResultDto;
+
+import java.io.InputStream;
+
+public interface TaskImportService {
+
+    enum Format {
+        NDJSON,
+        CSV
+    }
+
+    TaskImportResultDto importTasks(InputStream input, Format format);
+}
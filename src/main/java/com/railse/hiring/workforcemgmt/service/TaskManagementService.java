@@ -1,17 +1,29 @@
 package com.railse.hiring.workforcemgmt.service;
 
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.model.enums.Priority;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TaskManagementService {
     List<TaskManagementDto> createTasks(TaskCreateRequest request);
+    /** Same as {@link #createTasks} for callers that do not need the tasks back; returns how many were created. */
+    int importTasks(TaskCreateRequest request);
     List<TaskManagementDto> updateTasks(UpdateTaskRequest request);
     String assignByReference(AssignByReferenceRequest request);
     List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request);
+    Page<TaskManagementDto> fetchTasksByDatePage(TaskFetchByDateRequest request);
+    Stream<TaskManagementDto> streamTasksByDate(TaskFetchByDateRequest request);
     TaskManagementDto findTaskById(Long id);
     TaskManagementDto updateTaskPriority(UpdatePriorityRequest request);
     List<TaskManagementDto> findTasksByPriority(Priority priority);
+    Page<TaskManagementDto> findTasksByPriorityPage(Priority priority, int limit, Long cursor);
+    Stream<TaskManagementDto> streamTasksByPriority(Priority priority, Long cursor);
+    List<TaskManagementDto> findOverdueTasks();
+    Page<TaskManagementDto> findOverdueTasksPage(int limit, Long cursor);
     TaskCommentDto addComment(AddCommentRequest request);
+    TaskStatsDto getTaskStats(List<Long> assigneeIds);
+    Page<TaskManagementDto> searchTasks(TaskSearchRequest request);
 }
\ No newline at end of file
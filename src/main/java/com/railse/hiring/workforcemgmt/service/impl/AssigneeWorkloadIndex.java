@@ -0,0 +1,161 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Live workload per assignee, for auto-assignment: the sum of the weights of the assignee's open (ASSIGNED/STARTED)
+ * tasks, where a task weighs its priority and counts double once its deadline is less than a day away. A repository
+ * save listener moves a task's weight when its status, assignee, priority or deadline changes, and a task that is not
+ * urgent yet when saved is doubled by a {@link TaskDeadlineScheduler#runAt} action when it enters the last day.
+ * Assignees are kept in a skip list ordered by load, so the least-loaded one is found in O(log n).
+ * Every assignee that ever had a task stays in the pool, with load 0 once their tasks are closed.
+ */
+@Component
+public class AssigneeWorkloadIndex {
+
+    private static final Duration URGENT_WITHIN = Duration.ofDays(1);
+
+    // urgentAt is the pending action that doubles the weight, null once it ran or when there is none
+    private record Contribution(Long assigneeId, long weight, long version, DeadlineWheel<Runnable>.Timeout urgentAt) {
+    }
+
+    private record Load(long load, long assigneeId) implements Comparable<Load> {
+        @Override
+        public int compareTo(Load other) {
+            int byLoad = Long.compare(load, other.load);
+            return byLoad != 0 ? byLoad : Long.compare(assigneeId, other.assigneeId);
+        }
+    }
+
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> loads = new ConcurrentHashMap<>();
+    private final NavigableSet<Load> byLoad = new ConcurrentSkipListSet<>();
+    private final TaskDeadlineScheduler taskDeadlineScheduler;
+
+    public AssigneeWorkloadIndex(TaskRepository taskRepository, TaskDeadlineScheduler taskDeadlineScheduler) {
+        this.taskDeadlineScheduler = taskDeadlineScheduler;
+        // Listen before the initial pass so no save falls in between; replays of the same version are no-ops
+        taskRepository.addSaveListener(this::track);
+        taskRepository.findAll().forEach(this::track);
+    }
+
+    /** Weight a task adds to its assignee's load while it is open. */
+    public static long weight(Priority priority, LocalDateTime deadline, LocalDateTime now) {
+        long weight = switch (priority != null ? priority : Priority.MEDIUM) {
+            case HIGH -> 4;
+            case MEDIUM -> 2;
+            case LOW -> 1;
+        };
+        return deadline != null && deadline.isBefore(now.plus(URGENT_WITHIN)) ? weight * 2 : weight;
+    }
+
+    public long loadOf(Long assigneeId) {
+        return loads.getOrDefault(assigneeId, 0L);
+    }
+
+    public int assigneeCount() {
+        return loads.size();
+    }
+
+    /**
+     * Picks the least-loaded assignee and adds {@code reservation} to their load in the same step, so concurrent
+     * callers spread out instead of all picking the same assignee before their tasks are saved. The reservation
+     * must be handed back with {@link #release} once the assigned tasks are saved.
+     */
+    public Optional<Long> reserveLeastLoaded(long reservation) {
+        while (true) {
+            // Assignees are never removed, so a non-empty pool stays non-empty
+            if (byLoad.isEmpty()) {
+                return Optional.empty();
+            }
+            Load least = byLoad.first();
+            boolean[] reserved = new boolean[1];
+            loads.computeIfPresent(least.assigneeId(), (id, load) -> {
+                // Someone else changed this load after first() was read; pick again
+                if (load != least.load()) {
+                    return load;
+                }
+                reserved[0] = true;
+                return move(id, load, load + reservation);
+            });
+            if (reserved[0]) {
+                return Optional.of(least.assigneeId());
+            }
+        }
+    }
+
+    public void release(Long assigneeId, long reservation) {
+        adjust(assigneeId, -reservation);
+    }
+
+    private void track(TaskManagement task) {
+        long version = task.getVersion() != null ? task.getVersion() : 0;
+        boolean open = task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deadline = task.getTaskDeadlineTime();
+        long weight = open ? weight(task.getPriority(), deadline, now) : 0;
+        boolean urgentLater = open && deadline != null && !deadline.isBefore(now.plus(URGENT_WITHIN));
+        contributions.compute(task.getId(), (id, previous) -> {
+            // Listeners of two saves of the same task can run out of order; never go back to an older version
+            if (previous != null && previous.version() > version) {
+                return previous;
+            }
+            DeadlineWheel<Runnable>.Timeout urgentAt = urgentLater
+                    ? taskDeadlineScheduler.runAt(deadline.minus(URGENT_WITHIN), () -> becameUrgent(id, version))
+                    : null;
+            Contribution current = new Contribution(task.getAssigneeId(), weight, version, urgentAt);
+            if (previous != null && previous.urgentAt() != null) {
+                previous.urgentAt().cancel();
+            }
+            if (previous != null && previous.assigneeId() != null) {
+                adjust(previous.assigneeId(), -previous.weight());
+            }
+            if (current.assigneeId() != null) {
+                adjust(current.assigneeId(), current.weight());
+            }
+            return current;
+        });
+    }
+
+    // A cancelled action can still run if it was already due, so only the contribution still waiting for it changes
+    private void becameUrgent(Long taskId, long version) {
+        contributions.computeIfPresent(taskId, (id, current) -> {
+            if (current.version() != version || current.urgentAt() == null) {
+                return current;
+            }
+            if (current.assigneeId() != null) {
+                adjust(current.assigneeId(), current.weight());
+            }
+            return new Contribution(current.assigneeId(), current.weight() * 2, version, null);
+        });
+    }
+
+    private void adjust(Long assigneeId, long delta) {
+        loads.compute(assigneeId, (id, load) -> move(id, load, (load != null ? load : 0) + delta));
+    }
+
+    // Runs inside compute on the assignee's entry, so only that call moves the assignee's Load. The new one is
+    // added before the old one is removed: a concurrent reader may see both, never neither.
+    private Long move(Long assigneeId, Long oldLoad, long newLoad) {
+        if (oldLoad != null && oldLoad == newLoad) {
+            return oldLoad;
+        }
+        byLoad.add(new Load(newLoad, assigneeId));
+        if (oldLoad != null) {
+            byLoad.remove(new Load(oldLoad, assigneeId));
+        }
+        return newLoad;
+    }
+}
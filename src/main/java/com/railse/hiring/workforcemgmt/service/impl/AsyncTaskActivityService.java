@@ -0,0 +1,307 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.service.TaskActivityService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link TaskActivityService} that takes activity writes off the request path: {@link #logActivity} and
+ * {@link #logActivities} only enqueue, and a single writer thread drains the bounded queue into
+ * {@link TaskActivityRepository#saveAll} in batches. What happens when the queue is full is set by
+ * {@link Backpressure}. Everything still queued is written on shutdown.
+ * <p>
+ * A batch whose write fails is retried with exponential backoff, up to
+ * {@code workforcemgmt.activity-log.max-write-attempts} times. If it still fails, its activities are saved one at a
+ * time so one bad entry cannot sink the rest; those that fail then are logged and counted in {@link #getLostCount()}.
+ * <p>
+ * With read-your-writes enabled, {@link #awaitLogged} blocks until no activity of the task is left in the queue,
+ * so {@code findTaskById} sees the activities of mutations that already returned.
+ * Enabled with {@code workforcemgmt.activity-log.mode=async}.
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "workforcemgmt.activity-log.mode", havingValue = "async")
+public class AsyncTaskActivityService implements TaskActivityService {
+
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5_000;
+
+    public enum Backpressure {
+        /** Wait for space in the queue. */
+        BLOCK,
+        /** Discard the activity and count it in {@link #getDroppedCount()}. */
+        DROP,
+        /** Write the activity on the calling thread; it may then be stored ahead of older queued entries. */
+        CALLER_RUNS
+    }
+
+    private final TaskActivityServiceImpl delegate;
+    private final TaskActivityRepository taskActivityRepository;
+    private final BlockingQueue<TaskActivity> queue;
+    private final int maxBatchSize;
+    private final Backpressure backpressure;
+    private final boolean readYourWrites;
+    private final long readYourWritesTimeoutMillis;
+    private final int maxWriteAttempts;
+    private final long retryBackoffMillis;
+
+    // Queued-but-unwritten activities per task, for read-your-writes
+    private final Map<Long, Integer> pendingByTask = new ConcurrentHashMap<>();
+    private final ReentrantLock writtenLock = new ReentrantLock();
+    private final Condition written = writtenLock.newCondition();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final Thread writer;
+    // Enqueuers hold the read lock from the running check until the activity is queued; shutdown takes the write
+    // lock to stop, so no activity can be queued after the final drain
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public AsyncTaskActivityService(TaskActivityServiceImpl delegate,
+                                    TaskActivityRepository taskActivityRepository,
+                                    WorkerThreads workerThreads,
+                                    @Value("${workforcemgmt.activity-log.queue-capacity:65536}") int queueCapacity,
+                                    @Value("${workforcemgmt.activity-log.max-batch-size:1024}") int maxBatchSize,
+                                    @Value("${workforcemgmt.activity-log.backpressure:BLOCK}") Backpressure backpressure,
+                                    @Value("${workforcemgmt.activity-log.read-your-writes:true}") boolean readYourWrites,
+                                    @Value("${workforcemgmt.activity-log.read-your-writes-timeout-millis:5000}") long readYourWritesTimeoutMillis,
+                                    @Value("${workforcemgmt.activity-log.max-write-attempts:5}") int maxWriteAttempts,
+                                    @Value("${workforcemgmt.activity-log.retry-backoff-millis:100}") long retryBackoffMillis) {
+        this.delegate = delegate;
+        this.taskActivityRepository = taskActivityRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.backpressure = backpressure;
+        this.readYourWrites = readYourWrites;
+        this.readYourWritesTimeoutMillis = readYourWritesTimeoutMillis;
+        this.maxWriteAttempts = Math.max(1, maxWriteAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.writer = workerThreads.newThread("activity-writer", this::drainLoop);
+        writer.start();
+    }
+
+    @Override
+    public void logActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue) {
+        enqueue(buildActivity(taskId, activityType, description, userId, oldValue, newValue));
+    }
+
+    @Override
+    public void logActivities(List<TaskActivity> activities) {
+        activities.forEach(this::enqueue);
+    }
+
+    // Callers of createActivity want the saved entry back, so it bypasses the queue
+    @Override
+    public TaskActivity createActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue) {
+        return delegate.createActivity(taskId, activityType, description, userId, oldValue, newValue);
+    }
+
+    @Override
+    public TaskActivity buildActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue) {
+        return delegate.buildActivity(taskId, activityType, description, userId, oldValue, newValue);
+    }
+
+    @Override
+    public void awaitLogged(Long taskId) {
+        if (!readYourWrites || !pendingByTask.containsKey(taskId)) {
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(readYourWritesTimeoutMillis);
+        writtenLock.lock();
+        try {
+            while (pendingByTask.containsKey(taskId) && remaining > 0) {
+                remaining = written.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writtenLock.unlock();
+        }
+        if (remaining <= 0) {
+            log.warn("Timed out waiting for queued activities of task {}", taskId);
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Failed batch and single-activity writes, retried or not. */
+    public long getFailedWriteCount() {
+        return failedWrites.sum();
+    }
+
+    /** Activities given up on after every write attempt failed. */
+    public long getLostCount() {
+        return lost.sum();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /** Stops the writer once everything queued so far is written; later activities are saved on the caller. */
+    @PreDestroy
+    public void shutdown() {
+        stateLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<TaskActivity> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        write(remaining);
+    }
+
+    private void enqueue(TaskActivity activity) {
+        stateLock.readLock().lock();
+        try {
+            if (running) {
+                queue(activity);
+                return;
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        taskActivityRepository.save(activity);
+    }
+
+    // A BLOCK put waits here with the read lock held; the writer keeps draining until shutdown has the write lock
+    private void queue(TaskActivity activity) {
+        pendingByTask.merge(activity.getTaskId(), 1, Integer::sum);
+        boolean queued = switch (backpressure) {
+            case BLOCK -> put(activity);
+            case DROP, CALLER_RUNS -> queue.offer(activity);
+        };
+        if (queued) {
+            return;
+        }
+        markWritten(activity);
+        if (backpressure == Backpressure.CALLER_RUNS) {
+            taskActivityRepository.save(activity);
+        } else {
+            dropped.increment();
+            log.debug("Activity queue full, dropped {} activity of task {}", activity.getActivityType(), activity.getTaskId());
+        }
+    }
+
+    private boolean put(TaskActivity activity) {
+        try {
+            queue.put(activity);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<TaskActivity> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                TaskActivity first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                // Later activities are saved on the caller, whatever is still queued is written by shutdown
+                Thread.currentThread().interrupt();
+                running = false;
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<TaskActivity> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            saveWithRetries(batch);
+        } finally {
+            batch.forEach(this::markWritten);
+            writtenLock.lock();
+            try {
+                written.signalAll();
+            } finally {
+                writtenLock.unlock();
+            }
+        }
+    }
+
+    // Retrying is safe: a failed saveAll hands new entries back without ids, and entries that kept theirs are upserts
+    private void saveWithRetries(List<TaskActivity> batch) {
+        long backoffMillis = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                taskActivityRepository.saveAll(batch);
+                return;
+            } catch (RuntimeException e) {
+                failedWrites.increment();
+                if (attempt >= maxWriteAttempts || !backOff(backoffMillis)) {
+                    log.warn("Failed to write {} queued activities in {} attempts, saving them one at a time",
+                            batch.size(), attempt, e);
+                    break;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+            }
+        }
+        for (TaskActivity activity : batch) {
+            try {
+                taskActivityRepository.save(activity);
+            } catch (RuntimeException e) {
+                failedWrites.increment();
+                lost.increment();
+                log.error("Lost {} activity of task {}", activity.getActivityType(), activity.getTaskId(), e);
+            }
+        }
+    }
+
+    // False if interrupted, which means shutdown: no more waiting
+    private static boolean backOff(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void markWritten(TaskActivity activity) {
+        pendingByTask.computeIfPresent(activity.getTaskId(),
+                (taskId, pending) -> pending == 1 ? null : pending - 1);
+    }
+}
@@ -0,0 +1,131 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.BulkAssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.BulkAssignResultDto;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.service.BulkAssignmentService;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies many assign-by-reference entries in one call. Entries are grouped by (reference_id, reference_type); when a
+ * reference appears more than once the last entry wins, as it would after the same calls in sequence. Each reference
+ * then goes through {@link TaskManagementService#assignByReference}, so the reassign/cancel-duplicate semantics and
+ * per-reference locking are unchanged, while different references run in parallel on up to
+ * {@code workforcemgmt.bulk-assign.parallelism} threads, the calling thread included.
+ */
+@Service
+public class BulkAssignmentServiceImpl implements BulkAssignmentService {
+
+    private record ReferenceKey(Long referenceId, ReferenceType referenceType) {
+    }
+
+    private static final class ReferenceGroup {
+        private final ReferenceKey key;
+        private AssignByReferenceRequest last;
+        private int entries;
+
+        private ReferenceGroup(ReferenceKey key) {
+            this.key = key;
+        }
+    }
+
+    private final TaskManagementService taskManagementService;
+    private final ExecutorService workers;
+    private final int parallelism;
+    private final Timer assignByReferencesTimer;
+
+    public BulkAssignmentServiceImpl(TaskManagementService taskManagementService,
+                                     WorkerThreads workerThreads,
+                                     @Value("${workforcemgmt.bulk-assign.parallelism:0}") int parallelism,
+                                     ServiceTimers serviceTimers) {
+        this.taskManagementService = taskManagementService;
+        this.workers = workerThreads.newExecutor("bulk-assign");
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.assignByReferencesTimer = serviceTimers.timer(BulkAssignmentService.class, "assignByReferences", this);
+    }
+
+    @Override
+    public BulkAssignResultDto assignByReferences(BulkAssignByReferenceRequest request) {
+        long started = System.nanoTime();
+        Map<ReferenceKey, ReferenceGroup> groups = new LinkedHashMap<>();
+        if (request.getRequests() != null) {
+            for (AssignByReferenceRequest entry : request.getRequests()) {
+                ReferenceGroup group = groups.computeIfAbsent(
+                        new ReferenceKey(entry.getReferenceId(), entry.getReferenceType()), ReferenceGroup::new);
+                group.last = entry;
+                group.entries++;
+            }
+        }
+
+        List<ReferenceGroup> pending = new ArrayList<>(groups.values());
+        BulkAssignResultDto.ReferenceOutcome[] outcomes = new BulkAssignResultDto.ReferenceOutcome[pending.size()];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < outcomes.length; i = next.getAndIncrement()) {
+                outcomes[i] = assign(pending.get(i));
+            }
+        };
+        int helpers = Math.min(parallelism, outcomes.length) - 1;
+        List<CompletableFuture<Void>> running = new ArrayList<>(Math.max(helpers, 0));
+        for (int i = 0; i < helpers; i++) {
+            running.add(CompletableFuture.runAsync(worker, workers));
+        }
+        worker.run();
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+
+        BulkAssignResultDto result = new BulkAssignResultDto();
+        result.setResults(List.of(outcomes));
+        int succeeded = 0;
+        for (BulkAssignResultDto.ReferenceOutcome outcome : outcomes) {
+            if (outcome.isSuccess()) {
+                succeeded++;
+            }
+        }
+        result.setSucceeded(succeeded);
+        result.setFailed(outcomes.length - succeeded);
+        long elapsed = System.nanoTime() - started;
+        assignByReferencesTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private BulkAssignResultDto.ReferenceOutcome assign(ReferenceGroup group) {
+        AssignByReferenceRequest entry = group.last;
+        String error = null;
+        String message = null;
+        if (entry.getReferenceId() == null || entry.getReferenceType() == null) {
+            error = "reference_id and reference_type are required";
+        } else if (entry.getAssigneeId() == null && !Boolean.TRUE.equals(entry.getAutoAssign())) {
+            error = "assignee_id is required unless auto_assign is set";
+        } else {
+            try {
+                message = taskManagementService.assignByReference(entry);
+            } catch (RuntimeException e) {
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+        }
+        return new BulkAssignResultDto.ReferenceOutcome(group.key.referenceId(), group.key.referenceType(),
+                group.entries, error == null, error == null ? message : error);
+    }
+}
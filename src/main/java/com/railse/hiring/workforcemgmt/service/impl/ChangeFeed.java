@@ -0,0 +1,198 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.dto.ChangeBatchDto;
+import com.railse.hiring.workforcemgmt.dto.ChangeEventDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapper;
+import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapper;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory change feed: every task, activity and comment save is appended, through the repositories' save
+ * listeners, to a fixed-size ring of sequenced events. Appending claims a sequence number and fills its slot
+ * without locking, so writers never wait for readers; the oldest events are overwritten, and a reader whose
+ * position was overwritten gets a resync batch instead of silently missing changes.
+ * Ring size is {@code workforcemgmt.change-feed.capacity}, rounded up to a power of two.
+ */
+@Component
+public class ChangeFeed {
+
+    /** A sequenced save; {@code model} is the saved TaskManagement, TaskActivity or TaskComment itself. */
+    public record ChangeEvent(long seq, ChangeEntityType entityType, Long entityId, Long taskId,
+                              LocalDateTime changedAt, Object model) {
+    }
+
+    private final ITaskManagementMapper taskMapper;
+    private final ITaskActivityMapper activityMapper;
+    private final ITaskCommentMapper commentMapper;
+    private final AtomicReferenceArray<ChangeEvent> ring;
+    private final int mask;
+    private final AtomicLong lastSeq = new AtomicLong();
+    // Created by the first waiter and taken by the next append, which leaves null behind; appends with nobody
+    // waiting only read it
+    private final AtomicReference<CompletableFuture<Void>> appended = new AtomicReference<>();
+    private final ExecutorService notifier;
+
+    public ChangeFeed(TaskRepository taskRepository,
+                      TaskActivityRepository taskActivityRepository,
+                      TaskCommentRepository taskCommentRepository,
+                      ITaskManagementMapper taskMapper,
+                      ITaskActivityMapper activityMapper,
+                      ITaskCommentMapper commentMapper,
+                      WorkerThreads workerThreads,
+                      @Value("${workforcemgmt.change-feed.capacity:65536}") int capacity) {
+        this.taskMapper = taskMapper;
+        this.activityMapper = activityMapper;
+        this.commentMapper = commentMapper;
+        this.notifier = workerThreads.newExecutor("change-feed");
+        int size = Math.max(1, Integer.highestOneBit(Math.max(1, capacity) - 1) << 1);
+        this.ring = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        taskRepository.addSaveListener(this::taskSaved);
+        taskActivityRepository.addSaveListener(this::activitySaved);
+        taskCommentRepository.addSaveListener(this::commentSaved);
+    }
+
+    /** Sequence number of the latest appended event, 0 before the first. */
+    public long lastSeq() {
+        return lastSeq.get();
+    }
+
+    /**
+     * Up to {@code limit} events after {@code since}, in sequence order. A batch stops early at an event whose
+     * writer has claimed its number but not filled the slot yet; it is returned by the next read.
+     */
+    public ChangeBatchDto read(long since, int limit) {
+        List<ChangeEvent> events = readEvents(since, limit);
+        if (events == null) {
+            return resync(lastSeq.get());
+        }
+        ChangeBatchDto batch = new ChangeBatchDto();
+        batch.setEvents(events.stream().map(this::toDto).toList());
+        batch.setNextSince(events.isEmpty() ? since : events.get(events.size() - 1).seq());
+        return batch;
+    }
+
+    /**
+     * Same events as {@link #read}, holding the saved models rather than DTOs, for consumers that apply them to
+     * another store. Null when {@code since} is no longer in the ring.
+     */
+    public List<ChangeEvent> readEvents(long since, int limit) {
+        long last = lastSeq.get();
+        long oldest = last - ring.length() + 1;
+        if (since > last || since + 1 < oldest) {
+            return null;
+        }
+        List<ChangeEvent> events = new ArrayList<>();
+        for (long seq = since + 1; seq <= last && events.size() < limit; seq++) {
+            ChangeEvent event = ring.get((int) (seq & mask));
+            if (event == null || event.seq() < seq) {
+                break;
+            }
+            if (event.seq() > seq) {
+                // Overwritten while reading
+                return null;
+            }
+            events.add(event);
+        }
+        return events;
+    }
+
+    /**
+     * Token that completes, on a notifier thread, after the next append. Take it before {@link #read} and pass it to
+     * {@link #whenAppended} only if the read came back empty, so an append in between is not missed.
+     */
+    public CompletionStage<Void> nextAppend() {
+        CompletableFuture<Void> next = appended.get();
+        return next != null ? next
+                : appended.updateAndGet(current -> current != null ? current : new CompletableFuture<>());
+    }
+
+    /** Runs {@code task} on a notifier thread once {@code token} completes, never on the appending writer. */
+    public void whenAppended(CompletionStage<Void> token, Runnable task) {
+        token.thenRunAsync(task, notifier);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        notifier.shutdownNow();
+    }
+
+    private void taskSaved(TaskManagement task) {
+        append(ChangeEntityType.TASK, task.getId(), task.getId(), task);
+    }
+
+    private void activitySaved(TaskActivity activity) {
+        append(ChangeEntityType.ACTIVITY, activity.getId(), activity.getTaskId(), activity);
+    }
+
+    private void commentSaved(TaskComment comment) {
+        append(ChangeEntityType.COMMENT, comment.getId(), comment.getTaskId(), comment);
+    }
+
+    // Stores the saved model and maps it on read, keeping the write path to a counter bump and a slot write
+    private void append(ChangeEntityType entityType, Long entityId, Long taskId, Object model) {
+        long seq = lastSeq.incrementAndGet();
+        ring.set((int) (seq & mask), new ChangeEvent(seq, entityType, entityId, taskId, LocalDateTime.now(), model));
+        if (appended.get() != null) {
+            wakeWaiters(appended.getAndSet(null));
+        }
+    }
+
+    // Completing wakes blocked waiters, so it runs on a notifier thread rather than the saving writer's
+    private void wakeWaiters(CompletableFuture<Void> waiters) {
+        if (waiters == null) {
+            return;
+        }
+        try {
+            notifier.execute(() -> waiters.complete(null));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            waiters.complete(null);
+        }
+    }
+
+    private ChangeEventDto toDto(ChangeEvent event) {
+        ChangeEventDto dto = new ChangeEventDto();
+        dto.setSeq(event.seq());
+        dto.setEntityType(event.entityType());
+        dto.setEntityId(event.entityId());
+        dto.setTaskId(event.taskId());
+        dto.setChangedAt(event.changedAt());
+        dto.setData(switch (event.entityType()) {
+            case TASK -> taskMapper.modelToDto((TaskManagement) event.model());
+            case ACTIVITY -> activityMapper.modelToDto((TaskActivity) event.model());
+            case COMMENT -> commentMapper.modelToDto((TaskComment) event.model());
+        });
+        return dto;
+    }
+
+    private static ChangeBatchDto resync(long last) {
+        ChangeBatchDto batch = new ChangeBatchDto();
+        batch.setEvents(List.of());
+        batch.setNextSince(last);
+        batch.setResync(true);
+        return batch;
+    }
+}
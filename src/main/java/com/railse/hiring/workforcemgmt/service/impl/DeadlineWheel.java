@@ -0,0 +1,174 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel of {@code wheelSize} buckets, each covering {@code tickMillis}. A timeout goes into the bucket
+ * of its deadline tick and carries the number of full rotations still to wait, so a bucket only holds the timeouts
+ * that share its slot. {@link #schedule} and {@link Timeout#cancel} are O(1) from any thread: they just enqueue.
+ * The single thread calling {@link #advance} links and unlinks them and expires whole buckets; a timeout never
+ * expires before its deadline and at most one tick after it.
+ */
+final class DeadlineWheel<T> {
+
+    final class Timeout {
+        private final T payload;
+        private final long deadlineMillis;
+        private volatile boolean cancelled;
+        // Owned by the advancing thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(T payload, long deadlineMillis) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        T payload() {
+            return payload;
+        }
+
+        long deadlineMillis() {
+            return deadlineMillis;
+        }
+
+        void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                cancellations.add(this);
+            }
+        }
+    }
+
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            size.decrementAndGet();
+        }
+
+        void expire(Consumer<Timeout> expired) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.cancelled) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    expired.accept(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Bucket> buckets;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicLong size = new AtomicLong();
+    // Next tick to expire; only touched by the advancing thread
+    private long tick;
+
+    DeadlineWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        // Round up to a power of two so the bucket of a tick is a mask away
+        int capacity = Math.max(1, Integer.highestOneBit(wheelSize - 1) << 1);
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new ArrayList<>(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            buckets.add(new Bucket());
+        }
+    }
+
+    Timeout schedule(T payload, long deadlineMillis) {
+        Timeout timeout = new Timeout(payload, deadlineMillis);
+        size.incrementAndGet();
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /** Timeouts scheduled and neither expired nor cancelled yet, counting cancellations not yet processed. */
+    long size() {
+        return size.get();
+    }
+
+    /** Wall-clock time at which the next bucket is due. */
+    long nextTickMillis() {
+        return startMillis + (tick + 1) * tickMillis;
+    }
+
+    /** Expires every bucket whose tick has ended by {@code nowMillis}, handing due timeouts to {@code expired}. */
+    void advance(long nowMillis, Consumer<Timeout> expired) {
+        while (nextTickMillis() <= nowMillis) {
+            transferPending();
+            processCancellations();
+            buckets.get((int) (tick & mask)).expire(expired);
+            tick++;
+        }
+    }
+
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.cancelled) {
+                size.decrementAndGet();
+                continue;
+            }
+            // Deadlines already in the past land in the bucket about to expire
+            long deadlineTick = Math.max(tick, Math.floorDiv(timeout.deadlineMillis - startMillis, tickMillis));
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.size();
+            buckets.get((int) (deadlineTick & mask)).add(timeout);
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            // Still pending or already expired timeouts are not in a bucket
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Rows read from the repository versus rows kept by the service-side filter, per finder. A low returned/scanned
+ * ratio means the repository hands back many rows the finder throws away. Plain adders, so the hot path does not
+ * depend on a metrics library; metrics read them on scrape.
+ */
+@Component
+public class FinderScanCounters {
+
+    public enum Finder {
+        FETCH_BY_DATE,
+        PRIORITY
+    }
+
+    private final LongAdder[] scanned = newAdders();
+    private final LongAdder[] returned = newAdders();
+
+    public void record(Finder finder, long scannedRows, long returnedRows) {
+        scanned[finder.ordinal()].add(scannedRows);
+        returned[finder.ordinal()].add(returnedRows);
+    }
+
+    /** Wraps a stream filter so every row it sees is counted; for lazily consumed streams. */
+    public <T> Predicate<T> counting(Finder finder, Predicate<T> filter) {
+        LongAdder scannedRows = scanned[finder.ordinal()];
+        LongAdder returnedRows = returned[finder.ordinal()];
+        return row -> {
+            scannedRows.increment();
+            boolean keep = filter.test(row);
+            if (keep) {
+                returnedRows.increment();
+            }
+            return keep;
+        };
+    }
+
+    public long scanned(Finder finder) {
+        return scanned[finder.ordinal()].sum();
+    }
+
+    public long returned(Finder finder) {
+        return returned[finder.ordinal()].sum();
+    }
+
+    private static LongAdder[] newAdders() {
+        LongAdder[] adders = new LongAdder[Finder.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,156 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of task ids for one key of the {@link TaskSearchIndex}, stored as a list of sorted long blocks of at
+ * most {@link #BLOCK_SIZE} ids. Adding or removing an id shifts one block only, so a status change of an old task
+ * does not move a list holding millions of ids, and a reader skips whole blocks by their last id. Ids mostly come in
+ * increasing order, so a full last block is followed by a new one rather than split. Not thread-safe; the index
+ * guards it.
+ */
+final class PostingList {
+
+    static final long NO_MORE = Long.MAX_VALUE;
+    static final int BLOCK_SIZE = 1024;
+
+    private long[][] blocks = new long[1][];
+    private int[] blockSizes = new int[1];
+    private int blockCount;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(long id) {
+        if (blockCount == 0) {
+            blocks[0] = new long[]{id, 0, 0, 0};
+            blockSizes[0] = 1;
+            blockCount = 1;
+            size = 1;
+            return;
+        }
+        int block = Math.min(blockEndingAtOrAfter(id, 0), blockCount - 1);
+        int at = Arrays.binarySearch(blocks[block], 0, blockSizes[block], id);
+        if (at >= 0) {
+            return;
+        }
+        at = -at - 1;
+        if (blockSizes[block] == BLOCK_SIZE) {
+            if (block == blockCount - 1 && at == BLOCK_SIZE) {
+                insertBlock(blockCount, new long[]{id, 0, 0, 0}, 1);
+                size++;
+                return;
+            }
+            split(block);
+            if (at > BLOCK_SIZE / 2) {
+                block++;
+                at -= BLOCK_SIZE / 2;
+            }
+        }
+        long[] ids = blocks[block];
+        int blockSize = blockSizes[block];
+        if (blockSize == ids.length) {
+            ids = blocks[block] = Arrays.copyOf(ids, Math.min(BLOCK_SIZE, blockSize * 2));
+        }
+        System.arraycopy(ids, at, ids, at + 1, blockSize - at);
+        ids[at] = id;
+        blockSizes[block]++;
+        size++;
+    }
+
+    void remove(long id) {
+        int block = blockEndingAtOrAfter(id, 0);
+        if (block == blockCount) {
+            return;
+        }
+        long[] ids = blocks[block];
+        int blockSize = blockSizes[block];
+        int at = Arrays.binarySearch(ids, 0, blockSize, id);
+        if (at < 0) {
+            return;
+        }
+        System.arraycopy(ids, at + 1, ids, at, blockSize - at - 1);
+        blockSizes[block]--;
+        size--;
+        if (blockSizes[block] == 0) {
+            System.arraycopy(blocks, block + 1, blocks, block, blockCount - block - 1);
+            System.arraycopy(blockSizes, block + 1, blockSizes, block, blockCount - block - 1);
+            blocks[--blockCount] = null;
+        }
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    // First block at or after from whose last id is >= id, or blockCount
+    private int blockEndingAtOrAfter(long id, int from) {
+        int low = from;
+        int high = blockCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid][blockSizes[mid] - 1] < id) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void split(int block) {
+        long[] ids = blocks[block];
+        long[] upper = Arrays.copyOfRange(ids, BLOCK_SIZE / 2, BLOCK_SIZE);
+        blockSizes[block] = BLOCK_SIZE / 2;
+        insertBlock(block + 1, upper, upper.length);
+    }
+
+    private void insertBlock(int at, long[] ids, int blockSize) {
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            blockSizes = Arrays.copyOf(blockSizes, blockCount * 2);
+        }
+        System.arraycopy(blocks, at, blocks, at + 1, blockCount - at);
+        System.arraycopy(blockSizes, at, blockSizes, at + 1, blockCount - at);
+        blocks[at] = ids;
+        blockSizes[at] = blockSize;
+        blockCount++;
+    }
+
+    /** Forward-only reader; the list must not change while it is in use. */
+    final class Cursor {
+        private int block;
+        private int position;
+
+        /** The smallest id >= target, or {@link #NO_MORE}; targets must not decrease between calls. */
+        long advance(long target) {
+            while (block < blockCount) {
+                long[] ids = blocks[block];
+                int blockSize = blockSizes[block];
+                if (ids[blockSize - 1] >= target) {
+                    if (ids[position] < target) {
+                        position = gallop(ids, blockSize, position, target);
+                    }
+                    return ids[position];
+                }
+                block = blockEndingAtOrAfter(target, block + 1);
+                position = 0;
+            }
+            return NO_MORE;
+        }
+
+        // Doubling steps from the current position, then a binary search of the last step; ids[size - 1] >= target
+        private static int gallop(long[] ids, int size, int from, long target) {
+            int low = from;
+            int step = 1;
+            while (low + step < size && ids[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(ids, low + 1, Math.min(low + step + 1, size), target);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
 import com.railse.hiring.workforcemgmt.service.TaskActivityService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class TaskActivityServiceImpl implements TaskActivityService {
 
@@ -20,8 +22,25 @@ public class TaskActivityServiceImpl implements TaskActivityService {
         createActivity(taskId, activityType, description, userId, oldValue, newValue);
     }
 
+    @Override
+    public void logActivities(List<TaskActivity> activities) {
+        if (!activities.isEmpty()) {
+            taskActivityRepository.saveAll(activities);
+        }
+    }
+
     @Override
     public TaskActivity createActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue) {
+        return taskActivityRepository.save(buildActivity(taskId, activityType, description, userId, oldValue, newValue));
+    }
+
+    // Activities are saved before logActivity returns, so there is never anything to wait for
+    @Override
+    public void awaitLogged(Long taskId) {
+    }
+
+    @Override
+    public TaskActivity buildActivity(Long taskId, ActivityType activityType, String description, Long userId, String oldValue, String newValue) {
         TaskActivity activity = new TaskActivity();
         activity.setTaskId(taskId);
         activity.setActivityType(activityType);
@@ -29,6 +48,6 @@ public class TaskActivityServiceImpl implements TaskActivityService {
         activity.setUserId(userId);
         activity.setOldValue(oldValue);
         activity.setNewValue(newValue);
-        return taskActivityRepository.save(activity);
+        return activity;
     }
 }
\ No newline at end of file
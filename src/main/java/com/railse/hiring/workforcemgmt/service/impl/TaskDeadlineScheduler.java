@@ -0,0 +1,197 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskActivityService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Tracks the deadline of every open (ASSIGNED/STARTED) task in a {@link DeadlineWheel}. A repository save listener
+ * schedules, moves or cancels the task's timeout when its status or deadline changes, so the store is read once at
+ * startup and never polled. When a deadline passes the task is marked overdue and a {@code TASK_OVERDUE} activity
+ * is logged, unless the task already has one for that deadline (a restart replays the log and finds the same
+ * deadlines passed again); it stays overdue until it is closed or given a new deadline.
+ * Disabled with {@code workforcemgmt.deadlines.enabled=false}. A read replica tracks overdue tasks too but leaves
+ * logging {@code TASK_OVERDUE} to its primary, whose activity it receives like any other.
+ * <p>
+ * The same thread runs actions other components schedule with {@link #runAt}, from a second wheel of the same shape.
+ */
+@Slf4j
+@Component
+public class TaskDeadlineScheduler {
+
+    // timeout is null once the deadline has passed
+    private record Deadline(long version, LocalDateTime deadline, DeadlineWheel<Long>.Timeout timeout) {
+    }
+
+    private final TaskActivityService taskActivityService;
+    private final TaskActivityRepository taskActivityRepository;
+    private final DeadlineWheel<Long> wheel;
+    private final DeadlineWheel<Runnable> actions;
+    private final Map<Long, Deadline> deadlines = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> overdueIds = new ConcurrentSkipListSet<>();
+    private final Thread ticker;
+    private final boolean logsOverdue;
+    private volatile boolean running = true;
+
+    public TaskDeadlineScheduler(TaskRepository taskRepository,
+                                 TaskActivityService taskActivityService,
+                                 TaskActivityRepository taskActivityRepository,
+                                 WorkerThreads workerThreads,
+                                 @Value("${workforcemgmt.deadlines.enabled:true}") boolean enabled,
+                                 @Value("${workforcemgmt.deadlines.tick-millis:1000}") long tickMillis,
+                                 @Value("${workforcemgmt.deadlines.wheel-size:512}") int wheelSize,
+                                 @Value("${workforcemgmt.replication.role:none}") String replicationRole) {
+        this.taskActivityService = taskActivityService;
+        this.taskActivityRepository = taskActivityRepository;
+        this.logsOverdue = !"replica".equals(replicationRole);
+        long startMillis = System.currentTimeMillis();
+        this.wheel = new DeadlineWheel<>(tickMillis, wheelSize, startMillis);
+        this.actions = new DeadlineWheel<>(tickMillis, wheelSize, startMillis);
+        if (!enabled) {
+            this.ticker = null;
+            return;
+        }
+        // Listen before the initial pass so no save falls in between; replays of the same version are no-ops
+        taskRepository.addSaveListener(this::track);
+        taskRepository.findAll().forEach(this::track);
+        this.ticker = workerThreads.newThread("task-deadline-wheel", this::tickLoop);
+        ticker.start();
+    }
+
+    /** Ids of the tasks whose deadline has passed while open, in ascending order after {@code afterId}. */
+    public Stream<Long> overdueTaskIds(Long afterId) {
+        return (afterId != null ? overdueIds.tailSet(afterId, false) : overdueIds).stream();
+    }
+
+    /**
+     * Runs {@code action} on the wheel thread once {@code at} has passed, unless the returned timeout is cancelled
+     * first. With deadlines disabled nothing runs and null is returned.
+     */
+    DeadlineWheel<Runnable>.Timeout runAt(LocalDateTime at, Runnable action) {
+        return ticker != null ? actions.schedule(action, toEpochMillis(at)) : null;
+    }
+
+    public long getScheduledCount() {
+        return wheel.size();
+    }
+
+    public int getOverdueCount() {
+        return overdueIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (ticker != null) {
+            LockSupport.unpark(ticker);
+        }
+    }
+
+    private void track(TaskManagement task) {
+        long version = task.getVersion() != null ? task.getVersion() : 0;
+        LocalDateTime deadline = isOpen(task) ? task.getTaskDeadlineTime() : null;
+        deadlines.compute(task.getId(), (id, current) -> {
+            // Listeners of two saves of the same task can run out of order; never go back to an older version
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            if (current != null && deadline != null && deadline.equals(current.deadline())) {
+                return new Deadline(version, deadline, current.timeout());
+            }
+            if (current != null) {
+                if (current.timeout() != null) {
+                    current.timeout().cancel();
+                }
+                overdueIds.remove(id);
+            }
+            return deadline != null ? new Deadline(version, deadline, wheel.schedule(id, toEpochMillis(deadline))) : null;
+        });
+    }
+
+    private void tickLoop() {
+        List<DeadlineWheel<Long>.Timeout> expired = new ArrayList<>();
+        List<DeadlineWheel<Runnable>.Timeout> due = new ArrayList<>();
+        while (running) {
+            long waitMillis = wheel.nextTickMillis() - System.currentTimeMillis();
+            if (waitMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                continue;
+            }
+            long now = System.currentTimeMillis();
+            wheel.advance(now, expired::add);
+            actions.advance(now, due::add);
+            for (DeadlineWheel<Long>.Timeout timeout : expired) {
+                try {
+                    markOverdue(timeout);
+                } catch (RuntimeException e) {
+                    log.error("Failed to mark task {} overdue", timeout.payload(), e);
+                }
+            }
+            expired.clear();
+            for (DeadlineWheel<Runnable>.Timeout action : due) {
+                try {
+                    action.payload().run();
+                } catch (RuntimeException e) {
+                    log.error("Scheduled action failed", e);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    private void markOverdue(DeadlineWheel<Long>.Timeout timeout) {
+        Long taskId = timeout.payload();
+        LocalDateTime[] passed = new LocalDateTime[1];
+        deadlines.computeIfPresent(taskId, (id, current) -> {
+            // A save may have moved or cleared the deadline after this timeout was taken off the wheel
+            if (current.timeout() != timeout) {
+                return current;
+            }
+            overdueIds.add(id);
+            passed[0] = current.deadline();
+            return new Deadline(current.version(), current.deadline(), null);
+        });
+        if (passed[0] != null && logsOverdue && !alreadyLoggedOverdue(taskId, passed[0].toString())) {
+            taskActivityService.logActivity(taskId, ActivityType.TASK_OVERDUE,
+                    "Task deadline passed", null, null, passed[0].toString());
+        }
+    }
+
+    private boolean alreadyLoggedOverdue(Long taskId, String deadline) {
+        for (TaskActivity activity : taskActivityRepository.findByTaskId(taskId)) {
+            if (activity.getActivityType() == ActivityType.TASK_OVERDUE && deadline.equals(activity.getNewValue())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isOpen(TaskManagement task) {
+        return task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,64 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Size-bounded (W-TinyLFU) cache of assembled task detail views, i.e. the task with its activities and comments.
+ * Entries are dropped by save listeners on the task, activity and comment repositories, which run after the write
+ * is visible; an invalidation racing with a load waits for the load and then removes its result, so a stale view
+ * is never left behind. Disabled with {@code workforcemgmt.task-cache.enabled=false}.
+ */
+@Component
+public class TaskDetailCache {
+
+    private final Cache<Long, TaskManagementDto> cache;
+
+    public TaskDetailCache(TaskRepository taskRepository,
+                           TaskActivityRepository taskActivityRepository,
+                           TaskCommentRepository taskCommentRepository,
+                           @Value("${workforcemgmt.task-cache.enabled:true}") boolean enabled,
+                           @Value("${workforcemgmt.task-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = enabled ? Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build() : null;
+        if (enabled) {
+            taskRepository.addSaveListener(task -> cache.invalidate(task.getId()));
+            taskActivityRepository.addSaveListener(activity -> cache.invalidate(activity.getTaskId()));
+            taskCommentRepository.addSaveListener(comment -> cache.invalidate(comment.getTaskId()));
+        }
+    }
+
+    /** Returns the cached view of {@code taskId}, assembling it with {@code loader} on a miss. */
+    public TaskManagementDto get(Long taskId, Function<Long, TaskManagementDto> loader) {
+        return cache != null ? cache.get(taskId, loader) : loader.apply(taskId);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", isEnabled());
+        if (cache != null) {
+            CacheStats snapshot = cache.stats();
+            stats.put("size", cache.estimatedSize());
+            stats.put("hits", snapshot.hitCount());
+            stats.put("misses", snapshot.missCount());
+            stats.put("hit_rate", snapshot.hitRate());
+            stats.put("evictions", snapshot.evictionCount());
+            stats.put("load_failures", snapshot.loadFailureCount());
+        }
+        return stats;
+    }
+}
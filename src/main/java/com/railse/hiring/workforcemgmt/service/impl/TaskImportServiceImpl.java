@@ -0,0 +1,256 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.TaskCreateRequest;
+import com.railse.hiring.workforcemgmt.dto.TaskImportResultDto;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.service.TaskImportService;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an NDJSON or CSV upload into the task store. The calling thread only splits the input into chunks of
+ * lines; a fixed pool of {@code workforcemgmt.import.parallelism} workers (one per CPU by default) parses and
+ * validates each chunk and creates its tasks with one {@code importTasks} call, which saves them in one batch (split
+ * per shard when sharding is on) without mapping them back to DTOs. The reader waits while every worker has a chunk, and only the first
+ * errors by line number are kept, so memory does not grow with the size of the upload.
+ * CSV input needs a header naming the columns, e.g. {@code reference_id,reference_type,task,assignee_id,priority}.
+ */
+@Service
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final TaskManagementService taskManagementService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Timer importTasksTimer;
+
+    public TaskImportServiceImpl(TaskManagementService taskManagementService,
+                                 ObjectMapper objectMapper,
+                                 WorkerThreads workerThreads,
+                                 @Value("${workforcemgmt.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${workforcemgmt.import.parallelism:0}") int parallelism,
+                                 ServiceTimers serviceTimers) {
+        this.taskManagementService = taskManagementService;
+        this.objectMapper = objectMapper;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.workers = workerThreads.newFixedExecutor("task-import", this.parallelism);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.importTasksTimer = serviceTimers.timer(TaskImportService.class, "importTasks", this);
+    }
+
+    @Override
+    public TaskImportResultDto importTasks(InputStream input, Format format) {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        Semaphore inFlight = new Semaphore(parallelism);
+        long lineNumber = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Function<String, TaskCreateRequest.RequestItem> parser;
+            if (format == Format.CSV) {
+                String header = reader.readLine();
+                lineNumber++;
+                parser = header != null ? csvParser(header) : null;
+            } else {
+                parser = this::parseJson;
+            }
+            List<String> chunk = new ArrayList<>(chunkSize);
+            long chunkStart = lineNumber + 1;
+            String line;
+            while (parser != null && (line = reader.readLine()) != null) {
+                lineNumber++;
+                chunk.add(line);
+                if (chunk.size() == chunkSize) {
+                    submit(chunk, chunkStart, parser, run, inFlight);
+                    chunk = new ArrayList<>(chunkSize);
+                    chunkStart = lineNumber + 1;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                submit(chunk, chunkStart, parser, run, inFlight);
+            }
+        } catch (IllegalArgumentException e) {
+            run.error(lineNumber, e.getMessage());
+        } catch (IOException e) {
+            run.error(lineNumber + 1, "Failed to read upload: " + e.getMessage());
+        } finally {
+            // Wait for every submitted chunk
+            inFlight.acquireUninterruptibly(parallelism);
+        }
+        long elapsed = System.nanoTime() - started;
+        importTasksTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        return run.result(lineNumber, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void submit(List<String> lines, long firstLine, Function<String, TaskCreateRequest.RequestItem> parser,
+                        ImportRun run, Semaphore inFlight) {
+        inFlight.acquireUninterruptibly();
+        try {
+            workers.execute(() -> {
+                try {
+                    importChunk(lines, firstLine, parser, run);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void importChunk(List<String> lines, long firstLine, Function<String, TaskCreateRequest.RequestItem> parser,
+                             ImportRun run) {
+        List<TaskCreateRequest.RequestItem> tasks = new ArrayList<>(lines.size());
+        List<Long> taskLines = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                TaskCreateRequest.RequestItem item = parser.apply(line);
+                validate(item);
+                tasks.add(item);
+                taskLines.add(firstLine + i);
+            } catch (RuntimeException e) {
+                run.error(firstLine + i, e.getMessage());
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+        try {
+            TaskCreateRequest request = new TaskCreateRequest();
+            request.setRequests(tasks);
+            run.imported.add(taskManagementService.importTasks(request));
+        } catch (RuntimeException e) {
+            taskLines.forEach(line -> run.error(line, "Failed to save: " + e.getMessage()));
+        }
+    }
+
+    private TaskCreateRequest.RequestItem parseJson(String line) {
+        try {
+            return objectMapper.readValue(line, TaskCreateRequest.RequestItem.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Function<String, TaskCreateRequest.RequestItem> csvParser(String header) {
+        String[] names = header.split(",", -1);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            columns.put(names[i].trim().toLowerCase(), i);
+        }
+        List<String> known = List.of("reference_id", "reference_type", "task", "assignee_id", "priority",
+                "task_deadline_time", "start_date");
+        List<String> unknown = columns.keySet().stream().filter(name -> !known.contains(name)).sorted()
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown CSV columns " + unknown + ", expected a header of " + known);
+        }
+        return line -> {
+            String[] values = line.split(",", -1);
+            Function<String, String> value = name -> {
+                Integer index = columns.get(name);
+                String raw = index != null && index < values.length ? values[index].trim() : "";
+                return raw.isEmpty() ? null : raw;
+            };
+            try {
+                TaskCreateRequest.RequestItem item = new TaskCreateRequest.RequestItem();
+                item.setReferenceId(parse(value.apply("reference_id"), Long::valueOf));
+                item.setReferenceType(parse(value.apply("reference_type"), ReferenceType::valueOf));
+                item.setTask(parse(value.apply("task"), Task::valueOf));
+                item.setAssigneeId(parse(value.apply("assignee_id"), Long::valueOf));
+                item.setPriority(parse(value.apply("priority"), Priority::valueOf));
+                item.setTaskDeadlineTime(parse(value.apply("task_deadline_time"), LocalDateTime::parse));
+                item.setStartDate(parse(value.apply("start_date"), LocalDate::parse));
+                return item;
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid CSV value: " + e.getMessage());
+            }
+        };
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return value != null ? parser.apply(value) : null;
+    }
+
+    private static void validate(TaskCreateRequest.RequestItem item) {
+        if (item.getReferenceId() == null || item.getReferenceType() == null || item.getTask() == null
+                || item.getAssigneeId() == null) {
+            throw new IllegalArgumentException("reference_id, reference_type, task and assignee_id are required");
+        }
+        if (!item.getTask().getApplicableReferenceTypes().contains(item.getReferenceType())) {
+            throw new IllegalArgumentException("Task " + item.getTask() + " does not apply to " + item.getReferenceType());
+        }
+    }
+
+    // Counters and the lowest-numbered errors of one import, shared by its workers
+    private static final class ImportRun {
+        private final LongAdder imported = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final NavigableMap<Long, String> errors = new ConcurrentSkipListMap<>();
+        // Size of errors; ConcurrentSkipListMap.size() walks the whole map
+        private final AtomicInteger retainedErrors = new AtomicInteger();
+
+        void error(long line, String message) {
+            failed.increment();
+            if (errors.put(line, message != null ? message : "Invalid line") == null
+                    && retainedErrors.incrementAndGet() > MAX_REPORTED_ERRORS && errors.pollLastEntry() != null) {
+                retainedErrors.decrementAndGet();
+            }
+        }
+
+        TaskImportResultDto result(long lines, long elapsedMillis) {
+            TaskImportResultDto result = new TaskImportResultDto();
+            result.setLines(lines);
+            result.setImported(imported.sum());
+            result.setFailed(failed.sum());
+            result.setErrors(errors.entrySet().stream()
+                    .map(error -> new TaskImportResultDto.LineError(error.getKey(), error.getValue()))
+                    .collect(Collectors.toList()));
+            result.setErrorsTruncated(failed.sum() > retainedErrors.get());
+            result.setElapsedMillis(elapsedMillis);
+            return result;
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.railse.hiring.workforcemgmt.service.impl;
 
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
 import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
 import com.railse.hiring.workforcemgmt.dto.*;
 import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapper;
 import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapper;
 import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapper;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
 import com.railse.hiring.workforcemgmt.model.TaskActivity;
 import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
 import com.railse.hiring.workforcemgmt.model.TaskManagement;
 import com.railse.hiring.workforcemgmt.model.enums.*;
 import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
@@ -19,12 +24,25 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskManagementServiceImpl implements TaskManagementService {
 
+    private static final int REFERENCE_LOCK_STRIPES = 256;
+    private static final int MAX_CONFLICT_ATTEMPTS = 16;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final TaskActivityRepository taskActivityRepository;
     private final TaskCommentRepository taskCommentRepository;
@@ -32,6 +50,15 @@ public class TaskManagementServiceImpl implements TaskManagementService {
     private final ITaskActivityMapper activityMapper;
     private final ITaskCommentMapper commentMapper;
     private final TaskActivityService taskActivityService;
+    private final TaskDetailCache taskDetailCache;
+    private final TaskDeadlineScheduler taskDeadlineScheduler;
+    private final AssigneeWorkloadIndex assigneeWorkloadIndex;
+    private final FinderScanCounters finderScanCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ServiceTimers.MethodTimers timers;
+    // assignByReference is a read-modify-write over all tasks of a reference; calls for the same reference are
+    // serialized on a stripe, calls for different references only contend on a hash collision
+    private final ReentrantLock[] referenceLocks = new ReentrantLock[REFERENCE_LOCK_STRIPES];
 
     public TaskManagementServiceImpl(TaskRepository taskRepository,
                                      TaskActivityRepository taskActivityRepository,
@@ -39,7 +66,13 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                                      ITaskManagementMapper taskMapper,
                                      ITaskActivityMapper activityMapper,
                                      ITaskCommentMapper commentMapper,
-                                     TaskActivityService taskActivityService) {
+                                     TaskActivityService taskActivityService,
+                                     TaskDetailCache taskDetailCache,
+                                     TaskDeadlineScheduler taskDeadlineScheduler,
+                                     AssigneeWorkloadIndex assigneeWorkloadIndex,
+                                     FinderScanCounters finderScanCounters,
+                                     TaskSearchIndex taskSearchIndex,
+                                     ServiceTimers serviceTimers) {
         this.taskRepository = taskRepository;
         this.taskActivityRepository = taskActivityRepository;
         this.taskCommentRepository = taskCommentRepository;
@@ -47,10 +80,26 @@ public class TaskManagementServiceImpl implements TaskManagementService {
         this.activityMapper = activityMapper;
         this.commentMapper = commentMapper;
         this.taskActivityService = taskActivityService;
+        this.taskDetailCache = taskDetailCache;
+        this.taskDeadlineScheduler = taskDeadlineScheduler;
+        this.assigneeWorkloadIndex = assigneeWorkloadIndex;
+        this.finderScanCounters = finderScanCounters;
+        this.taskSearchIndex = taskSearchIndex;
+        // findTaskById is served from the detail cache and the stream* methods return before any work is done,
+        // so they are not timed
+        this.timers = serviceTimers.forService(TaskManagementService.class, this);
+        for (int i = 0; i < REFERENCE_LOCK_STRIPES; i++) {
+            referenceLocks[i] = new ReentrantLock();
+        }
     }
 
     @Override
     public TaskManagementDto findTaskById(Long id) {
+        taskActivityService.awaitLogged(id);
+        return taskDetailCache.get(id, this::assembleTaskDetail);
+    }
+
+    private TaskManagementDto assembleTaskDetail(Long id) {
         TaskManagement task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
 
@@ -63,80 +112,184 @@ public class TaskManagementServiceImpl implements TaskManagementService {
 
     @Override
     public List<TaskManagementDto> createTasks(TaskCreateRequest createRequest) {
-        List<TaskManagement> createdTasks = new ArrayList<>();
+        return timers.timed("createTasks", () -> taskMapper.modelListToDtoList(
+                saveNewTasks(newTasks(createRequest), taskRepository, taskActivityService)));
+    }
+
+    @Override
+    public int importTasks(TaskCreateRequest createRequest) {
+        return timers.timed("importTasks", () ->
+                saveNewTasks(newTasks(createRequest), taskRepository, taskActivityService).size());
+    }
+
+    private static List<TaskManagement> newTasks(TaskCreateRequest createRequest) {
+        List<TaskManagement> newTasks = new ArrayList<>(createRequest.getRequests().size());
+        LocalDateTime now = LocalDateTime.now();
         for (TaskCreateRequest.RequestItem item : createRequest.getRequests()) {
-            TaskManagement newTask = new TaskManagement();
-            newTask.setReferenceId(item.getReferenceId());
-            newTask.setReferenceType(item.getReferenceType());
-            newTask.setTask(item.getTask());
-            newTask.setAssigneeId(item.getAssigneeId());
-            newTask.setPriority(item.getPriority() != null ? item.getPriority() : Priority.MEDIUM);
-            newTask.setTaskDeadlineTime(item.getTaskDeadlineTime() != null ? item.getTaskDeadlineTime() : LocalDateTime.now().plusDays(1));
-            newTask.setStartDate(item.getStartDate() != null ? item.getStartDate() : LocalDate.now());
-            newTask.setStatus(TaskStatus.ASSIGNED);
-            newTask.setDescription("New task created.");
-
-            TaskManagement savedTask = taskRepository.save(newTask);
-            createdTasks.add(savedTask);
-
-            taskActivityService.logActivity(savedTask.getId(), ActivityType.TASK_CREATED,
-                    "Task created", item.getAssigneeId(), null, savedTask.getStatus().toString());
+            newTasks.add(newTask(item, now));
+        }
+        return newTasks;
+    }
+
+    private static TaskManagement newTask(TaskCreateRequest.RequestItem item, LocalDateTime now) {
+        TaskManagement newTask = new TaskManagement();
+        newTask.setReferenceId(item.getReferenceId());
+        newTask.setReferenceType(item.getReferenceType());
+        newTask.setTask(item.getTask());
+        newTask.setAssigneeId(item.getAssigneeId());
+        newTask.setPriority(item.getPriority() != null ? item.getPriority() : Priority.MEDIUM);
+        newTask.setTaskDeadlineTime(item.getTaskDeadlineTime() != null ? item.getTaskDeadlineTime() : now.plusDays(1));
+        newTask.setStartDate(item.getStartDate() != null ? item.getStartDate() : now.toLocalDate());
+        newTask.setStatus(TaskStatus.ASSIGNED);
+        newTask.setDescription("New task created.");
+        return newTask;
+    }
+
+    // Saves the tasks in one batch and logs their TASK_CREATED activities in another
+    private static List<TaskManagement> saveNewTasks(List<TaskManagement> newTasks, TaskRepository taskRepository,
+                                                     TaskActivityService taskActivityService) {
+        List<TaskManagement> createdTasks = taskRepository.saveAll(newTasks);
+        List<TaskActivity> activities = new ArrayList<>(createdTasks.size());
+        for (TaskManagement savedTask : createdTasks) {
+            activities.add(taskActivityService.buildActivity(savedTask.getId(), ActivityType.TASK_CREATED,
+                    "Task created", savedTask.getAssigneeId(), null, savedTask.getStatus().toString()));
         }
-        return taskMapper.modelListToDtoList(createdTasks);
+        taskActivityService.logActivities(activities);
+        return createdTasks;
     }
 
     @Override
     public List<TaskManagementDto> updateTasks(UpdateTaskRequest updateRequest) {
-        List<TaskManagement> updatedTasks = new ArrayList<>();
-        for (UpdateTaskRequest.RequestItem item : updateRequest.getRequests()) {
-            TaskManagement task = taskRepository.findById(item.getTaskId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + item.getTaskId()));
-
-            String oldStatus = task.getStatus() != null ? task.getStatus().toString() : null;
+        return timers.timed("updateTasks", () -> {
+            List<UpdateTaskRequest.RequestItem> items = updateRequest.getRequests();
+            for (int attempt = 1; ; attempt++) {
+                Map<Long, TaskManagement> tasksById = taskRepository.findAllById(items.stream()
+                                .map(UpdateTaskRequest.RequestItem::getTaskId).collect(Collectors.toSet()))
+                        .stream()
+                        .collect(Collectors.toMap(TaskManagement::getId, Function.identity()));
+
+                for (UpdateTaskRequest.RequestItem item : items) {
+                    TaskManagement task = tasksById.get(item.getTaskId());
+                    if (task == null) {
+                        throw new ResourceNotFoundException("Task not found with id: " + item.getTaskId());
+                    }
+                    if (item.getExpectedVersion() != null && !item.getExpectedVersion().equals(task.getVersion())) {
+                        throw new ConflictException("Task " + task.getId() + " is at version " + task.getVersion()
+                                + ", expected " + item.getExpectedVersion());
+                    }
+                }
 
-            if (item.getTaskStatus() != null) {
-                task.setStatus(item.getTaskStatus());
-                taskActivityService.logActivity(task.getId(), ActivityType.TASK_STATUS_CHANGED,
-                        "Task status changed", task.getAssigneeId(), oldStatus, item.getTaskStatus().toString());
-            }
-            if (item.getDescription() != null) {
-                task.setDescription(item.getDescription());
+                // Items for the same task apply in order to one copy, which is saved once
+                Map<Long, TaskManagement> updatedById = new LinkedHashMap<>();
+                List<TaskActivity> activities = new ArrayList<>();
+                for (UpdateTaskRequest.RequestItem item : items) {
+                    TaskManagement task = tasksById.get(item.getTaskId());
+                    String oldStatus = task.getStatus() != null ? task.getStatus().toString() : null;
+
+                    if (item.getTaskStatus() != null) {
+                        task.setStatus(item.getTaskStatus());
+                        activities.add(taskActivityService.buildActivity(task.getId(),
+                                ActivityType.TASK_STATUS_CHANGED, "Task status changed", task.getAssigneeId(),
+                                oldStatus, item.getTaskStatus().toString()));
+                    }
+                    if (item.getDescription() != null) {
+                        task.setDescription(item.getDescription());
+                    }
+                    updatedById.put(task.getId(), task);
+                }
+                List<TaskManagement> updatedTasks = List.copyOf(updatedById.values());
+                try {
+                    taskRepository.saveAll(updatedTasks);
+                } catch (ConflictException e) {
+                    // Lost a race with another writer: start over from the current versions, which re-checks
+                    // expectedVersion
+                    if (attempt >= MAX_CONFLICT_ATTEMPTS) {
+                        throw e;
+                    }
+                    continue;
+                }
+                taskActivityService.logActivities(activities);
+                return taskMapper.modelListToDtoList(updatedTasks);
             }
-            updatedTasks.add(taskRepository.save(task));
-        }
-        return taskMapper.modelListToDtoList(updatedTasks);
+        });
     }
 
     @Override
     public String assignByReference(AssignByReferenceRequest request) {
+        return timers.timed("assignByReference", () -> {
+            if (Boolean.TRUE.equals(request.getAutoAssign())) {
+                return autoAssignByReference(request);
+            }
+            assignReferenceTo(request, request.getAssigneeId());
+            return "Tasks assigned successfully for reference " + request.getReferenceId();
+        });
+    }
+
+    // Reserves the least-loaded assignee's slot up front so concurrent auto-assignments spread over assignees;
+    // the reservation is dropped once the real tasks are saved and counted by the workload index
+    private String autoAssignByReference(AssignByReferenceRequest request) {
+        long reservation = Task.getTasksByReferenceType(request.getReferenceType()).size()
+                * AssigneeWorkloadIndex.weight(Priority.MEDIUM, null, LocalDateTime.now());
+        Long assigneeId = assigneeWorkloadIndex.reserveLeastLoaded(reservation)
+                .orElseThrow(() -> new ResourceNotFoundException("No assignee available for auto-assignment"));
+        try {
+            assignReferenceTo(request, assigneeId);
+        } finally {
+            assigneeWorkloadIndex.release(assigneeId, reservation);
+        }
+        return "Tasks assigned successfully for reference " + request.getReferenceId() + " to assignee " + assigneeId;
+    }
+
+    private void assignReferenceTo(AssignByReferenceRequest request, Long assigneeId) {
+        ReentrantLock lock = referenceLock(request.getReferenceId(), request.getReferenceType());
+        List<TaskActivity> activities;
+        lock.lock();
+        try {
+            activities = retryOnConflict(() -> reassignReferenceTasks(request, assigneeId));
+        } finally {
+            lock.unlock();
+        }
+        taskActivityService.logActivities(activities);
+    }
+
+    // Builds every change first and saves them in one all-or-nothing batch, so a conflict retry starts from a clean
+    // slate; the activities are returned for logging once the batch is committed
+    private List<TaskActivity> reassignReferenceTasks(AssignByReferenceRequest request, Long assigneeId) {
         List<Task> applicableTasks = Task.getTasksByReferenceType(request.getReferenceType());
         List<TaskManagement> existingTasks = taskRepository.findByReferenceIdAndReferenceType(request.getReferenceId(), request.getReferenceType());
 
+        // One pass over the reference's tasks instead of one filter per task type
+        Map<Task, List<TaskManagement>> openTasksByType = new EnumMap<>(Task.class);
+        for (TaskManagement existing : existingTasks) {
+            if (existing.getTask() != null && existing.getStatus() != TaskStatus.COMPLETED) {
+                openTasksByType.computeIfAbsent(existing.getTask(), type -> new ArrayList<>()).add(existing);
+            }
+        }
+
+        List<TaskManagement> changedTasks = new ArrayList<>();
+        // Parallel to changedTasks; new tasks only get their id when the batch is saved
+        List<Function<TaskManagement, TaskActivity>> activityOf = new ArrayList<>();
         for (Task taskType : applicableTasks) {
-            List<TaskManagement> tasksOfType = existingTasks.stream()
-                    .filter(t -> t.getTask() == taskType && t.getStatus() != TaskStatus.COMPLETED)
-                    .collect(Collectors.toList());
+            List<TaskManagement> tasksOfType = openTasksByType.getOrDefault(taskType, List.of());
 
             if (!tasksOfType.isEmpty()) {
                 boolean firstTask = true;
                 for (TaskManagement taskToUpdate : tasksOfType) {
                     if (firstTask) {
-                        Long oldAssigneeId = taskToUpdate.getAssigneeId();
-                        taskToUpdate.setAssigneeId(request.getAssigneeId());
-                        taskRepository.save(taskToUpdate);
-
-                        taskActivityService.logActivity(taskToUpdate.getId(), ActivityType.TASK_REASSIGNED,
-                                "Task reassigned to new assignee", request.getAssigneeId(),
-                                oldAssigneeId.toString(), request.getAssigneeId().toString());
+                        String oldAssigneeId = Objects.toString(taskToUpdate.getAssigneeId(), null);
+                        taskToUpdate.setAssigneeId(assigneeId);
+                        changedTasks.add(taskToUpdate);
+                        activityOf.add(saved -> taskActivityService.buildActivity(saved.getId(),
+                                ActivityType.TASK_REASSIGNED, "Task reassigned to new assignee", assigneeId,
+                                oldAssigneeId, assigneeId.toString()));
 
                         firstTask = false;
                     } else {
                         taskToUpdate.setStatus(TaskStatus.CANCELLED);
-                        taskRepository.save(taskToUpdate);
-
-                        taskActivityService.logActivity(taskToUpdate.getId(), ActivityType.TASK_CANCELLED,
-                                "Task cancelled due to reassignment", taskToUpdate.getAssigneeId(),
-                                null, TaskStatus.CANCELLED.toString());
+                        changedTasks.add(taskToUpdate);
+                        activityOf.add(saved -> taskActivityService.buildActivity(saved.getId(),
+                                ActivityType.TASK_CANCELLED, "Task cancelled due to reassignment",
+                                saved.getAssigneeId(), null, TaskStatus.CANCELLED.toString()));
                     }
                 }
             } else {
@@ -144,85 +297,251 @@ public class TaskManagementServiceImpl implements TaskManagementService {
                 newTask.setReferenceId(request.getReferenceId());
                 newTask.setReferenceType(request.getReferenceType());
                 newTask.setTask(taskType);
-                newTask.setAssigneeId(request.getAssigneeId());
+                newTask.setAssigneeId(assigneeId);
                 newTask.setStatus(TaskStatus.ASSIGNED);
                 newTask.setPriority(Priority.MEDIUM);
                 newTask.setStartDate(LocalDate.now());
                 newTask.setTaskDeadlineTime(LocalDateTime.now().plusDays(1));
                 newTask.setDescription("Task created via reference assignment");
+                changedTasks.add(newTask);
+                activityOf.add(saved -> taskActivityService.buildActivity(saved.getId(),
+                        ActivityType.TASK_CREATED, "Task created via reference assignment", assigneeId,
+                        null, TaskStatus.ASSIGNED.toString()));
+            }
+        }
 
-                TaskManagement savedTask = taskRepository.save(newTask);
+        List<TaskManagement> savedTasks = taskRepository.saveAll(changedTasks);
+        List<TaskActivity> activities = new ArrayList<>(savedTasks.size());
+        for (int i = 0; i < savedTasks.size(); i++) {
+            activities.add(activityOf.get(i).apply(savedTasks.get(i)));
+        }
+        return activities;
+    }
 
-                taskActivityService.logActivity(savedTask.getId(), ActivityType.TASK_CREATED,
-                        "Task created via reference assignment", request.getAssigneeId(),
-                        null, TaskStatus.ASSIGNED.toString());
+    // Re-runs a read-modify-write whose save lost a version race to a concurrent writer
+    private <T> T retryOnConflict(Supplier<T> readModifyWrite) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return readModifyWrite.get();
+            } catch (ConflictException e) {
+                if (attempt >= MAX_CONFLICT_ATTEMPTS) {
+                    throw e;
+                }
             }
         }
-        return "Tasks assigned successfully for reference " + request.getReferenceId();
+    }
+
+    private ReentrantLock referenceLock(Long referenceId, ReferenceType referenceType) {
+        int hash = 31 * Objects.hashCode(referenceId) + (referenceType != null ? referenceType.ordinal() : 0);
+        return referenceLocks[Math.floorMod(hash ^ (hash >>> 16), REFERENCE_LOCK_STRIPES)];
     }
 
     @Override
     public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
-        List<TaskManagement> tasks = taskRepository.findByAssigneeIdIn(request.getAssigneeIds());
+        return timers.timed("fetchTasksByDate", () -> {
+            List<TaskManagement> tasks = taskRepository.findByAssigneeIdInAndDateRange(
+                    request.getAssigneeIds(), request.getStartDate(), request.getEndDate());
+
+            List<TaskManagement> filteredTasks = tasks.stream()
+                    .filter(task -> isVisibleInDateWindow(task, request))
+                    .collect(Collectors.toList());
+            finderScanCounters.record(FinderScanCounters.Finder.FETCH_BY_DATE, tasks.size(), filteredTasks.size());
+
+            return taskMapper.modelListToDtoList(filteredTasks);
+        });
+    }
+
+    @Override
+    public Page<TaskManagementDto> fetchTasksByDatePage(TaskFetchByDateRequest request) {
+        return timers.timed("fetchTasksByDatePage", () -> {
+            int limit = pageSize(request.getLimit());
+            List<TaskManagementDto> items = streamTasksByDate(request).limit(limit + 1L).collect(Collectors.toList());
+            return Page.of(items, limit, TaskManagementDto::getId);
+        });
+    }
+
+    @Override
+    public Stream<TaskManagementDto> streamTasksByDate(TaskFetchByDateRequest request) {
+        return taskRepository.streamByAssigneeIdInAndDateRange(request.getAssigneeIds(), request.getStartDate(),
+                        request.getEndDate(), request.getCursor())
+                .filter(finderScanCounters.counting(FinderScanCounters.Finder.FETCH_BY_DATE,
+                        task -> isVisibleInDateWindow(task, request)))
+                .map(taskMapper::modelToDto);
+    }
+
+    private static int pageSize(int requestedLimit) {
+        return Math.max(1, Math.min(requestedLimit, MAX_PAGE_SIZE));
+    }
 
-        List<TaskManagement> filteredTasks = tasks.stream()
-                .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
-                .filter(task -> {
-                    LocalDate taskStartDate = task.getStartDate();
-                    if (taskStartDate == null) return false;
+    private static boolean isVisibleInDateWindow(TaskManagement task, TaskFetchByDateRequest request) {
+        if (task.getStatus() == TaskStatus.CANCELLED) return false;
 
-                    boolean startedInRange = !taskStartDate.isBefore(request.getStartDate()) &&
-                            !taskStartDate.isAfter(request.getEndDate());
+        LocalDate taskStartDate = task.getStartDate();
+        if (taskStartDate == null) return false;
 
-                    boolean activeFromBefore = taskStartDate.isBefore(request.getStartDate()) &&
-                            (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED);
+        boolean startedInRange = !taskStartDate.isBefore(request.getStartDate()) &&
+                !taskStartDate.isAfter(request.getEndDate());
 
-                    return startedInRange || activeFromBefore;
-                })
-                .collect(Collectors.toList());
+        boolean activeFromBefore = taskStartDate.isBefore(request.getStartDate()) &&
+                (task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED);
 
-        return taskMapper.modelListToDtoList(filteredTasks);
+        return startedInRange || activeFromBefore;
     }
 
     @Override
     public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request) {
-        TaskManagement task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
+        return timers.timed("updateTaskPriority", () -> {
+            return retryOnConflict(() -> {
+                TaskManagement task = taskRepository.findById(request.getTaskId())
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "Task not found with id: " + request.getTaskId()));
+
+                Priority oldPriority = task.getPriority();
+                task.setPriority(request.getPriority());
+                TaskManagement updatedTask = taskRepository.save(task);
+
+                taskActivityService.logActivity(task.getId(), ActivityType.TASK_PRIORITY_CHANGED,
+                        "Task priority changed", task.getAssigneeId(),
+                        oldPriority != null ? oldPriority.toString() : null, request.getPriority().toString());
+
+                return taskMapper.modelToDto(updatedTask);
+            });
+        });
+    }
 
-        Priority oldPriority = task.getPriority();
-        task.setPriority(request.getPriority());
-        TaskManagement updatedTask = taskRepository.save(task);
+    @Override
+    public List<TaskManagementDto> findTasksByPriority(Priority priority) {
+        return timers.timed("findTasksByPriority", () -> {
+            List<TaskManagement> tasks = taskRepository.findByPriority(priority);
+            List<TaskManagementDto> result = tasks.stream()
+                    .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
+                    .map(taskMapper::modelToDto)
+                    .collect(Collectors.toList());
+            finderScanCounters.record(FinderScanCounters.Finder.PRIORITY, tasks.size(), result.size());
+            return result;
+        });
+    }
+
+    @Override
+    public Page<TaskManagementDto> findTasksByPriorityPage(Priority priority, int requestedLimit, Long cursor) {
+        return timers.timed("findTasksByPriorityPage", () -> {
+            int limit = pageSize(requestedLimit);
+            List<TaskManagementDto> items = streamTasksByPriority(priority, cursor).limit(limit + 1L)
+                    .collect(Collectors.toList());
+            return Page.of(items, limit, TaskManagementDto::getId);
+        });
+    }
 
-        taskActivityService.logActivity(task.getId(), ActivityType.TASK_PRIORITY_CHANGED,
-                "Task priority changed", task.getAssigneeId(),
-                oldPriority != null ? oldPriority.toString() : null, request.getPriority().toString());
+    @Override
+    public Stream<TaskManagementDto> streamTasksByPriority(Priority priority, Long cursor) {
+        return taskRepository.streamByPriority(priority, cursor)
+                .filter(finderScanCounters.counting(FinderScanCounters.Finder.PRIORITY,
+                        task -> task.getStatus() != TaskStatus.CANCELLED))
+                .map(taskMapper::modelToDto);
+    }
 
-        return taskMapper.modelToDto(updatedTask);
+    @Override
+    public List<TaskManagementDto> findOverdueTasks() {
+        return timers.timed("findOverdueTasks", () -> streamOverdueTasks(null).collect(Collectors.toList()));
     }
 
     @Override
-    public List<TaskManagementDto> findTasksByPriority(Priority priority) {
-        return taskRepository.findByPriority(priority).stream()
-                .filter(task -> task.getStatus() != TaskStatus.CANCELLED)
-                .map(taskMapper::modelToDto)
-                .collect(Collectors.toList());
+    public Page<TaskManagementDto> findOverdueTasksPage(int requestedLimit, Long cursor) {
+        return timers.timed("findOverdueTasksPage", () -> {
+            int limit = pageSize(requestedLimit);
+            List<TaskManagementDto> items = streamOverdueTasks(cursor).limit(limit + 1L).collect(Collectors.toList());
+            return Page.of(items, limit, TaskManagementDto::getId);
+        });
+    }
+
+    // The scheduler keeps the overdue ids, so only those tasks are read
+    private Stream<TaskManagementDto> streamOverdueTasks(Long cursor) {
+        return taskDeadlineScheduler.overdueTaskIds(cursor)
+                .map(taskRepository::findById)
+                .flatMap(Optional::stream)
+                .map(taskMapper::modelToDto);
     }
 
     @Override
     public TaskCommentDto addComment(AddCommentRequest request) {
-        TaskManagement task = taskRepository.findById(request.getTaskId())
-                .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
+        return timers.timed("addComment", () -> {
+            TaskManagement task = taskRepository.findById(request.getTaskId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + request.getTaskId()));
+
+            TaskComment comment = new TaskComment();
+            comment.setTaskId(request.getTaskId());
+            comment.setComment(request.getComment());
+            comment.setUserId(request.getUserId());
+
+            TaskComment savedComment = taskCommentRepository.save(comment);
+
+            taskActivityService.logActivity(request.getTaskId(), ActivityType.COMMENT_ADDED,
+                    "Comment added to task", request.getUserId(), null, "Comment: " + request.getComment());
 
-        TaskComment comment = new TaskComment();
-        comment.setTaskId(request.getTaskId());
-        comment.setComment(request.getComment());
-        comment.setUserId(request.getUserId());
+            return commentMapper.modelToDto(savedComment);
+        });
+    }
 
-        TaskComment savedComment = taskCommentRepository.save(comment);
+    // Built from the repository's running counters, so the cost does not grow with the number of tasks
+    @Override
+    public TaskStatsDto getTaskStats(List<Long> assigneeIds) {
+        return timers.timed("getTaskStats", () -> {
+            TaskStatsDto stats = toStats(taskRepository.countTasks(null));
+            if (assigneeIds != null && !assigneeIds.isEmpty()) {
+                Map<Long, TaskStatsDto> assignees = new LinkedHashMap<>();
+                for (Long assigneeId : assigneeIds) {
+                    assignees.put(assigneeId, toStats(taskRepository.countTasks(assigneeId)));
+                }
+                stats.setAssignees(assignees);
+            }
+            return stats;
+        });
+    }
 
-        taskActivityService.logActivity(request.getTaskId(), ActivityType.COMMENT_ADDED,
-                "Comment added to task", request.getUserId(), null, "Comment: " + request.getComment());
+    // The index pages over its own postings, so only the tasks of the page are read from the repository
+    @Override
+    public Page<TaskManagementDto> searchTasks(TaskSearchRequest request) {
+        return timers.timed("searchTasks", () -> {
+            int limit = pageSize(request.getLimit() != null ? request.getLimit() : MAX_PAGE_SIZE);
+            List<Long> taskIds = taskSearchIndex.search(request.getQuery(), request.getStatuses(),
+                    request.getPriorities(), request.getAssigneeIds(), request.getCursor(), limit + 1);
+            List<TaskManagementDto> items = taskIds.stream()
+                    .map(taskRepository::findById)
+                    .flatMap(Optional::stream)
+                    .map(taskMapper::modelToDto)
+                    .collect(Collectors.toList());
+            return Page.of(items, limit, TaskManagementDto::getId);
+        });
+    }
 
-        return commentMapper.modelToDto(savedComment);
+    private static TaskStatsDto toStats(TaskCounts counts) {
+        Map<TaskStatus, Long> byStatus = new EnumMap<>(TaskStatus.class);
+        Map<Priority, Long> byPriority = new EnumMap<>(Priority.class);
+        Map<Task, Long> byTask = new EnumMap<>(Task.class);
+        Map<TaskStatus, Map<Priority, Map<Task, Long>>> cells = new EnumMap<>(TaskStatus.class);
+        long total = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            Map<Priority, Map<Task, Long>> byStatusPriority = new EnumMap<>(Priority.class);
+            for (Priority priority : Priority.values()) {
+                Map<Task, Long> byStatusPriorityTask = new EnumMap<>(Task.class);
+                for (Task task : Task.values()) {
+                    long count = counts.get(status, priority, task);
+                    byStatusPriorityTask.put(task, count);
+                    byStatus.merge(status, count, Long::sum);
+                    byPriority.merge(priority, count, Long::sum);
+                    byTask.merge(task, count, Long::sum);
+                    total += count;
+                }
+                byStatusPriority.put(priority, byStatusPriorityTask);
+            }
+            cells.put(status, byStatusPriority);
+        }
+        TaskStatsDto stats = new TaskStatsDto();
+        stats.setTotal(total);
+        stats.setByStatus(byStatus);
+        stats.setByPriority(byPriority);
+        stats.setByTask(byTask);
+        stats.setCounts(cells);
+        return stats;
     }
 }
@@ -0,0 +1,535 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.WorkerThreads;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.railse.hiring.workforcemgmt.service.impl.PostingList.NO_MORE;
+
+/**
+ * Inverted index over task descriptions and comments for {@code /task-mgmt/search}. Text is split into lower-cased
+ * runs of letters and digits, and each term maps to a {@link PostingList} of the tasks whose description or comments
+ * contain it; statuses, priorities and assignees have posting lists of their own, so filters are matched the same
+ * way as words. Repository save listeners keep it current: a save moves the task between the lists its
+ * description and attributes changed, a comment only adds terms, as comments are never edited or removed.
+ * <p>
+ * The listeners only queue what they were given, so a save never waits for the index lock; a single indexer thread
+ * applies the queue in batches under the write lock. A query first waits until every save queued before it has been
+ * applied, so a search sees the saves that returned before it.
+ * <p>
+ * A query is a list of alternatives separated by {@code OR}, each a list of words that must all match, ANDed with
+ * any of the requested values of each filter. Matches come out in id order by leapfrogging the lists, led by the
+ * shortest, so a page reads only as much of the lists as it takes to find its matches.
+ */
+@Slf4j
+@Component
+public class TaskSearchIndex {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private static final String[] NO_TERMS = new String[0];
+    // Saves wait for room only when the indexer is this far behind
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long MAX_QUERY_WAIT_MILLIS = 5000;
+
+    // What a save listener queues: the indexed fields as saved, read before the caller can change the object
+    private record TaskUpdate(long taskId, long version, String description, TaskStatus status, Priority priority,
+                              Long assigneeId) {
+    }
+
+    private record CommentUpdate(long taskId, String comment) {
+    }
+
+    // What the lists hold for one task, to take it out of them again. Comments can arrive before their task during
+    // a replay, so a task may have comment terms and nothing else yet.
+    private static final class Doc {
+        long version = -1;
+        TaskStatus status;
+        Priority priority;
+        Long assigneeId;
+        String[] descriptionTerms = NO_TERMS;
+        String[] commentTerms = NO_TERMS;
+    }
+
+    private final Map<String, PostingList> terms = new HashMap<>();
+    private final Map<TaskStatus, PostingList> statuses = new EnumMap<>(TaskStatus.class);
+    private final Map<Priority, PostingList> priorities = new EnumMap<>(Priority.class);
+    private final Map<Long, PostingList> assignees = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    // Queries run under the read lock, so they see no list halfway through a change
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final BlockingQueue<Object> updates = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // Counted before an update is queued, so a query waiting for applied to reach it also waits for every update
+    // queued before it started
+    private final AtomicLong queued = new AtomicLong();
+    private volatile long applied;
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedAdvanced = appliedLock.newCondition();
+    private final Thread indexer;
+    private volatile boolean running = true;
+
+    public TaskSearchIndex(TaskRepository taskRepository, TaskCommentRepository taskCommentRepository,
+                           WorkerThreads workerThreads) {
+        // Listen before the initial pass so no save falls in between; replays are no-ops
+        taskRepository.addSaveListener(this::taskSaved);
+        taskCommentRepository.addSaveListener(this::commentSaved);
+        lock.writeLock().lock();
+        try {
+            taskRepository.findAll().forEach(task -> indexTask(update(task)));
+            taskCommentRepository.findAll().stream().filter(TaskSearchIndex::indexable)
+                    .forEach(comment -> indexComment(update(comment)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        this.indexer = workerThreads.newThread("search-indexer", this::indexLoop);
+        indexer.start();
+    }
+
+    /**
+     * Up to {@code limit} ids of matching tasks after {@code cursor}, in id order. Null or empty filters match
+     * every task.
+     *
+     * @throws BadRequestException if the query has no words
+     */
+    public List<Long> search(String query, Collection<TaskStatus> statusFilter, Collection<Priority> priorityFilter,
+                             Collection<Long> assigneeFilter, Long cursor, int limit) {
+        List<String[]> alternatives = parse(query);
+        List<Long> taskIds = new ArrayList<>(Math.min(limit, 1024));
+        awaitApplied(queued.get());
+        lock.readLock().lock();
+        try {
+            List<DocIterator> required = new ArrayList<>(4);
+            required.add(anyOf(alternatives.stream().map(this::allTermsOf).toList()));
+            if (!isEmpty(statusFilter)) {
+                required.add(anyOf(statusFilter.stream().map(statuses::get).map(TaskSearchIndex::cursorOf).toList()));
+            }
+            if (!isEmpty(priorityFilter)) {
+                required.add(anyOf(priorityFilter.stream().map(priorities::get).map(TaskSearchIndex::cursorOf).toList()));
+            }
+            if (!isEmpty(assigneeFilter)) {
+                required.add(anyOf(assigneeFilter.stream().map(assignees::get).map(TaskSearchIndex::cursorOf).toList()));
+            }
+            DocIterator matches = allOf(required);
+            // Task ids start at 1, which leaves Long.MIN_VALUE to the iterators as "not positioned yet"
+            long target = cursor == null || cursor < 1 ? 1 : cursor == NO_MORE ? NO_MORE : cursor + 1;
+            while (matches != null && taskIds.size() < limit) {
+                long id = matches.advance(target);
+                if (id == NO_MORE) {
+                    break;
+                }
+                // Only comment terms seen so far; the task itself is not indexed yet
+                if (docs.get(id).version >= 0) {
+                    taskIds.add(id);
+                }
+                target = id + 1;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return taskIds;
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Distinct terms of a text, sorted. */
+    static String[] terms(String text) {
+        if (text == null || text.isEmpty()) {
+            return NO_TERMS;
+        }
+        TreeSet<String> terms = new TreeSet<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (term.length() < MAX_TERM_LENGTH) {
+                    term.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else if (!term.isEmpty()) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (!term.isEmpty()) {
+            terms.add(term.toString());
+        }
+        return terms.toArray(NO_TERMS);
+    }
+
+    // "a b OR c" is (a AND b) OR c; an explicit AND is the default and skipped
+    private static List<String[]> parse(String query) {
+        List<String[]> alternatives = new ArrayList<>();
+        TreeSet<String> words = new TreeSet<>();
+        for (String word : (query != null ? query.trim() : "").split("\\s+")) {
+            if (word.equals("OR")) {
+                addAlternative(alternatives, words);
+            } else if (!word.equals("AND")) {
+                words.addAll(Arrays.asList(terms(word)));
+            }
+        }
+        addAlternative(alternatives, words);
+        if (alternatives.isEmpty()) {
+            throw new BadRequestException("Search query has no words to look for");
+        }
+        return alternatives;
+    }
+
+    private static void addAlternative(List<String[]> alternatives, TreeSet<String> words) {
+        if (!words.isEmpty()) {
+            alternatives.add(words.toArray(NO_TERMS));
+            words.clear();
+        }
+    }
+
+    private DocIterator allTermsOf(String[] words) {
+        List<DocIterator> lists = new ArrayList<>(words.length);
+        for (String word : words) {
+            lists.add(cursorOf(terms.get(word)));
+        }
+        return allOf(lists);
+    }
+
+    private static DocIterator cursorOf(PostingList list) {
+        return list != null ? new PostingIterator(list) : null;
+    }
+
+    // null stands for "matches nothing": an AND with it matches nothing, an OR leaves it out
+    private static DocIterator allOf(List<DocIterator> iterators) {
+        if (iterators.contains(null)) {
+            return null;
+        }
+        return iterators.size() == 1 ? iterators.get(0) : new AndIterator(iterators);
+    }
+
+    private static DocIterator anyOf(List<DocIterator> iterators) {
+        List<DocIterator> matching = iterators.stream().filter(Objects::nonNull).toList();
+        if (matching.isEmpty()) {
+            return null;
+        }
+        return matching.size() == 1 ? matching.get(0) : new OrIterator(matching);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        indexer.interrupt();
+        try {
+            indexer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void taskSaved(TaskManagement task) {
+        queue(update(task));
+    }
+
+    private void commentSaved(TaskComment comment) {
+        if (indexable(comment)) {
+            queue(update(comment));
+        }
+    }
+
+    private static boolean indexable(TaskComment comment) {
+        return comment.getTaskId() != null && comment.getComment() != null;
+    }
+
+    private static TaskUpdate update(TaskManagement task) {
+        return new TaskUpdate(task.getId(), task.getVersion() != null ? task.getVersion() : 0, task.getDescription(),
+                task.getStatus(), task.getPriority(), task.getAssigneeId());
+    }
+
+    private static CommentUpdate update(TaskComment comment) {
+        return new CommentUpdate(comment.getTaskId(), comment.getComment());
+    }
+
+    private void queue(Object update) {
+        queued.incrementAndGet();
+        try {
+            while (!updates.offer(update, 100, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    // Counted but never queued: count it applied so queries do not wait for it
+                    advanceApplied(1);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            advanceApplied(1);
+        }
+    }
+
+    private void indexLoop() {
+        List<Object> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (running) {
+            try {
+                batch.add(updates.take());
+                updates.drainTo(batch, MAX_BATCH_SIZE - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<Object> batch) {
+        lock.writeLock().lock();
+        try {
+            for (Object update : batch) {
+                try {
+                    if (update instanceof TaskUpdate task) {
+                        indexTask(task);
+                    } else {
+                        indexComment((CommentUpdate) update);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Failed to index {}", update, e);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        advanceApplied(batch.size());
+    }
+
+    private void advanceApplied(int count) {
+        appliedLock.lock();
+        try {
+            applied += count;
+            appliedAdvanced.signalAll();
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    private void awaitApplied(long target) {
+        if (applied >= target) {
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(MAX_QUERY_WAIT_MILLIS);
+        appliedLock.lock();
+        try {
+            while (applied < target && running && remaining > 0) {
+                remaining = appliedAdvanced.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            appliedLock.unlock();
+        }
+        if (remaining <= 0) {
+            log.warn("Searching before {} queued index updates were applied", target - applied);
+        }
+    }
+
+    // Under the write lock
+    private void indexTask(TaskUpdate task) {
+        String[] descriptionTerms = terms(task.description());
+        long taskId = task.taskId();
+        Doc doc = docs.computeIfAbsent(taskId, id -> new Doc());
+        // Updates of two saves of the same task can be queued out of order; never go back to an older version
+        if (doc.version > task.version()) {
+            return;
+        }
+        doc.version = task.version();
+        for (String term : doc.descriptionTerms) {
+            if (!contains(descriptionTerms, term) && !contains(doc.commentTerms, term)) {
+                remove(terms, term, taskId);
+            }
+        }
+        for (String term : descriptionTerms) {
+            if (!contains(doc.descriptionTerms, term) && !contains(doc.commentTerms, term)) {
+                add(terms, term, taskId);
+            }
+        }
+        doc.descriptionTerms = descriptionTerms;
+        doc.status = move(statuses, doc.status, task.status(), taskId);
+        doc.priority = move(priorities, doc.priority, task.priority(), taskId);
+        doc.assigneeId = move(assignees, doc.assigneeId, task.assigneeId(), taskId);
+    }
+
+    // Under the write lock
+    private void indexComment(CommentUpdate comment) {
+        String[] commentTerms = terms(comment.comment());
+        if (commentTerms.length == 0) {
+            return;
+        }
+        Doc doc = docs.computeIfAbsent(comment.taskId(), id -> new Doc());
+        TreeSet<String> merged = null;
+        for (String term : commentTerms) {
+            if (contains(doc.commentTerms, term)) {
+                continue;
+            }
+            if (!contains(doc.descriptionTerms, term)) {
+                add(terms, term, comment.taskId());
+            }
+            if (merged == null) {
+                merged = new TreeSet<>(Arrays.asList(doc.commentTerms));
+            }
+            merged.add(term);
+        }
+        if (merged != null) {
+            doc.commentTerms = merged.toArray(NO_TERMS);
+        }
+    }
+
+    private static <K> K move(Map<K, PostingList> lists, K from, K to, long taskId) {
+        if (!Objects.equals(from, to)) {
+            if (from != null) {
+                remove(lists, from, taskId);
+            }
+            if (to != null) {
+                add(lists, to, taskId);
+            }
+        }
+        return to;
+    }
+
+    private static <K> void add(Map<K, PostingList> lists, K key, long taskId) {
+        lists.computeIfAbsent(key, k -> new PostingList()).add(taskId);
+    }
+
+    private static <K> void remove(Map<K, PostingList> lists, K key, long taskId) {
+        PostingList list = lists.get(key);
+        if (list != null) {
+            list.remove(taskId);
+            if (list.size() == 0) {
+                lists.remove(key);
+            }
+        }
+    }
+
+    private static boolean contains(String[] sortedTerms, String term) {
+        return Arrays.binarySearch(sortedTerms, term) >= 0;
+    }
+
+    private static boolean isEmpty(Collection<?> filter) {
+        return filter == null || filter.isEmpty();
+    }
+
+    // Ids are visited in increasing order: advance returns the smallest match >= target, or NO_MORE.
+    // cost is an upper bound of the matches, to let the shortest list lead an AND.
+    private interface DocIterator {
+        long advance(long target);
+
+        long cost();
+    }
+
+    private static final class PostingIterator implements DocIterator {
+        private final PostingList.Cursor cursor;
+        private final long cost;
+
+        PostingIterator(PostingList list) {
+            this.cursor = list.cursor();
+            this.cost = list.size();
+        }
+
+        @Override
+        public long advance(long target) {
+            return cursor.advance(target);
+        }
+
+        @Override
+        public long cost() {
+            return cost;
+        }
+    }
+
+    private static final class AndIterator implements DocIterator {
+        private final DocIterator[] iterators;
+
+        // The cheapest proposes candidates, the others only confirm them or skip ahead
+        AndIterator(List<DocIterator> iterators) {
+            this.iterators = iterators.toArray(new DocIterator[0]);
+            Arrays.sort(this.iterators, Comparator.comparingLong(DocIterator::cost));
+        }
+
+        @Override
+        public long advance(long target) {
+            long candidate = iterators[0].advance(target);
+            int agreed = 1;
+            while (candidate != NO_MORE && agreed < iterators.length) {
+                long next = iterators[agreed].advance(candidate);
+                if (next == candidate) {
+                    agreed++;
+                } else {
+                    candidate = iterators[0].advance(next);
+                    agreed = 1;
+                }
+            }
+            return candidate;
+        }
+
+        @Override
+        public long cost() {
+            return iterators[0].cost();
+        }
+    }
+
+    private static final class OrIterator implements DocIterator {
+        private final DocIterator[] alternatives;
+        private final long[] current;
+        private final long cost;
+
+        OrIterator(List<DocIterator> alternatives) {
+            this.alternatives = alternatives.toArray(new DocIterator[0]);
+            this.current = new long[this.alternatives.length];
+            Arrays.fill(current, Long.MIN_VALUE);
+            this.cost = alternatives.stream().mapToLong(DocIterator::cost).sum();
+        }
+
+        @Override
+        public long advance(long target) {
+            long smallest = NO_MORE;
+            for (int i = 0; i < alternatives.length; i++) {
+                if (current[i] < target) {
+                    current[i] = alternatives[i].advance(target);
+                }
+                smallest = Math.min(smallest, current[i]);
+            }
+            return smallest;
+        }
+
+        @Override
+        public long cost() {
+            return cost;
+        }
+    }
+}
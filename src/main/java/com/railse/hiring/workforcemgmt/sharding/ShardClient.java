@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.exception.ShardRequestException;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Calls the {@link ShardController} endpoints of other nodes. Requests are asynchronous so a scatter to every shard
+ * is in flight at once. A shard's 400, 404 and 409 are rethrown as the same exceptions, so the caller answers as if
+ * the task were local; anything else becomes a {@link ShardRequestException} (502).
+ */
+@Component
+@ConditionalOnProperty(name = "workforcemgmt.sharding.enabled", havingValue = "true")
+public class ShardClient {
+
+    private final List<URI> nodes;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Duration timeout;
+
+    public ShardClient(ObjectMapper objectMapper,
+                       @Value("${workforcemgmt.sharding.nodes}") List<String> nodes,
+                       @Value("${workforcemgmt.sharding.timeout-millis:5000}") long timeoutMillis) {
+        this.nodes = nodes.stream().map(node -> URI.create(node.endsWith("/") ? node : node + "/")).toList();
+        this.objectMapper = objectMapper;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    public List<String> nodes() {
+        return nodes.stream().map(URI::toString).toList();
+    }
+
+    public <T> CompletableFuture<Response<T>> get(int shard, String path, TypeReference<Response<T>> type) {
+        return send(shard, request(shard, path).GET().build(), type);
+    }
+
+    public <T> CompletableFuture<Response<T>> post(int shard, String path, Object body, TypeReference<Response<T>> type) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request for shard " + shard, e);
+        }
+        return send(shard, request(shard, path)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json))
+                .build(), type);
+    }
+
+    /** Waits for a shard call, rethrowing its failure as is instead of wrapped. */
+    public static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private HttpRequest.Builder request(int shard, String path) {
+        return HttpRequest.newBuilder(nodes.get(shard).resolve(path))
+                .timeout(timeout)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private <T> CompletableFuture<Response<T>> send(int shard, HttpRequest request, TypeReference<Response<T>> type) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw new ShardRequestException("Shard " + shard + " at " + nodes.get(shard)
+                                + " is unreachable: " + error.getMessage(), error);
+                    }
+                    Response<T> body = parse(shard, response.body(), type);
+                    String message = body.getStatus() != null ? body.getStatus().getMessage() : null;
+                    return switch (response.statusCode()) {
+                        case 200 -> body;
+                        case 400 -> throw new BadRequestException(message);
+                        case 404 -> throw new ResourceNotFoundException(message);
+                        case 409 -> throw new ConflictException(message);
+                        default -> throw new ShardRequestException("Shard " + shard + " answered "
+                                + response.statusCode() + ": " + message);
+                    };
+                });
+    }
+
+    private <T> Response<T> parse(int shard, byte[] body, TypeReference<Response<T>> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new ShardRequestException("Unreadable response from shard " + shard + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Node-to-node API of a sharded deployment: the same operations as /task-mgmt, answered from this node's own store
+ * only and never routed further, so a call between nodes cannot bounce around when their configs disagree.
+ * Only {@link ShardedTaskManagementService} on other nodes is meant to call it.
+ */
+@RestController
+@RequestMapping("/internal/shard")
+@ConditionalOnProperty(name = "workforcemgmt.sharding.enabled", havingValue = "true")
+public class ShardController {
+
+    private final TaskManagementService localService;
+
+    public ShardController(@Qualifier("taskManagementServiceImpl") TaskManagementService localService) {
+        this.localService = localService;
+    }
+
+    @GetMapping("/{id}")
+    public Response<TaskManagementDto> getTaskById(@PathVariable Long id) {
+        return new Response<>(localService.findTaskById(id));
+    }
+
+    @PostMapping("/create")
+    public Response<List<TaskManagementDto>> createTasks(@RequestBody TaskCreateRequest request) {
+        return new Response<>(localService.createTasks(request));
+    }
+
+    @PostMapping("/import")
+    public Response<Integer> importTasks(@RequestBody TaskCreateRequest request) {
+        return new Response<>(localService.importTasks(request));
+    }
+
+    @PostMapping("/update")
+    public Response<List<TaskManagementDto>> updateTasks(@RequestBody UpdateTaskRequest request) {
+        return new Response<>(localService.updateTasks(request));
+    }
+
+    @PostMapping("/assign-by-ref")
+    public Response<String> assignByReference(@RequestBody AssignByReferenceRequest request) {
+        return new Response<>(localService.assignByReference(request));
+    }
+
+    @PostMapping("/fetch-by-date")
+    public Response<List<TaskManagementDto>> fetchByDate(@RequestBody TaskFetchByDateRequest request) {
+        if (request.getLimit() == null) {
+            return new Response<>(localService.fetchTasksByDate(request));
+        }
+        Page<TaskManagementDto> page = localService.fetchTasksByDatePage(request);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    @PostMapping("/priority/update")
+    public Response<TaskManagementDto> updateTaskPriority(@RequestBody UpdatePriorityRequest request) {
+        return new Response<>(localService.updateTaskPriority(request));
+    }
+
+    @GetMapping("/priority/{priority}")
+    public Response<List<TaskManagementDto>> getTasksByPriority(@PathVariable Priority priority,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) Long cursor) {
+        if (limit == null) {
+            return new Response<>(localService.findTasksByPriority(priority));
+        }
+        Page<TaskManagementDto> page = localService.findTasksByPriorityPage(priority, limit, cursor);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    @GetMapping("/overdue")
+    public Response<List<TaskManagementDto>> getOverdueTasks(@RequestParam(required = false) Integer limit,
+                                                             @RequestParam(required = false) Long cursor) {
+        if (limit == null) {
+            return new Response<>(localService.findOverdueTasks());
+        }
+        Page<TaskManagementDto> page = localService.findOverdueTasksPage(limit, cursor);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    @GetMapping("/stats")
+    public Response<TaskStatsDto> getTaskStats(@RequestParam(name = "assignee_ids", required = false) List<Long> assigneeIds) {
+        return new Response<>(localService.getTaskStats(assigneeIds));
+    }
+
+    @PostMapping("/search")
+    public Response<List<TaskManagementDto>> searchTasks(@RequestBody TaskSearchRequest request) {
+        Page<TaskManagementDto> page = localService.searchTasks(request);
+        return new Response<>(page.items(), page.pagination());
+    }
+
+    @PostMapping("/comment")
+    public Response<TaskCommentDto> addComment(@RequestBody AddCommentRequest request) {
+        return new Response<>(localService.addComment(request));
+    }
+}
@@ -0,0 +1,60 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Consistent-hash ring placing references on shards. Every node is hashed onto the ring at {@code virtualNodes}
+ * points derived from its address, and a reference belongs to the first point at or after its own hash. Adding or
+ * removing a node only moves the references next to that node's points. Every node must be configured with the
+ * same node list to agree on ownership.
+ */
+final class ShardRing {
+
+    private final long[] points;
+    private final int[] owners;
+
+    ShardRing(List<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard node is required");
+        }
+        int size = nodes.size() * virtualNodes;
+        long[][] entries = new long[size][];
+        for (int node = 0; node < nodes.size(); node++) {
+            long nodeHash = nodes.get(node).hashCode();
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                entries[node * virtualNodes + replica] = new long[]{mix(nodeHash * 0x9E3779B97F4A7C15L + replica), node};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        points = new long[size];
+        owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    int ownerOf(Long referenceId, ReferenceType referenceType) {
+        long hash = mix(Objects.hashCode(referenceId) * 31L
+                + (referenceType != null ? referenceType.name().hashCode() : 0));
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    // MurmurHash3 finalizer: spreads nearby inputs (consecutive reference ids) over the whole ring
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53a87c3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,427 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.railse.hiring.workforcemgmt.common.exception.ResourceNotFoundException;
+import com.railse.hiring.workforcemgmt.common.model.response.Page;
+import com.railse.hiring.workforcemgmt.common.model.response.Pagination;
+import com.railse.hiring.workforcemgmt.common.model.response.Response;
+import com.railse.hiring.workforcemgmt.dto.*;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Routes the task API over the shards of a partitioned deployment. Tasks live on the shard that owns their
+ * (reference_id, reference_type) on the {@link ShardRing}, and task ids encode that shard ({@link TaskIdSpace}), so:
+ * <ul>
+ *     <li>operations on one reference or one task id (create, update, assign-by-ref, priority update, comment, get)
+ *     run on exactly one shard, locally or through the owner's {@link ShardController};</li>
+ *     <li>fetch-by-date, priority, overdue, search and stats ask every shard in parallel and merge; pages are merged by id,
+ *     which stays a valid keyset order because each shard's ids are a separate range.</li>
+ * </ul>
+ * Batches spanning several shards (create, update) are split per shard and are only atomic per shard.
+ * With {@code workforcemgmt.sharding.self=-1} the node stores nothing and routes every call: a standalone router.
+ * Workload-based auto-assignment, deadlines and the change feed stay per shard.
+ * <p>
+ * Three shards on loopback, each started with its own {@code --server.port} and {@code --workforcemgmt.sharding.self}:
+ * <pre>
+ * --workforcemgmt.sharding.enabled=true
+ * --workforcemgmt.sharding.nodes=http://127.0.0.1:8081,http://127.0.0.1:8082,http://127.0.0.1:8083
+ * --server.port=8081 --workforcemgmt.sharding.self=0
+ * </pre>
+ */
+@Slf4j
+@Primary
+@Service
+@ConditionalOnProperty(name = "workforcemgmt.sharding.enabled", havingValue = "true")
+public class ShardedTaskManagementService implements TaskManagementService {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final TypeReference<Response<TaskManagementDto>> TASK = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<List<TaskManagementDto>>> TASKS = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<Integer>> COUNT = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<String>> MESSAGE = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<TaskCommentDto>> COMMENT = new TypeReference<>() {
+    };
+    private static final TypeReference<Response<TaskStatsDto>> STATS = new TypeReference<>() {
+    };
+
+    private final TaskManagementService localService;
+    private final ShardClient shardClient;
+    private final ShardRing ring;
+    private final int self;
+    private final List<Integer> allShards;
+    private final ServiceTimers.MethodTimers timers;
+
+    public ShardedTaskManagementService(@Qualifier("taskManagementServiceImpl") TaskManagementService localService,
+                                        ShardClient shardClient,
+                                        @Value("${workforcemgmt.sharding.self}") int self,
+                                        @Value("${workforcemgmt.sharding.virtual-nodes:128}") int virtualNodes,
+                                        @Value("${workforcemgmt.task-store:object}") String taskStore,
+                                        ServiceTimers serviceTimers) {
+        List<String> nodes = shardClient.nodes();
+        if (self < -1 || self >= nodes.size()) {
+            throw new IllegalStateException("workforcemgmt.sharding.self must be an index into "
+                    + "workforcemgmt.sharding.nodes, or -1 for a router, but is " + self);
+        }
+        if ("compact".equals(taskStore)) {
+            throw new IllegalStateException("Sharding needs workforcemgmt.task-store=object; the compact store "
+                    + "cannot allocate task ids in a shard's range");
+        }
+        this.localService = localService;
+        this.shardClient = shardClient;
+        this.ring = new ShardRing(nodes, virtualNodes);
+        this.self = self;
+        this.allShards = IntStream.range(0, nodes.size()).boxed().toList();
+        // Timed under this implementation like the local service's timers, so routing and fan-out show up as the
+        // difference between the two
+        this.timers = serviceTimers.forService(TaskManagementService.class, this);
+        log.info("Sharding enabled: {} of {} nodes {}", self >= 0 ? "shard " + self : "router", nodes.size(), nodes);
+    }
+
+    @Override
+    public TaskManagementDto findTaskById(Long id) {
+        return onShard(shardOfTask(id), () -> localService.findTaskById(id),
+                shard -> shardClient.get(shard, "internal/shard/" + id, TASK));
+    }
+
+    @Override
+    public List<TaskManagementDto> createTasks(TaskCreateRequest request) {
+        return timers.timed("createTasks", () -> {
+            List<TaskCreateRequest.RequestItem> items = request.getRequests();
+            Map<Integer, List<Integer>> positions = positionsByOwner(items);
+            Map<Integer, TaskCreateRequest> requests = createRequests(items, positions);
+            Map<Integer, List<TaskManagementDto>> created = onShards(requests.keySet(),
+                    () -> localService.createTasks(requests.get(self)),
+                    shard -> data(shardClient.post(shard, "internal/shard/create", requests.get(shard), TASKS)));
+            return inRequestOrder(items.size(), positions, created);
+        });
+    }
+
+    @Override
+    public int importTasks(TaskCreateRequest request) {
+        return timers.timed("importTasks", () -> {
+            List<TaskCreateRequest.RequestItem> items = request.getRequests();
+            Map<Integer, TaskCreateRequest> requests = createRequests(items, positionsByOwner(items));
+            return onShards(requests.keySet(),
+                    () -> localService.importTasks(requests.get(self)),
+                    shard -> data(shardClient.post(shard, "internal/shard/import", requests.get(shard), COUNT)))
+                    .values().stream().mapToInt(Integer::intValue).sum();
+        });
+    }
+
+    private Map<Integer, List<Integer>> positionsByOwner(List<TaskCreateRequest.RequestItem> items) {
+        return positionsByShard(items.size(),
+                i -> ring.ownerOf(items.get(i).getReferenceId(), items.get(i).getReferenceType()));
+    }
+
+    private static Map<Integer, TaskCreateRequest> createRequests(List<TaskCreateRequest.RequestItem> items,
+                                                                  Map<Integer, List<Integer>> positions) {
+        Map<Integer, TaskCreateRequest> requests = new LinkedHashMap<>();
+        positions.forEach((shard, indexes) -> {
+            TaskCreateRequest shardRequest = new TaskCreateRequest();
+            shardRequest.setRequests(indexes.stream().map(items::get).toList());
+            requests.put(shard, shardRequest);
+        });
+        return requests;
+    }
+
+    @Override
+    public List<TaskManagementDto> updateTasks(UpdateTaskRequest request) {
+        return timers.timed("updateTasks", () -> {
+            List<UpdateTaskRequest.RequestItem> items = request.getRequests();
+            Map<Integer, List<Integer>> positions = positionsByShard(items.size(),
+                    i -> shardOfTask(items.get(i).getTaskId()));
+            Map<Integer, UpdateTaskRequest> requests = new LinkedHashMap<>();
+            positions.forEach((shard, indexes) -> {
+                UpdateTaskRequest shardRequest = new UpdateTaskRequest();
+                shardRequest.setRequests(indexes.stream().map(items::get).toList());
+                requests.put(shard, shardRequest);
+            });
+            Map<Integer, List<TaskManagementDto>> updated = onShards(requests.keySet(),
+                    () -> localService.updateTasks(requests.get(self)),
+                    shard -> data(shardClient.post(shard, "internal/shard/update", requests.get(shard), TASKS)));
+            return inRequestOrder(items.size(), positions, updated);
+        });
+    }
+
+    // All tasks of a reference are on its owner, so the reassignment never spans shards
+    @Override
+    public String assignByReference(AssignByReferenceRequest request) {
+        return timers.timed("assignByReference", () ->
+                onShard(ring.ownerOf(request.getReferenceId(), request.getReferenceType()),
+                        () -> localService.assignByReference(request),
+                        shard -> shardClient.post(shard, "internal/shard/assign-by-ref", request, MESSAGE)));
+    }
+
+    @Override
+    public List<TaskManagementDto> fetchTasksByDate(TaskFetchByDateRequest request) {
+        return timers.timed("fetchTasksByDate", () -> {
+            TaskFetchByDateRequest unpaged = copy(request, null, null);
+            return concat(onShards(allShards, () -> localService.fetchTasksByDate(unpaged),
+                    shard -> data(shardClient.post(shard, "internal/shard/fetch-by-date", unpaged, TASKS))));
+        });
+    }
+
+    @Override
+    public Page<TaskManagementDto> fetchTasksByDatePage(TaskFetchByDateRequest request) {
+        return timers.timed("fetchTasksByDatePage", () -> {
+            int limit = pageSize(request.getLimit());
+            TaskFetchByDateRequest paged = copy(request, limit, request.getCursor());
+            return mergePages(limit, onShards(allShards, () -> localService.fetchTasksByDatePage(paged),
+                    shard -> page(shardClient.post(shard, "internal/shard/fetch-by-date", paged, TASKS))));
+        });
+    }
+
+    @Override
+    public Stream<TaskManagementDto> streamTasksByDate(TaskFetchByDateRequest request) {
+        return pages(request.getCursor(), (limit, cursor) -> fetchTasksByDatePage(copy(request, limit, cursor)));
+    }
+
+    @Override
+    public TaskManagementDto updateTaskPriority(UpdatePriorityRequest request) {
+        return timers.timed("updateTaskPriority", () ->
+                onShard(shardOfTask(request.getTaskId()), () -> localService.updateTaskPriority(request),
+                        shard -> shardClient.post(shard, "internal/shard/priority/update", request, TASK)));
+    }
+
+    @Override
+    public List<TaskManagementDto> findTasksByPriority(Priority priority) {
+        return timers.timed("findTasksByPriority", () ->
+                concat(onShards(allShards, () -> localService.findTasksByPriority(priority),
+                        shard -> data(shardClient.get(shard, "internal/shard/priority/" + priority, TASKS)))));
+    }
+
+    @Override
+    public Page<TaskManagementDto> findTasksByPriorityPage(Priority priority, int requestedLimit, Long cursor) {
+        return timers.timed("findTasksByPriorityPage", () -> {
+            int limit = pageSize(requestedLimit);
+            String path = "internal/shard/priority/" + priority + pageQuery(limit, cursor);
+            return mergePages(limit, onShards(allShards,
+                    () -> localService.findTasksByPriorityPage(priority, limit, cursor),
+                    shard -> page(shardClient.get(shard, path, TASKS))));
+        });
+    }
+
+    @Override
+    public Stream<TaskManagementDto> streamTasksByPriority(Priority priority, Long cursor) {
+        return pages(cursor, (limit, after) -> findTasksByPriorityPage(priority, limit, after));
+    }
+
+    @Override
+    public List<TaskManagementDto> findOverdueTasks() {
+        return timers.timed("findOverdueTasks", () ->
+                concat(onShards(allShards, localService::findOverdueTasks,
+                        shard -> data(shardClient.get(shard, "internal/shard/overdue", TASKS)))));
+    }
+
+    @Override
+    public Page<TaskManagementDto> findOverdueTasksPage(int requestedLimit, Long cursor) {
+        return timers.timed("findOverdueTasksPage", () -> {
+            int limit = pageSize(requestedLimit);
+            String path = "internal/shard/overdue" + pageQuery(limit, cursor);
+            return mergePages(limit, onShards(allShards, () -> localService.findOverdueTasksPage(limit, cursor),
+                    shard -> page(shardClient.get(shard, path, TASKS))));
+        });
+    }
+
+    @Override
+    public TaskCommentDto addComment(AddCommentRequest request) {
+        return timers.timed("addComment", () ->
+                onShard(shardOfTask(request.getTaskId()), () -> localService.addComment(request),
+                        shard -> shardClient.post(shard, "internal/shard/comment", request, COMMENT)));
+    }
+
+    @Override
+    public TaskStatsDto getTaskStats(List<Long> assigneeIds) {
+        return timers.timed("getTaskStats", () -> {
+            String query = assigneeIds == null || assigneeIds.isEmpty() ? ""
+                    : "?assignee_ids=" + assigneeIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+            TaskStatsDto total = null;
+            for (TaskStatsDto stats : onShards(allShards, () -> localService.getTaskStats(assigneeIds),
+                    shard -> data(shardClient.get(shard, "internal/shard/stats" + query, STATS))).values()) {
+                total = total == null ? stats : add(total, stats);
+            }
+            return total;
+        });
+    }
+
+    @Override
+    public Page<TaskManagementDto> searchTasks(TaskSearchRequest request) {
+        return timers.timed("searchTasks", () -> {
+            int limit = pageSize(request.getLimit());
+            TaskSearchRequest paged = copy(request, limit);
+            return mergePages(limit, onShards(allShards, () -> localService.searchTasks(paged),
+                    shard -> page(shardClient.post(shard, "internal/shard/search", paged, TASKS))));
+        });
+    }
+
+    private int shardOfTask(Long taskId) {
+        int shard = taskId != null ? TaskIdSpace.shardOf(taskId) : -1;
+        if (shard < 0 || shard >= allShards.size()) {
+            throw new ResourceNotFoundException("Task not found with id: " + taskId);
+        }
+        return shard;
+    }
+
+    private <T> T onShard(int shard, Supplier<T> locally,
+                          IntFunction<CompletableFuture<Response<T>>> remotely) {
+        return shard == self ? locally.get() : ShardClient.join(remotely.apply(shard)).getData();
+    }
+
+    // Remote calls go out first so they overlap with the local one, which runs on the calling thread
+    private <R> Map<Integer, R> onShards(Collection<Integer> shards, Supplier<R> locally,
+                                         IntFunction<CompletableFuture<R>> remotely) {
+        Map<Integer, CompletableFuture<R>> remote = new TreeMap<>();
+        for (int shard : shards) {
+            if (shard != self) {
+                remote.put(shard, remotely.apply(shard));
+            }
+        }
+        Map<Integer, R> results = new TreeMap<>();
+        if (shards.contains(self)) {
+            results.put(self, locally.get());
+        }
+        remote.forEach((shard, call) -> results.put(shard, ShardClient.join(call)));
+        return results;
+    }
+
+    private static <T> CompletableFuture<T> data(CompletableFuture<Response<T>> call) {
+        return call.thenApply(Response::getData);
+    }
+
+    private static CompletableFuture<Page<TaskManagementDto>> page(CompletableFuture<Response<List<TaskManagementDto>>> call) {
+        return call.thenApply(response -> new Page<>(response.getData(), response.getPagination()));
+    }
+
+    private static Map<Integer, List<Integer>> positionsByShard(int size, IntUnaryOperator shardOf) {
+        Map<Integer, List<Integer>> positions = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            positions.computeIfAbsent(shardOf.applyAsInt(i), shard -> new ArrayList<>()).add(i);
+        }
+        return positions;
+    }
+
+    // Each shard answers its part of a batch in the order it was sent
+    private static <T> List<T> inRequestOrder(int size, Map<Integer, List<Integer>> positions, Map<Integer, List<T>> results) {
+        List<T> ordered = new ArrayList<>(Collections.nCopies(size, null));
+        positions.forEach((shard, indexes) -> {
+            List<T> shardResults = results.get(shard);
+            for (int i = 0; i < indexes.size(); i++) {
+                ordered.set(indexes.get(i), shardResults.get(i));
+            }
+        });
+        return ordered;
+    }
+
+    // Shards are visited in index order, so tasks come out grouped by shard like their id ranges
+    private static List<TaskManagementDto> concat(Map<Integer, List<TaskManagementDto>> byShard) {
+        List<TaskManagementDto> all = new ArrayList<>();
+        byShard.values().forEach(all::addAll);
+        return all;
+    }
+
+    /**
+     * Each shard returned up to {@code limit} tasks after the cursor in id order, so the first {@code limit} of all
+     * of them by id are the next page; there is more if anything was cut off or any shard has more.
+     */
+    private static Page<TaskManagementDto> mergePages(int limit, Map<Integer, Page<TaskManagementDto>> byShard) {
+        List<TaskManagementDto> merged = new ArrayList<>();
+        boolean shardHasMore = false;
+        for (Page<TaskManagementDto> page : byShard.values()) {
+            merged.addAll(page.items());
+            shardHasMore |= page.pagination() != null && Boolean.TRUE.equals(page.pagination().getHasMore());
+        }
+        merged.sort(Comparator.comparing(TaskManagementDto::getId));
+        List<TaskManagementDto> items = merged.size() > limit ? merged.subList(0, limit) : merged;
+        Long nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        return new Page<>(items, new Pagination(limit, nextCursor, merged.size() > limit || shardHasMore));
+    }
+
+    // Streams read merged pages one at a time, fetching the next only once the previous one is consumed
+    private static Stream<TaskManagementDto> pages(Long cursor, BiFunction<Integer, Long, Page<TaskManagementDto>> fetch) {
+        return Stream.iterate(fetch.apply(MAX_PAGE_SIZE, cursor), Objects::nonNull,
+                        page -> Boolean.TRUE.equals(page.pagination().getHasMore())
+                                ? fetch.apply(MAX_PAGE_SIZE, page.pagination().getNextCursor()) : null)
+                .flatMap(page -> page.items().stream());
+    }
+
+    private static TaskFetchByDateRequest copy(TaskFetchByDateRequest request, Integer limit, Long cursor) {
+        TaskFetchByDateRequest copy = new TaskFetchByDateRequest();
+        copy.setStartDate(request.getStartDate());
+        copy.setEndDate(request.getEndDate());
+        copy.setAssigneeIds(request.getAssigneeIds());
+        copy.setLimit(limit);
+        copy.setCursor(cursor);
+        return copy;
+    }
+
+    private static TaskSearchRequest copy(TaskSearchRequest request, int limit) {
+        TaskSearchRequest copy = new TaskSearchRequest();
+        copy.setQuery(request.getQuery());
+        copy.setStatuses(request.getStatuses());
+        copy.setPriorities(request.getPriorities());
+        copy.setAssigneeIds(request.getAssigneeIds());
+        copy.setLimit(limit);
+        copy.setCursor(request.getCursor());
+        return copy;
+    }
+
+    private static String pageQuery(int limit, Long cursor) {
+        return "?limit=" + limit + (cursor != null ? "&cursor=" + cursor : "");
+    }
+
+    private static int pageSize(Integer requestedLimit) {
+        return requestedLimit != null ? Math.max(1, Math.min(requestedLimit, MAX_PAGE_SIZE)) : MAX_PAGE_SIZE;
+    }
+
+    private static TaskStatsDto add(TaskStatsDto into, TaskStatsDto from) {
+        into.setTotal(into.getTotal() + from.getTotal());
+        from.getByStatus().forEach((status, count) -> into.getByStatus().merge(status, count, Long::sum));
+        from.getByPriority().forEach((priority, count) -> into.getByPriority().merge(priority, count, Long::sum));
+        from.getByTask().forEach((task, count) -> into.getByTask().merge(task, count, Long::sum));
+        from.getCounts().forEach((status, byPriority) -> byPriority.forEach((priority, byTask) ->
+                byTask.forEach((task, count) -> into.getCounts()
+                        .computeIfAbsent(status, s -> new EnumMap<>(Priority.class))
+                        .computeIfAbsent(priority, p -> new EnumMap<>(Task.class))
+                        .merge(task, count, Long::sum))));
+        if (from.getAssignees() != null) {
+            if (into.getAssignees() == null) {
+                into.setAssignees(new LinkedHashMap<>());
+            }
+            from.getAssignees().forEach((assigneeId, stats) ->
+                    into.getAssignees().merge(assigneeId, stats, ShardedTaskManagementService::add));
+        }
+        return into;
+    }
+}
@@ -0,0 +1,23 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+/**
+ * Task ids carry the index of the shard that stores the task in their high bits, so any node can route a request
+ * by task id without a lookup. Each shard allocates ids upwards from {@link #idBase}, leaving it 2^40 ids; shard 0
+ * keeps the ids of an unsharded store.
+ */
+public final class TaskIdSpace {
+
+    private static final int SHARD_SHIFT = 40;
+
+    private TaskIdSpace() {
+    }
+
+    /** The first id of the shard is {@code idBase(shard) + 1}. */
+    public static long idBase(int shard) {
+        return (long) shard << SHARD_SHIFT;
+    }
+
+    public static int shardOf(long taskId) {
+        return (int) (taskId >>> SHARD_SHIFT);
+    }
+}
@@ -0,0 +1,57 @@
+package com.railse.hiring.workforcemgmt.common.concurrent;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling, MVC async work (streaming bodies, deferred results) and the application's background
+ * threads on virtual threads, so a request blocked on persistence no longer holds one of Tomcat's platform threads.
+ * Only compiled by the JDK 21 build ({@code -PvirtualThreads}); enabled with {@code workforcemgmt.threads.virtual=true},
+ * which the {@code virtual-threads} Spring profile sets.
+ */
+@Configuration
+@ConditionalOnProperty(name = "workforcemgmt.threads.virtual", havingValue = "true")
+public class VirtualThreadConfiguration {
+
+    @Bean
+    public WorkerThreads virtualWorkerThreads() {
+        return new WorkerThreads() {
+            @Override
+            public Thread newThread(String name, Runnable task) {
+                return Thread.ofVirtual().name(name).unstarted(task);
+            }
+
+            @Override
+            public ExecutorService newExecutor(String namePrefix) {
+                return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix + "-", 1).factory());
+            }
+
+            @Override
+            public ExecutorService newFixedExecutor(String namePrefix, int threads) {
+                return Executors.newFixedThreadPool(threads, Thread.ofVirtual().name(namePrefix + "-", 1).factory());
+            }
+        };
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 1).factory()));
+    }
+
+    // Picked up by Spring MVC for async request processing
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("mvc-async-", 1).factory()));
+    }
+}
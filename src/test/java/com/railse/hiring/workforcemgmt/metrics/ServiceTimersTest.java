@@ -0,0 +1,50 @@
+package com.railse.hiring.workforcemgmt.metrics;
+
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServiceTimersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ServiceTimers.MethodTimers timers = new ServiceTimers(registry).forService(TaskManagementService.class, this);
+
+    @Test
+    void recordsEachMethodUnderItsOwnTags() {
+        assertThat(timers.timed("createTasks", () -> 1)).isEqualTo(1);
+        timers.timed("createTasks", () -> 2);
+        timers.timed("searchTasks", () -> 3);
+
+        assertThat(timer("createTasks").count()).isEqualTo(2);
+        assertThat(timer("searchTasks").count()).isEqualTo(1);
+        assertThat(registry.find(ServiceTimers.TIMER_NAME).timers()).hasSize(2);
+    }
+
+    @Test
+    void failedCallsAreTimedToo() {
+        assertThatThrownBy(() -> timers.timed("addComment", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(timer("addComment").count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledTimersOnlyRunTheBody() {
+        ServiceTimers.MethodTimers disabled = ServiceTimers.disabled().forService(TaskManagementService.class, this);
+
+        assertThat(disabled.timed("createTasks", () -> "done")).isEqualTo("done");
+    }
+
+    private Timer timer(String method) {
+        return registry.get(ServiceTimers.TIMER_NAME)
+                .tag("service", "TaskManagementService")
+                .tag("method", method)
+                .tag("implementation", "ServiceTimersTest")
+                .timer();
+    }
+}
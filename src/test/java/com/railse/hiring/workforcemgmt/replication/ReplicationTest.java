@@ -0,0 +1,264 @@
+package com.railse.hiring.workforcemgmt.replication;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.replication.ReplicationProtocol.MessageType;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.impl.ChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Runs a primary on a local port. The resume-or-snapshot decision is checked with a bare protocol client that
+ * connects at a chosen position; a real {@link ReplicationReplica} is checked to end up with the primary's state.
+ */
+class ReplicationTest {
+
+    private static final int RING_CAPACITY = 8;
+
+    private final InMemoryTaskRepository tasks = new InMemoryTaskRepository(true, 0);
+    private final InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository();
+    private final InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository();
+    private final ChangeFeed feed = new ChangeFeed(tasks, activities, comments, new ITaskManagementMapperImpl(),
+            new ITaskActivityMapperImpl(), new ITaskCommentMapperImpl(), new PlatformWorkerThreads(), RING_CAPACITY);
+    private final int port = freePort();
+    private final ReplicationPrimary primary = new ReplicationPrimary(tasks, activities, comments, feed,
+            new PlatformWorkerThreads(), "127.0.0.1", port, 20, 1024);
+    private ReplicationReplica replica;
+
+    /** What the primary sent up to and including its first heartbeat. */
+    private record Received(long epoch, List<MessageType> messages, List<Long> changeSeqs,
+                            Map<ChangeEntityType, Integer> snapshotEntries, Long snapshotSeq, long heartbeatSeq) {
+    }
+
+    @AfterEach
+    void shutdown() {
+        if (replica != null) {
+            replica.shutdown();
+        }
+        primary.shutdown();
+        feed.shutdown();
+    }
+
+    @Test
+    void newReplicaStartsWithASnapshot() throws IOException {
+        saveHistory();
+
+        Received received = connect(0, 0);
+
+        assertThat(received.epoch()).isEqualTo(primary.epoch());
+        assertThat(received.changeSeqs()).isEmpty();
+        assertThat(received.snapshotEntries()).containsOnly(Map.entry(ChangeEntityType.TASK, 3),
+                Map.entry(ChangeEntityType.ACTIVITY, 2), Map.entry(ChangeEntityType.COMMENT, 1));
+        assertThat(received.snapshotSeq()).isEqualTo(6);
+        assertThat(received.heartbeatSeq()).isEqualTo(6);
+    }
+
+    @Test
+    void replicaInsideTheRingResumesWithChanges() throws IOException {
+        saveHistory();
+
+        Received behind = connect(primary.epoch(), 3);
+        Received current = connect(primary.epoch(), 6);
+
+        assertThat(behind.messages()).doesNotContain(MessageType.SNAPSHOT_ENTRY, MessageType.SNAPSHOT_END);
+        assertThat(behind.changeSeqs()).containsExactly(4L, 5L, 6L);
+        assertThat(current.messages()).containsExactly(MessageType.HEARTBEAT);
+        assertThat(current.heartbeatSeq()).isEqualTo(6);
+    }
+
+    @Test
+    void replicaTheRingHasOverwrittenGetsASnapshot() throws IOException {
+        saveHistory();
+        for (int i = 0; i < RING_CAPACITY; i++) {
+            tasks.save(newTask());
+        }
+
+        Received received = connect(primary.epoch(), 3);
+
+        assertThat(received.changeSeqs()).isEmpty();
+        assertThat(received.snapshotEntries()).containsEntry(ChangeEntityType.TASK, 3 + RING_CAPACITY);
+        assertThat(received.snapshotSeq()).isEqualTo(6 + RING_CAPACITY);
+    }
+
+    @Test
+    void replicaOfAnotherPrimaryRunGetsASnapshot() throws IOException {
+        saveHistory();
+
+        Received otherRun = connect(primary.epoch() ^ 1, 6);
+        Received ahead = connect(primary.epoch(), 7);
+
+        assertThat(otherRun.snapshotSeq()).isEqualTo(6);
+        assertThat(otherRun.changeSeqs()).isEmpty();
+        assertThat(ahead.snapshotSeq()).isEqualTo(6);
+    }
+
+    @Test
+    void replicaSyncsFromTheSnapshotAndFollowsLaterChanges() {
+        List<Long> taskIds = saveHistory();
+        InMemoryTaskRepository replicaTasks = new InMemoryTaskRepository(true, 0);
+        InMemoryTaskActivityRepository replicaActivities = new InMemoryTaskActivityRepository();
+        InMemoryTaskCommentRepository replicaComments = new InMemoryTaskCommentRepository();
+        replica = new ReplicationReplica(replicaTasks, replicaActivities, replicaComments, new PlatformWorkerThreads(),
+                "memory", "127.0.0.1", port, 20, 50, 5_000);
+
+        awaitCaughtUp();
+        assertThat(replica.epoch()).isEqualTo(primary.epoch());
+        assertSameState(replicaTasks, replicaActivities, replicaComments, taskIds);
+
+        // More changes than the ring holds, so the replica has to keep up as they are made
+        for (int i = 0; i < 3 * RING_CAPACITY; i++) {
+            TaskManagement task = tasks.findById(taskIds.get(i % taskIds.size())).orElseThrow();
+            task.setPriority(Priority.values()[i % Priority.values().length]);
+            tasks.save(task);
+        }
+        comments.save(comment(taskIds.get(1)));
+
+        awaitCaughtUp();
+        assertSameState(replicaTasks, replicaActivities, replicaComments, taskIds);
+        assertThat(replica.isConnected()).isTrue();
+        assertThat(replica.lagMillis()).isNotNull();
+        assertThatCode(replica::checkLag).doesNotThrowAnyException();
+    }
+
+    // Three tasks, then two activities and a comment on the first: seqs 1 to 6
+    private List<Long> saveHistory() {
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            taskIds.add(tasks.save(newTask()).getId());
+        }
+        activities.saveAll(List.of(activity(taskIds.get(0)), activity(taskIds.get(0))));
+        comments.save(comment(taskIds.get(0)));
+        return taskIds;
+    }
+
+    private Received connect(long epoch, long seq) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", port)) {
+            socket.setSoTimeout(5_000);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeLong(epoch);
+            out.writeLong(seq);
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            long primaryEpoch = in.readLong();
+            List<MessageType> messages = new ArrayList<>();
+            List<Long> changeSeqs = new ArrayList<>();
+            Map<ChangeEntityType, Integer> snapshotEntries = new EnumMap<>(ChangeEntityType.class);
+            Long snapshotSeq = null;
+            while (true) {
+                MessageType type = ReplicationProtocol.readMessageType(in);
+                messages.add(type);
+                switch (type) {
+                    case CHANGE -> {
+                        changeSeqs.add(in.readLong());
+                        ReplicationProtocol.readEntity(in, ReplicationProtocol.readEntityType(in));
+                    }
+                    case SNAPSHOT_ENTRY -> {
+                        ChangeEntityType entityType = ReplicationProtocol.readEntityType(in);
+                        ReplicationProtocol.readEntity(in, entityType);
+                        snapshotEntries.merge(entityType, 1, Integer::sum);
+                    }
+                    case SNAPSHOT_END -> snapshotSeq = in.readLong();
+                    case HEARTBEAT -> {
+                        return new Received(primaryEpoch, messages, changeSeqs, snapshotEntries, snapshotSeq,
+                                in.readLong());
+                    }
+                }
+            }
+        }
+    }
+
+    private void awaitCaughtUp() {
+        await(() -> replica.epoch() == primary.epoch() && replica.appliedSeq() == primary.lastSeq());
+    }
+
+    private void assertSameState(InMemoryTaskRepository replicaTasks, InMemoryTaskActivityRepository replicaActivities,
+                                 InMemoryTaskCommentRepository replicaComments, List<Long> taskIds) {
+        Comparator<TaskManagement> byId = Comparator.comparing(TaskManagement::getId);
+        assertThat(replicaTasks.findAll().stream().sorted(byId).toList())
+                .isEqualTo(tasks.findAll().stream().sorted(byId).toList());
+        for (Long taskId : taskIds) {
+            assertThat(replicaActivities.findByTaskId(taskId)).isEqualTo(activities.findByTaskId(taskId));
+            assertThat(replicaComments.findByTaskId(taskId)).isEqualTo(comments.findByTaskId(taskId));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting for the replica").isLessThan(deadline);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static TaskManagement newTask() {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(42L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(1L);
+        task.setDescription("Replicated task");
+        return task;
+    }
+
+    private static TaskActivity activity(Long taskId) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setActivityType(ActivityType.TASK_CREATED);
+        activity.setDescription("Task created");
+        activity.setNewValue("ASSIGNED");
+        return activity;
+    }
+
+    private static TaskComment comment(Long taskId) {
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setComment("Checked on site");
+        comment.setUserId(1L);
+        return comment;
+    }
+}
@@ -0,0 +1,155 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdTaskHistoryTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 10, 1, 8, 30, 15, 123_456_789);
+    private static final String UNICODE = "Gr\u00fc\u00dfe, \u00e0 demain \u2713";
+
+    private final ColdTaskHistory cold = new ColdTaskHistory();
+
+    @Test
+    void blockDecodesToTheEntriesItWasGiven() {
+        List<TaskActivity> activities = List.of(
+                activity(77, 10, 7L, ActivityType.TASK_CREATED, "Task created", null, "ASSIGNED", CREATED),
+                activity(77, 12, null, ActivityType.TASK_PRIORITY_CHANGED, "Task priority changed", "LOW", "HIGH",
+                        CREATED.plusSeconds(90)),
+                activity(77, 15, 3L, ActivityType.COMMENT_ADDED, "Comment added to task", null,
+                        "Comment: " + UNICODE + "x".repeat(300), CREATED.minusDays(400)),
+                activity(77, 40, -2L, null, null, null, null, null),
+                activity(77, 41, 0L, ActivityType.TASK_OVERDUE, "Task deadline passed", null,
+                        "2026-10-02T09:00", LocalDateTime.of(2400, 1, 1, 0, 0)));
+        List<TaskComment> comments = List.of(
+                comment(77, 11, 7L, UNICODE, CREATED),
+                comment(77, 13, null, null, null),
+                comment(77, 2_000_000_000_000L, 9L, "", CREATED.plusNanos(1)));
+
+        cold.put(77L, activities, comments);
+
+        assertThat(cold.contains(77L)).isTrue();
+        assertThat(cold.findActivities(77L)).isEqualTo(activities);
+        assertThat(cold.findComments(77L)).isEqualTo(comments);
+        assertThat(cold.activityCount()).isEqualTo(5);
+        assertThat(cold.commentCount()).isEqualTo(3);
+        assertThat(cold.taskCount()).isEqualTo(1);
+        assertThat(cold.compressedBytes()).isPositive();
+    }
+
+    @Test
+    void replacingABlockKeepsTheCountsRight() {
+        cold.put(1L, List.of(activity(1, 1, 1L, ActivityType.TASK_CREATED, "Task created", null, "ASSIGNED", CREATED)),
+                List.of(comment(1, 2, 1L, "first", CREATED)));
+        cold.put(2L, List.of(), List.of(comment(2, 3, 1L, "other task", CREATED)));
+        cold.put(1L, List.of(activity(1, 1, 1L, ActivityType.TASK_CREATED, "Task created", null, "ASSIGNED", CREATED),
+                        activity(1, 4, 1L, ActivityType.TASK_CANCELLED, "Task cancelled", null, "CANCELLED", CREATED)),
+                List.of());
+
+        assertThat(cold.activityCount()).isEqualTo(2);
+        assertThat(cold.commentCount()).isEqualTo(1);
+        assertThat(cold.taskCount()).isEqualTo(2);
+        assertThat(cold.findComments(1L)).isEmpty();
+        assertThat(cold.findAllComments()).extracting(TaskComment::getComment).containsExactly("other task");
+        Map<Long, Integer> entries = new HashMap<>();
+        cold.forEach((taskId, history) -> entries.put(taskId, history.activities().size() + history.comments().size()));
+        assertThat(entries).containsOnly(Map.entry(1L, 2), Map.entry(2L, 1));
+    }
+
+    @Test
+    void onlyFixedVocabularyFieldsTakeDictionaryCodes() {
+        List<TaskActivity> activities = new ArrayList<>();
+        List<TaskComment> comments = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            activities.add(activity(5, 2L * i + 1, 5L, ActivityType.COMMENT_ADDED, "Comment added to task", null,
+                    "Comment: note " + i, CREATED));
+            activities.add(activity(5, 2L * i + 2, 5L, ActivityType.TASK_REASSIGNED, "Task reassigned to new assignee",
+                    String.valueOf(i), String.valueOf(i + 1), CREATED));
+            comments.add(comment(5, 100_000 + i, 5L, "note " + i, CREATED));
+        }
+        activities.add(activity(5, 5_000, 5L, ActivityType.TASK_STATUS_CHANGED, "Task status changed",
+                "ASSIGNED", "COMPLETED", CREATED));
+
+        cold.put(5L, activities, comments);
+
+        // Three descriptions and two status names; comments and assignee ids stay inline
+        assertThat(cold.dictionarySize()).isEqualTo(5);
+        assertThat(cold.findActivities(5L)).isEqualTo(activities);
+        assertThat(cold.findComments(5L)).isEqualTo(comments);
+    }
+
+    @Test
+    void fullDictionaryFallsBackToInlineStrings() {
+        ColdTaskHistory small = new ColdTaskHistory(1);
+        List<TaskActivity> activities = List.of(
+                activity(1, 1, 1L, ActivityType.TASK_STATUS_CHANGED, "Task status changed", "ASSIGNED", "STARTED", CREATED),
+                activity(1, 2, 1L, ActivityType.TASK_STATUS_CHANGED, "Task status changed", "STARTED", "COMPLETED", CREATED));
+
+        small.put(1L, activities, List.of());
+
+        assertThat(small.dictionarySize()).isEqualTo(1);
+        assertThat(small.findActivities(1L)).isEqualTo(activities);
+    }
+
+    @Test
+    void mergeAppendsHotEntriesMissingFromTheBlock() {
+        List<TaskComment> coldEntries = List.of(comment(1, 1, 1L, "a", CREATED), comment(1, 3, 1L, "b", CREATED));
+        List<TaskComment> hot = List.of(comment(1, 3, 1L, "b", CREATED), comment(1, 5, 1L, "c", CREATED));
+
+        assertThat(ColdTaskHistory.merge(coldEntries, hot, TaskComment::getId))
+                .extracting(TaskComment::getId).containsExactly(1L, 3L, 5L);
+    }
+
+    @Test
+    void mergeSortsHotEntriesOlderThanTheBlock() {
+        List<TaskComment> coldEntries = List.of(comment(1, 4, 1L, "a", CREATED), comment(1, 6, 1L, "b", CREATED));
+        List<TaskComment> hot = List.of(comment(1, 9, 1L, "c", CREATED), comment(1, 2, 1L, "d", CREATED),
+                comment(1, 6, 1L, "b", CREATED));
+
+        assertThat(ColdTaskHistory.merge(coldEntries, hot, TaskComment::getId))
+                .extracting(TaskComment::getId).containsExactly(2L, 4L, 6L, 9L);
+    }
+
+    @Test
+    void mergeWithoutColdEntriesIsTheHotList() {
+        List<TaskComment> hot = List.of(comment(1, 2, 1L, "d", CREATED));
+
+        assertThat(ColdTaskHistory.merge(List.of(), hot, TaskComment::getId)).isSameAs(hot);
+        assertThat(cold.findActivities(99L)).isEmpty();
+        assertThat(cold.findComments(99L)).isEmpty();
+    }
+
+    private static TaskActivity activity(long taskId, long id, Long userId, ActivityType type, String description,
+                                         String oldValue, String newValue, LocalDateTime createdAt) {
+        TaskActivity activity = new TaskActivity();
+        activity.setId(id);
+        activity.setTaskId(taskId);
+        activity.setUserId(userId);
+        activity.setActivityType(type);
+        activity.setDescription(description);
+        activity.setOldValue(oldValue);
+        activity.setNewValue(newValue);
+        activity.setCreatedAt(createdAt);
+        return activity;
+    }
+
+    private static TaskComment comment(long taskId, long id, Long userId, String text, LocalDateTime createdAt) {
+        TaskComment comment = new TaskComment();
+        comment.setId(id);
+        comment.setTaskId(taskId);
+        comment.setUserId(userId);
+        comment.setComment(text);
+        comment.setCreatedAt(createdAt);
+        return comment;
+    }
+}
@@ -0,0 +1,196 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskCounts;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the same saves against the compact store and the object store and expects every finder to agree.
+ */
+class CompactTaskRepositoryTest {
+
+    private static final int TASKS = 3_000;
+    private static final int UPDATES = 6_000;
+    private static final int ASSIGNEES = 40;
+    private static final int REFERENCES = 500;
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+
+    private final CompactTaskRepository compact = new CompactTaskRepository();
+    private final InMemoryTaskRepository objects = new InMemoryTaskRepository(true, 0);
+    private final Random random = new Random(7);
+
+    @BeforeEach
+    void applySameSavesToBothStores() {
+        // Both stores start from the compact store's seed tasks
+        compact.findAll().forEach(objects::restore);
+        for (int created = 0; created < TASKS; created += 50) {
+            List<TaskManagement> batch = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                batch.add(randomTask());
+            }
+            List<TaskManagement> compactSaved = compact.saveAll(copies(batch));
+            List<TaskManagement> objectSaved = objects.saveAll(copies(batch));
+            assertThat(ids(compactSaved)).isEqualTo(ids(objectSaved));
+        }
+        List<Long> ids = ids(objects.findAll());
+        for (int i = 0; i < UPDATES; i++) {
+            long id = ids.get(random.nextInt(ids.size()));
+            TaskManagement task = objects.findById(id).orElseThrow();
+            change(task);
+            compact.save(task.copy());
+            objects.save(task.copy());
+        }
+    }
+
+    @Test
+    void storedTasksAreTheSame() {
+        assertThat(normalized(compact.findAll())).isEqualTo(normalized(objects.findAll()));
+        List<Long> some = List.of(1L, 5L, 17L, 2_000L, (long) TASKS + 100);
+        assertThat(normalized(compact.findAllById(some))).isEqualTo(normalized(objects.findAllById(some)));
+        for (long id = 1; id <= 50; id++) {
+            TaskManagement fromCompact = compact.findById(id).orElseThrow();
+            TaskManagement fromObjects = objects.findById(id).orElseThrow();
+            assertThat(fromCompact.getVersion()).isEqualTo(fromObjects.getVersion());
+            assertThat(normalized(List.of(fromCompact))).isEqualTo(normalized(List.of(fromObjects)));
+        }
+    }
+
+    @Test
+    void findersAgree() {
+        for (long reference = 1_000; reference < 1_000 + REFERENCES; reference += 7) {
+            for (ReferenceType type : ReferenceType.values()) {
+                assertSame(compact.findByReferenceIdAndReferenceType(reference, type),
+                        objects.findByReferenceIdAndReferenceType(reference, type));
+            }
+        }
+        for (Priority priority : Priority.values()) {
+            assertSame(compact.findByPriority(priority), objects.findByPriority(priority));
+        }
+        for (int i = 0; i < 20; i++) {
+            List<Long> assignees = List.of((long) random.nextInt(ASSIGNEES) + 1, (long) random.nextInt(ASSIGNEES) + 1);
+            LocalDate from = TODAY.minusDays(random.nextInt(30));
+            LocalDate to = from.plusDays(random.nextInt(10));
+            assertSame(compact.findByAssigneeIdIn(assignees), objects.findByAssigneeIdIn(assignees));
+            assertSame(compact.findByAssigneeIdInAndDateRange(assignees, from, to),
+                    objects.findByAssigneeIdInAndDateRange(assignees, from, to));
+        }
+    }
+
+    @Test
+    void keysetStreamsAgreeInIdOrder() {
+        for (Priority priority : Priority.values()) {
+            Long after = (long) random.nextInt(TASKS);
+            List<TaskManagement> fromCompact = compact.streamByPriority(priority, after).limit(100).toList();
+            assertThat(ids(fromCompact)).isSorted().allMatch(id -> id > after);
+            assertThat(normalized(fromCompact)).isEqualTo(normalized(objects.streamByPriority(priority, after).limit(100).toList()));
+        }
+        List<Long> assignees = List.of(1L, 2L, 3L);
+        LocalDate from = TODAY.minusDays(10);
+        for (Long after : new Long[]{null, 500L, 2_500L}) {
+            Stream<TaskManagement> fromCompact = compact.streamByAssigneeIdInAndDateRange(assignees, from, TODAY, after);
+            Stream<TaskManagement> fromObjects = objects.streamByAssigneeIdInAndDateRange(assignees, from, TODAY, after);
+            assertThat(normalized(fromCompact.toList())).isEqualTo(normalized(fromObjects.toList()));
+        }
+    }
+
+    @Test
+    void countsAgree() {
+        assertSameCounts(compact.countTasks(null), objects.countTasks(null));
+        for (long assignee = 1; assignee <= ASSIGNEES; assignee++) {
+            assertSameCounts(compact.countTasks(assignee), objects.countTasks(assignee));
+        }
+    }
+
+    @Test
+    void staleSavesConflictInBoth() {
+        for (TaskRepository repository : List.<TaskRepository>of(compact, objects)) {
+            TaskManagement stale = repository.findById(10L).orElseThrow();
+            TaskManagement fresh = stale.copy();
+            fresh.setPriority(Priority.HIGH);
+            repository.save(fresh);
+
+            stale.setPriority(Priority.LOW);
+            assertThatThrownBy(() -> repository.save(stale)).isInstanceOf(ConflictException.class);
+            assertThat(repository.findById(10L).orElseThrow().getPriority()).isEqualTo(Priority.HIGH);
+        }
+    }
+
+    private TaskManagement randomTask() {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(1_000L + random.nextInt(REFERENCES));
+        task.setReferenceType(ReferenceType.values()[random.nextInt(ReferenceType.values().length)]);
+        task.setTask(Task.values()[random.nextInt(Task.values().length)]);
+        task.setAssigneeId((long) random.nextInt(ASSIGNEES) + 1);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        task.setStartDate(TODAY.minusDays(random.nextInt(30)));
+        task.setTaskDeadlineTime(LocalDateTime.of(2026, 11, 1, 9, 0).plusNanos(random.nextInt(1_000_000_000)));
+        task.setDescription("Task " + random.nextInt(20));
+        return task;
+    }
+
+    private void change(TaskManagement task) {
+        switch (random.nextInt(6)) {
+            case 0 -> task.setAssigneeId(random.nextInt(10) == 0 ? null : (long) random.nextInt(ASSIGNEES) + 1);
+            case 1 -> task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+            case 2 -> task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+            case 3 -> task.setStartDate(random.nextInt(10) == 0 ? null : TODAY.minusDays(random.nextInt(30)));
+            case 4 -> task.setDescription(random.nextInt(10) == 0 ? null : "Changed " + random.nextInt(50));
+            default -> task.setReferenceId(1_000L + random.nextInt(REFERENCES));
+        }
+    }
+
+    private static void assertSame(List<TaskManagement> fromCompact, List<TaskManagement> fromObjects) {
+        assertThat(normalized(fromCompact)).isEqualTo(normalized(fromObjects));
+    }
+
+    private static void assertSameCounts(TaskCounts fromCompact, TaskCounts fromObjects) {
+        assertThat(fromCompact.total()).isEqualTo(fromObjects.total());
+        for (TaskStatus status : TaskStatus.values()) {
+            for (Priority priority : Priority.values()) {
+                for (Task task : Task.values()) {
+                    assertThat(fromCompact.get(status, priority, task)).isEqualTo(fromObjects.get(status, priority, task));
+                }
+            }
+        }
+    }
+
+    // Both stores stamp their own save time; everything else has to match
+    private static List<TaskManagement> normalized(List<TaskManagement> tasks) {
+        return tasks.stream()
+                .map(task -> {
+                    TaskManagement copy = task.copy();
+                    copy.setCreatedAt(null);
+                    copy.setUpdatedAt(null);
+                    return copy;
+                })
+                .sorted(Comparator.comparing(TaskManagement::getId))
+                .toList();
+    }
+
+    private static List<TaskManagement> copies(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::copy).toList();
+    }
+
+    private static List<Long> ids(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::getId).toList();
+    }
+}
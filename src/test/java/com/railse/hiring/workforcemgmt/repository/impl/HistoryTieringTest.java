@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryTieringTest {
+
+    private final InMemoryTaskRepository tasks = new InMemoryTaskRepository(true, 0);
+    private final ColdTaskHistory cold = new ColdTaskHistory();
+    private final InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository(cold);
+    private final InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository(cold);
+    private final HistoryTiering tiering = new HistoryTiering(tasks, activities, comments, cold,
+            new PlatformWorkerThreads(), true, 0, 3600);
+
+    @AfterEach
+    void shutdown() {
+        tiering.shutdown();
+    }
+
+    @Test
+    void movesClosedTasksAndFoldsInLaterEntries() {
+        TaskManagement closed = tasks.save(task(TaskStatus.COMPLETED));
+        TaskManagement open = tasks.save(task(TaskStatus.ASSIGNED));
+        activities.save(activity(closed.getId()));
+        comments.save(comment(closed.getId(), "done"));
+        activities.save(activity(open.getId()));
+
+        assertThat(tiering.tier()).isEqualTo(1);
+        assertThat(cold.contains(closed.getId())).isTrue();
+        assertThat(activities.findAllHot()).extracting(TaskActivity::getTaskId).containsExactly(open.getId());
+        assertThat(comments.findAllHot()).isEmpty();
+        assertThat(activities.count()).isEqualTo(2);
+
+        comments.save(comment(closed.getId(), "reopened by mistake, closed again"));
+        assertThat(tiering.tier()).isEqualTo(1);
+        assertThat(comments.findAllHot()).isEmpty();
+        assertThat(comments.findByTaskId(closed.getId())).extracting(TaskComment::getComment)
+                .containsExactly("done", "reopened by mistake, closed again");
+
+        // Saved again but nothing hot left: the block is not rewritten
+        tasks.save(closed);
+        long compressed = cold.compressedBytes();
+        assertThat(tiering.tier()).isZero();
+        assertThat(cold.compressedBytes()).isEqualTo(compressed);
+    }
+
+    @Test
+    void reopenedTaskStaysHot() {
+        TaskManagement task = tasks.save(task(TaskStatus.COMPLETED));
+        activities.save(activity(task.getId()));
+        task.setStatus(TaskStatus.ASSIGNED);
+        tasks.save(task);
+
+        assertThat(tiering.tier()).isZero();
+        assertThat(cold.contains(task.getId())).isFalse();
+        assertThat(activities.findAllHot()).hasSize(1);
+    }
+
+    private static TaskManagement task(TaskStatus status) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(1L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(1L);
+        return task;
+    }
+
+    private static TaskActivity activity(Long taskId) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setActivityType(ActivityType.TASK_CREATED);
+        activity.setDescription("Task created");
+        activity.setNewValue("ASSIGNED");
+        return activity;
+    }
+
+    private static TaskComment comment(Long taskId, String text) {
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setComment(text);
+        return comment;
+    }
+}
@@ -0,0 +1,96 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdBucketTest {
+
+    @Test
+    void behavesLikeASortedSetAcrossSplitsAndRemovals() {
+        IdBucket bucket = new IdBucket();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(5_000) + 1;
+            if (random.nextInt(3) == 0) {
+                assertThat(bucket.removeId(id)).isEqualTo(expected.remove(id));
+            } else {
+                assertThat(bucket.addId(id)).isEqualTo(expected.add(id));
+            }
+        }
+
+        assertThat(bucket).containsExactlyElementsOf(expected);
+        assertThat(bucket).hasSize(expected.size());
+    }
+
+    @Test
+    void increasingIdsFillBlocksInOrder() {
+        IdBucket bucket = new IdBucket();
+        for (long id = 1; id <= IdBucket.BLOCK_SIZE * 3L + 1; id++) {
+            bucket.addId(id);
+        }
+
+        assertThat(new ArrayList<>(bucket)).hasSize(IdBucket.BLOCK_SIZE * 3 + 1).isSorted();
+        assertThat(bucket.iterator(IdBucket.BLOCK_SIZE * 3L)).toIterable().containsExactly(IdBucket.BLOCK_SIZE * 3L + 1);
+    }
+
+    @Test
+    void iteratesAfterAnId() {
+        IdBucket bucket = new IdBucket();
+        for (long id = 10; id <= 10_000; id += 10) {
+            bucket.addId(id);
+        }
+
+        assertThat(first(bucket.iterator(null), 2)).containsExactly(10L, 20L);
+        assertThat(first(bucket.iterator(15L), 2)).containsExactly(20L, 30L);
+        assertThat(first(bucket.iterator(20L), 2)).containsExactly(30L, 40L);
+        assertThat(bucket.iterator(10_000L).hasNext()).isFalse();
+        assertThat(bucket.iterator(Long.MAX_VALUE).hasNext()).isFalse();
+    }
+
+    @Test
+    void iteratorKeepsItsSnapshotWhileTheBucketChanges() {
+        IdBucket bucket = new IdBucket();
+        for (long id = 1; id <= 1_000; id++) {
+            bucket.addId(id);
+        }
+        Iterator<Long> ids = bucket.iterator();
+
+        for (long id = 1; id <= 1_000; id += 2) {
+            bucket.removeId(id);
+        }
+        bucket.addId(5_000);
+
+        assertThat(ids).toIterable().hasSize(1_000);
+        assertThat(bucket).hasSize(501);
+    }
+
+    @Test
+    void emptiedBucketIsEmpty() {
+        IdBucket bucket = new IdBucket();
+        bucket.addId(1);
+        bucket.addId(2);
+        bucket.removeId(1);
+        bucket.removeId(2);
+
+        assertThat(bucket.isEmpty()).isTrue();
+        assertThat(bucket.removeId(3)).isFalse();
+        assertThat(bucket.iterator(0L).hasNext()).isFalse();
+    }
+
+    private static List<Long> first(Iterator<Long> ids, int count) {
+        List<Long> first = new ArrayList<>();
+        while (ids.hasNext() && first.size() < count) {
+            first.add(ids.next());
+        }
+        return first;
+    }
+}
@@ -0,0 +1,72 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryTaskRepositoryTest {
+
+    private final InMemoryTaskRepository repository = new InMemoryTaskRepository(true, 0);
+
+    @Test
+    void batchRepeatingATaskIsRejectedWhole() {
+        TaskManagement first = repository.save(newTask());
+        TaskManagement second = repository.save(newTask());
+        AtomicInteger announced = new AtomicInteger();
+        repository.addSaveListener(saved -> announced.incrementAndGet());
+
+        TaskManagement changed = second.copy();
+        changed.setPriority(Priority.HIGH);
+        TaskManagement again = first.copy();
+        again.setStatus(TaskStatus.COMPLETED);
+        assertThatThrownBy(() -> repository.saveAll(List.of(first, changed, again)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(repository.findById(second.getId()).orElseThrow().getPriority()).isEqualTo(Priority.MEDIUM);
+        assertThat(repository.findById(first.getId()).orElseThrow().getVersion()).isEqualTo(1L);
+        assertThat(announced).hasValue(0);
+    }
+
+    @Test
+    void conflictLeavesWholeBatchUnsaved() {
+        TaskManagement first = repository.save(newTask());
+        TaskManagement second = repository.save(newTask());
+        TaskManagement stale = second.copy();
+        repository.save(second);
+
+        first.setPriority(Priority.HIGH);
+        TaskManagement created = newTask();
+        assertThatThrownBy(() -> repository.saveAll(List.of(first, created, stale)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(repository.findById(first.getId()).orElseThrow().getPriority()).isEqualTo(Priority.MEDIUM);
+        assertThat(repository.findAll()).hasSize(2);
+        assertThat(created.getId()).isNull();
+    }
+
+    private static TaskManagement newTask() {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(11L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(2L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setDescription("Batch test task");
+        task.setStartDate(LocalDate.of(2026, 3, 1));
+        task.setTaskDeadlineTime(LocalDateTime.of(2026, 3, 2, 17, 30));
+        return task;
+    }
+}
@@ -0,0 +1,176 @@
+package com.railse.hiring.workforcemgmt.repository.impl;
+
+import com.railse.hiring.workforcemgmt.common.exception.ConflictException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIndexConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int TASKS = 200;
+    private static final int MOVES_PER_THREAD = 5_000;
+    private static final int ASSIGNEES = 6;
+    private static final int REFERENCES = 5;
+    private static final LocalDate TODAY = LocalDate.of(2026, 1, 15);
+
+    @Test
+    void findersMatchFullScanAfterConcurrentMoves() throws Exception {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository(true, 0);
+        List<TaskManagement> seed = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            seed.add(randomTask());
+        }
+        repository.saveAll(seed);
+
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < MOVES_PER_THREAD; i++) {
+                TaskManagement task = repository.findById(random.nextLong(1, TASKS + 1)).orElseThrow();
+                moveRandomly(task);
+                try {
+                    repository.save(task);
+                } catch (ConflictException e) {
+                    // Another thread moved it first; the next iteration moves a fresh read
+                }
+            }
+        });
+
+        List<TaskManagement> all = repository.findAll();
+        assertThat(all).hasSize(TASKS);
+        for (long assignee = 1; assignee <= ASSIGNEES; assignee++) {
+            long assigneeId = assignee;
+            assertThat(ids(repository.findByAssigneeIdIn(List.of(assigneeId))))
+                    .isEqualTo(scan(all, task -> task.getAssigneeId() == assigneeId));
+            for (int days = -3; days <= 3; days++) {
+                LocalDate from = TODAY.plusDays(days);
+                LocalDate to = from.plusDays(1);
+                Predicate<TaskManagement> inWindow = task -> task.getAssigneeId() == assigneeId
+                        && (!task.getStartDate().isBefore(from) && !task.getStartDate().isAfter(to)
+                        || task.getStartDate().isBefore(from) && isOpen(task));
+                assertThat(ids(repository.findByAssigneeIdInAndDateRange(List.of(assigneeId), from, to)))
+                        .isEqualTo(scan(all, inWindow));
+                assertThat(ids(repository.streamByAssigneeIdInAndDateRange(List.of(assigneeId), from, to, null).toList()))
+                        .isEqualTo(scan(all, inWindow));
+            }
+        }
+        for (Priority priority : Priority.values()) {
+            assertThat(ids(repository.findByPriority(priority)))
+                    .isEqualTo(scan(all, task -> task.getPriority() == priority));
+            assertThat(ids(repository.streamByPriority(priority, null).toList()))
+                    .isEqualTo(scan(all, task -> task.getPriority() == priority));
+        }
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            for (ReferenceType type : ReferenceType.values()) {
+                long referenceId = reference;
+                assertThat(ids(repository.findByReferenceIdAndReferenceType(referenceId, type)))
+                        .isEqualTo(scan(all, task -> task.getReferenceId() == referenceId && task.getReferenceType() == type));
+            }
+        }
+        assertThat(repository.countTasks(null).total()).isEqualTo(TASKS);
+    }
+
+    @Test
+    void emptyBucketsAreDropped() throws Exception {
+        TaskIndex index = new TaskIndex();
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (long id = 1; id <= TASKS; id++) {
+            TaskManagement task = randomTask();
+            task.setId(id);
+            task.setVersion(1L);
+            tasks.add(task);
+            index.index(task);
+        }
+        assertThat(index.bucketCount()).isGreaterThan(4);
+
+        // Every task moves back and forth concurrently, then all end up under one assignee, reference and date
+        runConcurrently(() -> {
+            for (TaskManagement task : tasks) {
+                TaskManagement moved = task.copy();
+                moveRandomly(moved);
+                moved.setVersion(2L);
+                index.index(moved);
+            }
+        });
+        for (TaskManagement task : tasks) {
+            task.setAssigneeId(1L);
+            task.setReferenceId(1L);
+            task.setReferenceType(ReferenceType.ORDER);
+            task.setStartDate(TODAY);
+            task.setStatus(TaskStatus.COMPLETED);
+            task.setVersion(3L);
+            index.index(task);
+        }
+
+        // One assignee, one reference and one assignee/start-date bucket; no task is open
+        assertThat(index.bucketCount()).isEqualTo(3);
+    }
+
+    private static void runConcurrently(Runnable work) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    work.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TaskManagement randomTask() {
+        TaskManagement task = new TaskManagement();
+        task.setTask(Task.CREATE_INVOICE);
+        task.setDescription("Concurrency test task");
+        task.setTaskDeadlineTime(LocalDateTime.of(2026, 2, 1, 12, 0));
+        moveRandomly(task);
+        return task;
+    }
+
+    private static void moveRandomly(TaskManagement task) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        task.setAssigneeId(random.nextLong(1, ASSIGNEES + 1));
+        task.setReferenceId(random.nextLong(1, REFERENCES + 1));
+        task.setReferenceType(ReferenceType.values()[random.nextInt(ReferenceType.values().length)]);
+        task.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+        task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+        task.setStartDate(TODAY.plusDays(random.nextInt(-5, 6)));
+    }
+
+    private static boolean isOpen(TaskManagement task) {
+        return task.getStatus() == TaskStatus.ASSIGNED || task.getStatus() == TaskStatus.STARTED;
+    }
+
+    private static List<Long> ids(List<TaskManagement> tasks) {
+        return tasks.stream().map(TaskManagement::getId).sorted().toList();
+    }
+
+    private static List<Long> scan(List<TaskManagement> all, Predicate<TaskManagement> predicate) {
+        return all.stream().filter(predicate).map(TaskManagement::getId).sorted().toList();
+    }
+}
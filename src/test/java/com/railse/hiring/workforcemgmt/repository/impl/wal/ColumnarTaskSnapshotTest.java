@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTaskSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyFieldSurvivesARoundTrip() throws IOException {
+        TaskManagement full = task(1L);
+        full.setDescription("Invoice for order 42, \u00fcber-urgent");
+        full.setTaskDeadlineTime(LocalDateTime.of(2400, 1, 31, 23, 59, 59, 123_456_789));
+        full.setCreatedAt(LocalDateTime.of(1969, 12, 31, 23, 0, 0, 1));
+        full.setUpdatedAt(LocalDateTime.of(2026, 10, 18, 5, 30, 0, 999_999_999));
+        full.setVersion(17L);
+
+        TaskManagement empty = new TaskManagement();
+        empty.setId(2L);
+
+        assertThat(roundTrip(List.of(full, empty))).containsExactly(full, empty);
+    }
+
+    @Test
+    void sharedDescriptionsAreStoredOnceAndReadBackPerRow() throws IOException {
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            TaskManagement task = task(id);
+            task.setDescription(id % 2 == 0 ? "Collect payment" : "Assign to transporter " + id % 5);
+            tasks.add(task);
+        }
+        Path path = directory.resolve("shared.columns");
+        ColumnarTaskSnapshot.write(path, tasks);
+
+        // header + 8 long, 4 int and 4 byte columns + 6 string offsets; every string at most 23 bytes
+        long columns = 100L * (8 * Long.BYTES + 4 * Integer.BYTES + 4);
+        assertThat(Files.size(path)).isLessThan(32 + columns + 6 * Integer.BYTES + 6 * 23);
+        assertThat(read(path)).containsExactlyElementsOf(tasks);
+    }
+
+    @Test
+    void snapshotsSpanningSeveralReadChunksAreReadWhole() throws IOException {
+        List<TaskManagement> tasks = new ArrayList<>();
+        for (long id = 1; id <= 150_000; id++) {
+            TaskManagement task = task(id);
+            task.setStatus(TaskStatus.values()[(int) (id % TaskStatus.values().length)]);
+            tasks.add(task);
+        }
+
+        assertThat(roundTrip(tasks)).containsExactlyElementsOf(tasks);
+    }
+
+    @Test
+    void emptyStoreRoundTrips() throws IOException {
+        assertThat(roundTrip(List.of())).isEmpty();
+    }
+
+    @Test
+    void otherFormatVersionsAreRejected() throws IOException {
+        Path path = directory.resolve("old.columns");
+        ColumnarTaskSnapshot.write(path, List.of(task(1L)));
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES, 2);
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> read(path)).isInstanceOf(IOException.class);
+    }
+
+    private List<TaskManagement> roundTrip(List<TaskManagement> tasks) throws IOException {
+        Path path = directory.resolve("tasks.columns");
+        ColumnarTaskSnapshot.write(path, tasks);
+        return read(path);
+    }
+
+    private static List<TaskManagement> read(Path path) throws IOException {
+        Map<Long, TaskManagement> read = new ConcurrentHashMap<>();
+        ColumnarTaskSnapshot.read(path, task -> read.put(task.getId(), task));
+        return read.values().stream().sorted(Comparator.comparing(TaskManagement::getId)).toList();
+    }
+
+    private static TaskManagement task(long id) {
+        TaskManagement task = new TaskManagement();
+        task.setId(id);
+        task.setReferenceId(1_000 + id);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setAssigneeId(id % 7);
+        task.setPriority(Priority.MEDIUM);
+        task.setTaskDeadlineTime(LocalDateTime.of(2026, 11, 1, 9, 0));
+        task.setCreatedAt(LocalDateTime.of(2026, 10, 1, 8, 0));
+        task.setUpdatedAt(LocalDateTime.of(2026, 10, 2, 8, 0));
+        task.setStartDate(LocalDate.of(2026, 10, 5));
+        task.setVersion(1L);
+        return task;
+    }
+}
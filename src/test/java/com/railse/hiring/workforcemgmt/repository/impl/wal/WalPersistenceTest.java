@@ -0,0 +1,228 @@
+package com.railse.hiring.workforcemgmt.repository.impl.wal;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.ColdTaskHistory;
+import com.railse.hiring.workforcemgmt.repository.impl.HistoryTiering;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WalPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() throws IOException {
+        for (Node node : nodes) {
+            node.persistence.shutdown();
+        }
+    }
+
+    @Test
+    void recoversTasksActivitiesAndCommentsFromTheLog() throws IOException {
+        Node node = start();
+        TaskManagement task = node.tasks.save(newTask());
+        task.setPriority(Priority.HIGH);
+        node.tasks.save(task);
+        node.activities.saveAll(List.of(activity(task.getId()), activity(task.getId())));
+        node.comments.save(comment(task.getId()));
+        node.persistence.shutdown();
+
+        Node recovered = start();
+        assertThat(recovered.tasks.findById(task.getId())).contains(task);
+        assertThat(recovered.activities.findByTaskId(task.getId())).hasSize(2);
+        assertThat(recovered.comments.findByTaskId(task.getId())).extracting(TaskComment::getComment).containsExactly("Checked");
+    }
+
+    @Test
+    void recoversFromSnapshotPlusLaterRecords() throws IOException {
+        Node node = start();
+        TaskManagement first = node.tasks.save(newTask());
+        node.activities.save(activity(first.getId()));
+        node.persistence.checkpoint();
+        TaskManagement second = node.tasks.save(newTask());
+        first.setStatus(TaskStatus.COMPLETED);
+        node.tasks.save(first);
+        node.persistence.shutdown();
+
+        Node recovered = start();
+        assertThat(recovered.tasks.findById(first.getId())).contains(first);
+        assertThat(recovered.tasks.findById(second.getId())).contains(second);
+        assertThat(recovered.activities.findByTaskId(first.getId())).hasSize(1);
+        // Only the segment written after the snapshot is left
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()).filter(name -> name.endsWith(".log")))
+                    .hasSize(1);
+        }
+    }
+
+    @Test
+    void coldHistoryIsRestoredCold() throws IOException {
+        Node node = start();
+        TaskManagement task = newTask();
+        task.setStatus(TaskStatus.COMPLETED);
+        task = node.tasks.save(task);
+        TaskManagement open = node.tasks.save(newTask());
+        node.activities.saveAll(List.of(activity(task.getId()), activity(task.getId()), activity(open.getId())));
+        node.comments.save(comment(task.getId()));
+        HistoryTiering tiering = new HistoryTiering(node.tasks, node.memoryActivities, node.memoryComments, node.cold,
+                new PlatformWorkerThreads(), true, 0, 3600);
+        assertThat(tiering.tier()).isEqualTo(1);
+        tiering.shutdown();
+        TaskComment late = node.comments.save(comment(task.getId()));
+        List<TaskActivity> history = node.activities.findByTaskId(task.getId());
+        node.persistence.checkpoint();
+        node.persistence.shutdown();
+
+        Node recovered = start();
+        assertThat(recovered.cold.taskCount()).isEqualTo(1);
+        assertThat(recovered.cold.activityCount()).isEqualTo(2);
+        assertThat(recovered.memoryActivities.findAllHot()).extracting(TaskActivity::getTaskId).containsExactly(open.getId());
+        assertThat(recovered.memoryComments.findAllHot()).extracting(TaskComment::getId).containsExactly(late.getId());
+        assertThat(recovered.activities.findByTaskId(task.getId())).isEqualTo(history);
+        assertThat(recovered.comments.findByTaskId(task.getId())).hasSize(2);
+        assertThat(recovered.activities.count()).isEqualTo(3);
+        // New entries do not reuse the ids of the restored cold ones
+        TaskActivity next = recovered.activities.save(activity(open.getId()));
+        assertThat(next.getId()).isGreaterThan(history.get(history.size() - 1).getId());
+        assertThat(recovered.comments.save(comment(open.getId())).getId()).isGreaterThan(late.getId());
+    }
+
+    @Test
+    void dropsAndTruncatesTornTail() throws IOException {
+        Node node = start();
+        TaskManagement task = node.tasks.save(newTask());
+        node.persistence.shutdown();
+        Path segment = onlySegment();
+        long intact = Files.size(segment);
+        // A record header that promises more payload than was written before the crash
+        Files.write(segment, new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 0, 42, 42}, StandardOpenOption.APPEND);
+
+        Node recovered = start();
+        assertThat(recovered.tasks.findById(task.getId())).contains(task);
+        assertThat(Files.size(segment)).isEqualTo(intact);
+        TaskManagement next = recovered.tasks.save(newTask());
+        recovered.persistence.shutdown();
+
+        Node again = start();
+        assertThat(again.tasks.findById(next.getId())).contains(next);
+    }
+
+    @Test
+    void failedAppendLeavesStoresUnchanged() throws IOException {
+        Node node = start();
+        TaskManagement task = node.tasks.save(newTask());
+        AtomicInteger announced = new AtomicInteger();
+        node.tasks.addSaveListener(saved -> announced.incrementAndGet());
+        node.activities.addSaveListener(saved -> announced.incrementAndGet());
+        node.comments.addSaveListener(saved -> announced.incrementAndGet());
+        node.persistence.shutdown();
+
+        TaskManagement changed = task.copy();
+        changed.setPriority(Priority.HIGH);
+        assertThatThrownBy(() -> node.tasks.save(changed)).isInstanceOf(IllegalStateException.class);
+        TaskManagement created = newTask();
+        assertThatThrownBy(() -> node.tasks.save(created)).isInstanceOf(IllegalStateException.class);
+        TaskActivity activity = activity(task.getId());
+        assertThatThrownBy(() -> node.activities.save(activity)).isInstanceOf(IllegalStateException.class);
+        TaskComment comment = comment(task.getId());
+        assertThatThrownBy(() -> node.comments.save(comment)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(node.tasks.findById(task.getId())).contains(task);
+        assertThat(node.tasks.findAll()).hasSize(1);
+        assertThat(changed.getVersion()).isEqualTo(task.getVersion());
+        assertThat(created.getId()).isNull();
+        assertThat(node.activities.findByTaskId(task.getId())).isEmpty();
+        assertThat(activity.getId()).isNull();
+        assertThat(node.comments.findByTaskId(task.getId())).isEmpty();
+        assertThat(comment.getId()).isNull();
+        assertThat(announced).hasValue(0);
+    }
+
+    private record Node(WalTaskRepository tasks, WalTaskActivityRepository activities,
+                        WalTaskCommentRepository comments, WalPersistence persistence, ColdTaskHistory cold,
+                        InMemoryTaskActivityRepository memoryActivities, InMemoryTaskCommentRepository memoryComments) {
+    }
+
+    private Node start() {
+        InMemoryTaskRepository tasks = new InMemoryTaskRepository(true, 0);
+        ColdTaskHistory cold = new ColdTaskHistory();
+        InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository(cold);
+        InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository(cold);
+        WalPersistence persistence = new WalPersistence(tasks, activities, comments, cold, new PlatformWorkerThreads(),
+                directory.toString(), 1024, 1024, 3600, Long.MAX_VALUE);
+        Node node = new Node(new WalTaskRepository(tasks, persistence), new WalTaskActivityRepository(activities, persistence),
+                new WalTaskCommentRepository(comments, persistence), persistence, cold, activities, comments);
+        nodes.add(node);
+        return node;
+    }
+
+    private Path onlySegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = files.filter(path -> path.getFileName().toString().endsWith(".log")).toList();
+            assertThat(segments).hasSize(1);
+            return segments.get(0);
+        }
+    }
+
+    private static TaskManagement newTask() {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(7L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setAssigneeId(3L);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setDescription("WAL test task");
+        task.setStartDate(LocalDate.of(2026, 3, 1));
+        task.setTaskDeadlineTime(LocalDateTime.of(2026, 3, 2, 17, 30));
+        return task;
+    }
+
+    private static TaskActivity activity(Long taskId) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setActivityType(ActivityType.TASK_PRIORITY_CHANGED);
+        activity.setDescription("Task priority changed");
+        activity.setUserId(3L);
+        activity.setOldValue("MEDIUM");
+        activity.setNewValue("HIGH");
+        return activity;
+    }
+
+    private static TaskComment comment(Long taskId) {
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setComment("Checked");
+        comment.setUserId(3L);
+        return comment;
+    }
+}
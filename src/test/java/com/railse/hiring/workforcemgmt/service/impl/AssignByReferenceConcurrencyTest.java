@@ -0,0 +1,127 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.AssignByReferenceRequest;
+import com.railse.hiring.workforcemgmt.dto.UpdatePriorityRequest;
+import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.metrics.ServiceTimers;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import com.railse.hiring.workforcemgmt.service.TaskManagementService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AssignByReferenceConcurrencyTest {
+
+    private static final int ASSIGNING_THREADS = 8;
+    private static final int PRIORITY_THREADS = 4;
+    private static final int CALLS_PER_THREAD = 200;
+    private static final long REFERENCE_ID = 9_001L;
+
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(true, 0);
+    private final InMemoryTaskActivityRepository activityRepository = new InMemoryTaskActivityRepository();
+    private final InMemoryTaskCommentRepository commentRepository = new InMemoryTaskCommentRepository();
+    private final TaskActivityServiceImpl activityService = new TaskActivityServiceImpl(activityRepository);
+    private final TaskDeadlineScheduler deadlineScheduler = new TaskDeadlineScheduler(taskRepository, activityService,
+            activityRepository, new PlatformWorkerThreads(), false, 1000, 512, "none");
+    private final TaskManagementService service = new TaskManagementServiceImpl(taskRepository, activityRepository,
+            commentRepository, new ITaskManagementMapperImpl(), new ITaskActivityMapperImpl(),
+            new ITaskCommentMapperImpl(), activityService,
+            new TaskDetailCache(taskRepository, activityRepository, commentRepository, false, 0), deadlineScheduler,
+            new AssigneeWorkloadIndex(taskRepository, deadlineScheduler), new FinderScanCounters(),
+            new TaskSearchIndex(taskRepository, commentRepository, new PlatformWorkerThreads()), ServiceTimers.disabled());
+
+    // Assignments of one reference race each other and priority updates that bump the same tasks' versions, so
+    // assignByReference keeps hitting version conflicts and retrying
+    @Test
+    void leavesOneOpenTaskPerTypeAndLogsEachChangeOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ASSIGNING_THREADS + PRIORITY_THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < ASSIGNING_THREADS; t++) {
+                long assigneeId = t + 1;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        service.assignByReference(assignRequest(assigneeId));
+                    }
+                    return null;
+                }));
+            }
+            for (int t = 0; t < PRIORITY_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                        for (TaskManagement task : referenceTasks()) {
+                            UpdatePriorityRequest request = new UpdatePriorityRequest();
+                            request.setTaskId(task.getId());
+                            request.setPriority(Priority.values()[random.nextInt(Priority.values().length)]);
+                            service.updateTaskPriority(request);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<TaskManagement> tasks = referenceTasks();
+        List<Task> orderTasks = Task.getTasksByReferenceType(ReferenceType.ORDER);
+        assertThat(tasks).hasSize(orderTasks.size());
+        Map<Task, Long> openByType = tasks.stream()
+                .filter(task -> task.getStatus() == TaskStatus.ASSIGNED)
+                .collect(Collectors.groupingBy(TaskManagement::getTask, Collectors.counting()));
+        for (Task type : orderTasks) {
+            assertThat(openByType.get(type)).as("open %s tasks", type).isEqualTo(1L);
+        }
+
+        // The first call creates the tasks, every later call reassigns each of them once
+        int assignCalls = ASSIGNING_THREADS * CALLS_PER_THREAD;
+        for (TaskManagement task : tasks) {
+            Map<ActivityType, Long> activities = activityRepository.findByTaskId(task.getId()).stream()
+                    .collect(Collectors.groupingBy(TaskActivity::getActivityType, Collectors.counting()));
+            assertThat(activities.get(ActivityType.TASK_CREATED)).isEqualTo(1L);
+            assertThat(activities.get(ActivityType.TASK_REASSIGNED)).isEqualTo(assignCalls - 1L);
+        }
+    }
+
+    private List<TaskManagement> referenceTasks() {
+        return taskRepository.findByReferenceIdAndReferenceType(REFERENCE_ID, ReferenceType.ORDER);
+    }
+
+    private static AssignByReferenceRequest assignRequest(long assigneeId) {
+        AssignByReferenceRequest request = new AssignByReferenceRequest();
+        request.setReferenceId(REFERENCE_ID);
+        request.setReferenceType(ReferenceType.ORDER);
+        request.setAssigneeId(assigneeId);
+        return request;
+    }
+}
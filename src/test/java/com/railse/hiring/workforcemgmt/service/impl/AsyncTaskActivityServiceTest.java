@@ -0,0 +1,118 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.repository.TaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncTaskActivityServiceTest {
+
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final String POISON = "poison";
+
+    private final FlakyActivityRepository repository = new FlakyActivityRepository();
+    private final AsyncTaskActivityService service = new AsyncTaskActivityService(
+            new TaskActivityServiceImpl(repository), repository, new PlatformWorkerThreads(), 1024, 64,
+            AsyncTaskActivityService.Backpressure.BLOCK, true, 5_000, MAX_WRITE_ATTEMPTS, 1);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void failedBatchIsRetriedUntilItIsWritten() {
+        repository.failuresLeft.set(MAX_WRITE_ATTEMPTS - 1);
+
+        service.logActivity(1L, ActivityType.TASK_CREATED, "Task created", 7L, null, "ASSIGNED");
+        service.awaitLogged(1L);
+
+        assertThat(repository.findByTaskId(1L)).extracting(TaskActivity::getDescription).containsExactly("Task created");
+        assertThat(service.getFailedWriteCount()).isEqualTo(MAX_WRITE_ATTEMPTS - 1);
+        assertThat(service.getLostCount()).isZero();
+    }
+
+    @Test
+    void everyQueuedActivityIsWrittenDespiteTransientFailures() {
+        repository.failuresLeft.set(2);
+
+        for (long taskId = 1; taskId <= 200; taskId++) {
+            service.logActivity(taskId, ActivityType.TASK_CREATED, "Task created", 7L, null, "ASSIGNED");
+        }
+        service.shutdown();
+
+        assertThat(repository.count()).isEqualTo(200);
+        assertThat(service.getFailedWriteCount()).isEqualTo(2);
+        assertThat(service.getLostCount()).isZero();
+    }
+
+    @Test
+    void persistentFailureLosesOnlyTheActivityThatCannotBeSaved() {
+        service.logActivities(List.of(
+                activity(1L, "Task created"),
+                activity(2L, POISON),
+                activity(3L, "Task created")));
+        service.shutdown();
+
+        assertThat(repository.findAll()).extracting(TaskActivity::getTaskId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(service.getLostCount()).isEqualTo(1);
+        assertThat(service.getFailedWriteCount()).isGreaterThanOrEqualTo(MAX_WRITE_ATTEMPTS + 1);
+        assertThat(service.getQueuedCount()).isZero();
+    }
+
+    private TaskActivity activity(Long taskId, String description) {
+        return service.buildActivity(taskId, ActivityType.TASK_CREATED, description, 7L, null, "ASSIGNED");
+    }
+
+    /** Fails the next {@code failuresLeft} writes, and every write that includes a poison activity. */
+    private static final class FlakyActivityRepository implements TaskActivityRepository {
+
+        private final InMemoryTaskActivityRepository delegate = new InMemoryTaskActivityRepository();
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+
+        @Override
+        public TaskActivity save(TaskActivity activity) {
+            return saveAll(List.of(activity)).get(0);
+        }
+
+        @Override
+        public List<TaskActivity> saveAll(List<TaskActivity> activities) {
+            if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                throw new IllegalStateException("Store unavailable");
+            }
+            if (activities.stream().anyMatch(activity -> POISON.equals(activity.getDescription()))) {
+                throw new IllegalArgumentException("Cannot store a poison activity");
+            }
+            return delegate.saveAll(activities);
+        }
+
+        @Override
+        public List<TaskActivity> findByTaskId(Long taskId) {
+            return delegate.findByTaskId(taskId);
+        }
+
+        @Override
+        public List<TaskActivity> findAll() {
+            return delegate.findAll();
+        }
+
+        @Override
+        public long count() {
+            return delegate.count();
+        }
+
+        @Override
+        public void addSaveListener(Consumer<TaskActivity> listener) {
+            delegate.addSaveListener(listener);
+        }
+    }
+}
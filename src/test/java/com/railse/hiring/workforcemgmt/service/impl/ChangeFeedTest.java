@@ -0,0 +1,147 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.dto.ChangeBatchDto;
+import com.railse.hiring.workforcemgmt.dto.ChangeEventDto;
+import com.railse.hiring.workforcemgmt.dto.TaskManagementDto;
+import com.railse.hiring.workforcemgmt.mapper.ITaskActivityMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskCommentMapperImpl;
+import com.railse.hiring.workforcemgmt.mapper.ITaskManagementMapperImpl;
+import com.railse.hiring.workforcemgmt.model.TaskActivity;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.ActivityType;
+import com.railse.hiring.workforcemgmt.model.enums.ChangeEntityType;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskActivityRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeFeedTest {
+
+    private static final int CAPACITY = 8;
+
+    private final InMemoryTaskRepository tasks = new InMemoryTaskRepository(true, 0);
+    private final InMemoryTaskActivityRepository activities = new InMemoryTaskActivityRepository();
+    private final InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository();
+    private final ChangeFeed feed = new ChangeFeed(tasks, activities, comments, new ITaskManagementMapperImpl(),
+            new ITaskActivityMapperImpl(), new ITaskCommentMapperImpl(), new PlatformWorkerThreads(), CAPACITY);
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void readsEverySaveInSequenceOrder() {
+        TaskManagement task = tasks.save(newTask());
+        activities.save(activity(task.getId()));
+        comments.save(comment(task.getId()));
+
+        ChangeBatchDto batch = feed.read(0, 10);
+
+        assertThat(batch.isResync()).isFalse();
+        assertThat(batch.getNextSince()).isEqualTo(3);
+        assertThat(batch.getEvents()).extracting(ChangeEventDto::getSeq).containsExactly(1L, 2L, 3L);
+        assertThat(batch.getEvents()).extracting(ChangeEventDto::getEntityType)
+                .containsExactly(ChangeEntityType.TASK, ChangeEntityType.ACTIVITY, ChangeEntityType.COMMENT);
+        assertThat(batch.getEvents()).extracting(ChangeEventDto::getTaskId).containsOnly(task.getId());
+        assertThat(((TaskManagementDto) batch.getEvents().get(0).getData()).getReferenceId()).isEqualTo(42L);
+    }
+
+    @Test
+    void limitedReadsResumeFromNextSince() {
+        for (int i = 0; i < 5; i++) {
+            tasks.save(newTask());
+        }
+
+        ChangeBatchDto first = feed.read(0, 2);
+        ChangeBatchDto second = feed.read(first.getNextSince(), 10);
+        ChangeBatchDto caughtUp = feed.read(second.getNextSince(), 10);
+
+        assertThat(first.getEvents()).extracting(ChangeEventDto::getSeq).containsExactly(1L, 2L);
+        assertThat(second.getEvents()).extracting(ChangeEventDto::getSeq).containsExactly(3L, 4L, 5L);
+        assertThat(caughtUp.getEvents()).isEmpty();
+        assertThat(caughtUp.getNextSince()).isEqualTo(5);
+        assertThat(caughtUp.isResync()).isFalse();
+    }
+
+    @Test
+    void readerWhosePositionWasOverwrittenIsToldToResync() {
+        for (int i = 0; i < 3 * CAPACITY; i++) {
+            tasks.save(newTask());
+        }
+        long last = feed.lastSeq();
+
+        ChangeBatchDto overwritten = feed.read(0, 100);
+        assertThat(overwritten.isResync()).isTrue();
+        assertThat(overwritten.getEvents()).isEmpty();
+        assertThat(overwritten.getNextSince()).isEqualTo(last);
+
+        ChangeBatchDto oldestKept = feed.read(last - CAPACITY, 100);
+        assertThat(oldestKept.isResync()).isFalse();
+        assertThat(oldestKept.getEvents()).extracting(ChangeEventDto::getSeq)
+                .containsExactly(17L, 18L, 19L, 20L, 21L, 22L, 23L, 24L);
+
+        assertThat(feed.read(last - CAPACITY - 1, 100).isResync()).isTrue();
+        assertThat(feed.readEvents(last - CAPACITY - 1, 100)).isNull();
+    }
+
+    @Test
+    void readerAheadOfTheFeedIsToldToResync() {
+        tasks.save(newTask());
+
+        assertThat(feed.read(5, 10).isResync()).isTrue();
+        assertThat(feed.read(5, 10).getNextSince()).isEqualTo(1);
+    }
+
+    @Test
+    void waitersAreWokenOffTheSavingThreadAfterTheNextAppend() throws Exception {
+        CompletionStage<Void> token = feed.nextAppend();
+        CompletableFuture<Thread> wokenOn = new CompletableFuture<>();
+        feed.whenAppended(token, () -> wokenOn.complete(Thread.currentThread()));
+        assertThat(wokenOn).isNotDone();
+
+        tasks.save(newTask());
+
+        assertThat(wokenOn.get(5, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+        assertThat(feed.nextAppend()).isNotSameAs(token);
+    }
+
+    private static TaskManagement newTask() {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(42L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(Priority.MEDIUM);
+        task.setAssigneeId(1L);
+        return task;
+    }
+
+    private static TaskActivity activity(Long taskId) {
+        TaskActivity activity = new TaskActivity();
+        activity.setTaskId(taskId);
+        activity.setActivityType(ActivityType.TASK_CREATED);
+        activity.setDescription("Task created");
+        return activity;
+    }
+
+    private static TaskComment comment(Long taskId) {
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setComment("Checked");
+        return comment;
+    }
+}
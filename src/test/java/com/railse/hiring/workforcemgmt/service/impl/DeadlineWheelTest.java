@@ -0,0 +1,122 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeadlineWheelTest {
+
+    private static final long TICK = 10;
+    private static final int WHEEL_SIZE = 8;
+
+    private final DeadlineWheel<Long> wheel = new DeadlineWheel<>(TICK, WHEEL_SIZE, 0);
+
+    @Test
+    void expiresNoEarlierThanTheDeadlineAndAtMostOneTickAfter() {
+        Random random = new Random(11);
+        for (long id = 0; id < 2_000; id++) {
+            wheel.schedule(id, random.nextInt(5_000));
+        }
+        Map<Long, Long> expiredAt = new HashMap<>();
+        Map<Long, Long> deadlines = new HashMap<>();
+
+        for (long now = 0; now <= 5_100; now++) {
+            long at = now;
+            wheel.advance(now, timeout -> {
+                expiredAt.put(timeout.payload(), at);
+                deadlines.put(timeout.payload(), timeout.deadlineMillis());
+            });
+        }
+
+        assertThat(expiredAt).hasSize(2_000);
+        expiredAt.forEach((id, at) -> assertThat(at).isBetween(deadlines.get(id), deadlines.get(id) + TICK));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void deadlinesSeveralRotationsAwayWaitForTheirRound() {
+        long rotation = TICK * WHEEL_SIZE;
+        wheel.schedule(1L, 5 * rotation + 5);
+        // Same bucket, one rotation earlier
+        wheel.schedule(2L, 4 * rotation + 5);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(4 * rotation + 5, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).isEmpty();
+
+        wheel.advance(4 * rotation + TICK, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).containsExactly(2L);
+
+        wheel.advance(5 * rotation + 5, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).containsExactly(2L);
+
+        wheel.advance(5 * rotation + TICK, timeout -> expired.add(timeout.payload()));
+        assertThat(expired).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void cancelledTimeoutsNeverExpire() {
+        DeadlineWheel<Long>.Timeout beforeTransfer = wheel.schedule(1L, 50);
+        beforeTransfer.cancel();
+        wheel.schedule(2L, 50);
+        DeadlineWheel<Long>.Timeout inBucket = wheel.schedule(3L, 500);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(20, timeout -> expired.add(timeout.payload()));
+        inBucket.cancel();
+        inBucket.cancel();
+        wheel.advance(1_000, timeout -> expired.add(timeout.payload()));
+
+        assertThat(expired).containsExactly(2L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cancellingAnExpiredTimeoutChangesNothing() {
+        DeadlineWheel<Long>.Timeout timeout = wheel.schedule(1L, 5);
+        List<Long> expired = new ArrayList<>();
+        wheel.advance(TICK, expiredTimeout -> expired.add(expiredTimeout.payload()));
+
+        timeout.cancel();
+        wheel.advance(100, expiredTimeout -> expired.add(expiredTimeout.payload()));
+
+        assertThat(expired).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesExpireOnTheNextTick() {
+        wheel.advance(1_000, timeout -> {
+        });
+        wheel.schedule(1L, 3);
+        List<Long> expired = new ArrayList<>();
+
+        wheel.advance(wheel.nextTickMillis(), timeout -> expired.add(timeout.payload()));
+
+        assertThat(expired).containsExactly(1L);
+    }
+
+    @Test
+    void sizeCountsScheduledTimeoutsUntilTheyExpire() {
+        wheel.schedule(1L, 15);
+        wheel.schedule(2L, 35);
+        assertThat(wheel.size()).isEqualTo(2);
+
+        wheel.advance(20, timeout -> {
+        });
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsNonPositiveTicksAndSizes() {
+        assertThatThrownBy(() -> new DeadlineWheel<Long>(0, 8, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new DeadlineWheel<Long>(10, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
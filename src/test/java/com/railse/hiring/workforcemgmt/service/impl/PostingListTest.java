@@ -0,0 +1,119 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static com.railse.hiring.workforcemgmt.service.impl.PostingList.BLOCK_SIZE;
+import static com.railse.hiring.workforcemgmt.service.impl.PostingList.NO_MORE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingListTest {
+
+    @Test
+    void appendsPastFullBlocksInOrder() {
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 3L * BLOCK_SIZE + 5; id++) {
+            list.add(id);
+        }
+
+        assertThat(list.size()).isEqualTo(3 * BLOCK_SIZE + 5);
+        assertThat(all(list)).hasSize(3 * BLOCK_SIZE + 5).isSorted().startsWith(1L).endsWith(3L * BLOCK_SIZE + 5);
+    }
+
+    @Test
+    void insertingIntoAFullBlockSplitsIt() {
+        PostingList list = new PostingList();
+        for (long id = 2; id <= 4L * BLOCK_SIZE; id += 2) {
+            list.add(id);
+        }
+        TreeSet<Long> expected = new TreeSet<>(all(list));
+
+        for (long id = 1; id < 4L * BLOCK_SIZE; id += 2) {
+            list.add(id);
+            expected.add(id);
+        }
+        list.add(10);
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        assertThat(all(list)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void removingDropsEmptiedBlocks() {
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 2L * BLOCK_SIZE; id++) {
+            list.add(id);
+        }
+
+        for (long id = 1; id <= BLOCK_SIZE; id++) {
+            list.remove(id);
+        }
+        list.remove(5L * BLOCK_SIZE);
+
+        assertThat(list.size()).isEqualTo(BLOCK_SIZE);
+        assertThat(all(list)).startsWith(BLOCK_SIZE + 1L).hasSize(BLOCK_SIZE);
+        assertThat(list.cursor().advance(1)).isEqualTo(BLOCK_SIZE + 1L);
+    }
+
+    @Test
+    void behavesLikeASortedSetUnderRandomChanges() {
+        PostingList list = new PostingList();
+        TreeSet<Long> expected = new TreeSet<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 50_000; i++) {
+            long id = random.nextInt(20_000) + 1;
+            if (random.nextInt(4) == 0) {
+                list.remove(id);
+                expected.remove(id);
+            } else {
+                list.add(id);
+                expected.add(id);
+            }
+        }
+
+        assertThat(list.size()).isEqualTo(expected.size());
+        assertThat(all(list)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void cursorGallopsToTheSmallestIdAtOrAfterTheTarget() {
+        PostingList list = new PostingList();
+        for (long id = 3; id <= 30_000; id += 3) {
+            list.add(id);
+        }
+        PostingList.Cursor cursor = list.cursor();
+
+        assertThat(cursor.advance(1)).isEqualTo(3);
+        assertThat(cursor.advance(3)).isEqualTo(3);
+        assertThat(cursor.advance(4)).isEqualTo(6);
+        assertThat(cursor.advance(1_000)).isEqualTo(1_002);
+        assertThat(cursor.advance(1_002)).isEqualTo(1_002);
+        assertThat(cursor.advance(20_000)).isEqualTo(20_001);
+        assertThat(cursor.advance(30_000)).isEqualTo(30_000);
+        assertThat(cursor.advance(30_001)).isEqualTo(NO_MORE);
+    }
+
+    @Test
+    void emptyListHasNoIds() {
+        PostingList list = new PostingList();
+        list.add(7);
+        list.remove(7);
+
+        assertThat(list.size()).isZero();
+        assertThat(list.cursor().advance(1)).isEqualTo(NO_MORE);
+    }
+
+    private static List<Long> all(PostingList list) {
+        List<Long> ids = new ArrayList<>();
+        PostingList.Cursor cursor = list.cursor();
+        for (long id = cursor.advance(Long.MIN_VALUE); id != NO_MORE; id = cursor.advance(id + 1)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
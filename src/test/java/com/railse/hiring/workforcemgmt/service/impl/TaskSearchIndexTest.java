@@ -0,0 +1,176 @@
+package com.railse.hiring.workforcemgmt.service.impl;
+
+import com.railse.hiring.workforcemgmt.common.concurrent.PlatformWorkerThreads;
+import com.railse.hiring.workforcemgmt.common.exception.BadRequestException;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.model.TaskComment;
+import com.railse.hiring.workforcemgmt.model.TaskManagement;
+import com.railse.hiring.workforcemgmt.model.enums.Priority;
+import com.railse.hiring.workforcemgmt.model.enums.Task;
+import com.railse.hiring.workforcemgmt.model.enums.TaskStatus;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskCommentRepository;
+import com.railse.hiring.workforcemgmt.repository.impl.InMemoryTaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskSearchIndexTest {
+
+    private final InMemoryTaskRepository tasks = new InMemoryTaskRepository(true, 0);
+    private final InMemoryTaskCommentRepository comments = new InMemoryTaskCommentRepository();
+    private final TaskSearchIndex index = new TaskSearchIndex(tasks, comments, new PlatformWorkerThreads());
+
+    @AfterEach
+    void shutdown() {
+        index.shutdown();
+    }
+
+    @Test
+    void wordsAreAndedAndAlternativesOred() {
+        long invoice = save("Create invoice for the Pune depot", 1L, Priority.HIGH);
+        long pickup = save("Arrange pickup at the Pune depot", 2L, Priority.LOW);
+        long payment = save("Collect payment, invoice attached", 1L, Priority.LOW);
+
+        assertThat(search("pune depot")).containsExactly(invoice, pickup);
+        assertThat(search("invoice AND pune")).containsExactly(invoice);
+        assertThat(search("pickup OR payment")).containsExactly(pickup, payment);
+        assertThat(search("invoice pune OR pickup")).containsExactly(invoice, pickup);
+        assertThat(search("INVOICE")).containsExactly(invoice, payment);
+        assertThat(search("missing OR invoice")).containsExactly(invoice, payment);
+        assertThat(search("missing invoice")).isEmpty();
+    }
+
+    @Test
+    void filtersAreAndedWithTheWords() {
+        long first = save("Depot audit", 1L, Priority.HIGH);
+        long second = save("Depot audit", 2L, Priority.HIGH);
+        long third = save("Depot audit", 1L, Priority.LOW);
+
+        assertThat(index.search("audit", null, Set.of(Priority.HIGH), null, null, 10)).containsExactly(first, second);
+        assertThat(index.search("audit", null, Set.of(Priority.HIGH), List.of(1L), null, 10)).containsExactly(first);
+        assertThat(index.search("audit", Set.of(TaskStatus.ASSIGNED), null, List.of(1L, 7L), null, 10))
+                .containsExactly(first, third);
+        assertThat(index.search("audit", Set.of(TaskStatus.COMPLETED), null, null, null, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesResumeAfterTheCursor() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(save("Weekly depot report", 1L, Priority.MEDIUM));
+        }
+
+        List<Long> first = index.search("report", null, null, null, null, 10);
+        List<Long> second = index.search("report", null, null, null, first.get(9), 10);
+        List<Long> last = index.search("report", null, null, null, second.get(9), 10);
+
+        assertThat(first).containsExactlyElementsOf(ids.subList(0, 10));
+        assertThat(second).containsExactlyElementsOf(ids.subList(10, 20));
+        assertThat(last).containsExactlyElementsOf(ids.subList(20, 25));
+    }
+
+    @Test
+    void saveMovesTheTaskBetweenTermsAndFilters() {
+        TaskManagement task = tasks.save(task("Old wording", 1L, Priority.LOW));
+        task.setDescription("New wording");
+        task.setAssigneeId(2L);
+        task.setStatus(TaskStatus.COMPLETED);
+        tasks.save(task);
+
+        assertThat(search("old")).isEmpty();
+        assertThat(search("new wording")).containsExactly(task.getId());
+        assertThat(index.search("wording", null, null, List.of(1L), null, 10)).isEmpty();
+        assertThat(index.search("wording", Set.of(TaskStatus.COMPLETED), null, List.of(2L), null, 10))
+                .containsExactly(task.getId());
+    }
+
+    @Test
+    void commentsAddTermsThatOutliveDescriptionChanges() {
+        TaskManagement task = tasks.save(task("Deliver crates", 1L, Priority.LOW));
+        comments.save(comment(task.getId(), "Customer asked for crates at gate 4"));
+
+        assertThat(search("gate")).containsExactly(task.getId());
+
+        task.setDescription("Deliver pallets");
+        tasks.save(task);
+        assertThat(search("crates")).containsExactly(task.getId());
+        assertThat(search("pallets gate")).containsExactly(task.getId());
+    }
+
+    @Test
+    void commentOnATaskNotIndexedYetIsNotAMatch() {
+        comments.save(comment(99L, "orphan words"));
+
+        assertThat(search("orphan")).isEmpty();
+    }
+
+    @Test
+    void concurrentSavesAreAllSearchable() throws Exception {
+        ExecutorService savers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Long>> saved = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                String word = "batch" + (i % 4);
+                saved.add(savers.submit(() -> save("Concurrent " + word, 1L, Priority.MEDIUM)));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> id : saved) {
+                ids.add(id.get());
+            }
+
+            assertThat(index.search("concurrent", null, null, null, null, 5_000)).hasSize(2_000)
+                    .containsExactlyInAnyOrderElementsOf(ids).isSorted();
+            assertThat(index.search("batch0 OR batch3", null, null, null, null, 5_000)).hasSize(1_000);
+        } finally {
+            savers.shutdownNow();
+        }
+    }
+
+    @Test
+    void queryWithoutWordsIsRejected() {
+        assertThatThrownBy(() -> search(" AND OR ,")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void termsAreLowerCasedAlphanumericRunsCappedInLength() {
+        assertThat(TaskSearchIndex.terms("Re: ORDER-42, order 42!")).containsExactly("42", "order", "re");
+        assertThat(TaskSearchIndex.terms("x".repeat(100))).containsExactly("x".repeat(TaskSearchIndex.MAX_TERM_LENGTH));
+        assertThat(TaskSearchIndex.terms(null)).isEmpty();
+    }
+
+    private List<Long> search(String query) {
+        return index.search(query, null, null, null, null, 100);
+    }
+
+    private long save(String description, Long assigneeId, Priority priority) {
+        return tasks.save(task(description, assigneeId, priority)).getId();
+    }
+
+    private static TaskManagement task(String description, Long assigneeId, Priority priority) {
+        TaskManagement task = new TaskManagement();
+        task.setReferenceId(42L);
+        task.setReferenceType(ReferenceType.ORDER);
+        task.setTask(Task.CREATE_INVOICE);
+        task.setStatus(TaskStatus.ASSIGNED);
+        task.setPriority(priority);
+        task.setAssigneeId(assigneeId);
+        task.setDescription(description);
+        return task;
+    }
+
+    private static TaskComment comment(Long taskId, String text) {
+        TaskComment comment = new TaskComment();
+        comment.setTaskId(taskId);
+        comment.setComment(text);
+        return comment;
+    }
+}
@@ -0,0 +1,91 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRingTest {
+
+    private static final List<String> NODES = List.of("http://10.0.0.1:8080", "http://10.0.0.2:8080",
+            "http://10.0.0.3:8080");
+    private static final int REFERENCES = 10_000;
+
+    @Test
+    void ownershipIsTheSameOnEveryRingBuiltFromTheSameNodes() {
+        ShardRing ring = new ShardRing(NODES, 128);
+        ShardRing other = new ShardRing(List.copyOf(NODES), 128);
+
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            for (ReferenceType type : ReferenceType.values()) {
+                assertThat(other.ownerOf(reference, type)).isEqualTo(ring.ownerOf(reference, type));
+            }
+        }
+    }
+
+    @Test
+    void consecutiveReferencesSpreadOverEveryNode() {
+        ShardRing ring = new ShardRing(NODES, 128);
+        int[] owned = new int[NODES.size()];
+
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            owned[ring.ownerOf(reference, ReferenceType.ORDER)]++;
+        }
+
+        for (int count : owned) {
+            assertThat(count).isBetween(REFERENCES / NODES.size() / 2, REFERENCES / NODES.size() * 2);
+        }
+    }
+
+    @Test
+    void addingANodeOnlyMovesReferencesToThatNode() {
+        ShardRing ring = new ShardRing(NODES, 128);
+        List<String> grown = List.of(NODES.get(0), NODES.get(1), NODES.get(2), "http://10.0.0.4:8080");
+        ShardRing grownRing = new ShardRing(grown, 128);
+        int moved = 0;
+
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            int before = ring.ownerOf(reference, ReferenceType.ORDER);
+            int after = grownRing.ownerOf(reference, ReferenceType.ORDER);
+            if (before != after) {
+                assertThat(after).isEqualTo(3);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(REFERENCES / 8, REFERENCES / 2);
+    }
+
+    @Test
+    void referenceTypeIsPartOfTheKey() {
+        ShardRing ring = new ShardRing(NODES, 128);
+        int differing = 0;
+
+        for (long reference = 1; reference <= 1_000; reference++) {
+            if (ring.ownerOf(reference, ReferenceType.ORDER) != ring.ownerOf(reference, ReferenceType.ENTITY)) {
+                differing++;
+            }
+        }
+
+        assertThat(differing).isGreaterThan(300);
+    }
+
+    @Test
+    void singleNodeOwnsEverything() {
+        ShardRing ring = new ShardRing(List.of("http://10.0.0.1:8080"), 16);
+
+        for (long reference = 1; reference <= 1_000; reference++) {
+            assertThat(ring.ownerOf(reference, ReferenceType.ENTITY)).isZero();
+        }
+        assertThat(ring.ownerOf(null, null)).isZero();
+    }
+
+    @Test
+    void emptyNodeListIsRejected() {
+        assertThatThrownBy(() -> new ShardRing(List.of(), 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
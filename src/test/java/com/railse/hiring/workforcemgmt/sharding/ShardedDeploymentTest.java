@@ -0,0 +1,163 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.railse.hiring.workforcemgmt.WorkforcemgmtApplication;
+import com.railse.hiring.workforcemgmt.common.model.enums.ReferenceType;
+import com.railse.hiring.workforcemgmt.repository.TaskRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots three shards and a router on loopback ports, each as its own application context, and drives the router
+ * over HTTP the way a client would.
+ */
+class ShardedDeploymentTest {
+
+    private static final int SHARDS = 3;
+    private static final int REFERENCES = 30;
+    private static final long ASSIGNEE_ID = 77L;
+    private static final LocalDate START_DATE = LocalDate.of(2026, 3, 2);
+
+    private static final RestTemplate http = new RestTemplate();
+    private static final List<ConfigurableApplicationContext> shards = new ArrayList<>();
+    private static final List<String> nodes = new ArrayList<>();
+    private static ConfigurableApplicationContext router;
+    private static String routerUrl;
+    // task id -> reference id, for every task created through the router
+    private static final Map<Long, Long> created = new LinkedHashMap<>();
+
+    @BeforeAll
+    static void startNodesAndCreateTasks() throws IOException {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            nodes.add("http://127.0.0.1:" + freePort());
+        }
+        for (int shard = 0; shard < SHARDS; shard++) {
+            shards.add(start(portOf(nodes.get(shard)), shard));
+        }
+        int routerPort = freePort();
+        router = start(routerPort, -1);
+        routerUrl = "http://127.0.0.1:" + routerPort;
+
+        List<Map<String, Object>> requests = new ArrayList<>();
+        for (long reference = 1; reference <= REFERENCES; reference++) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("reference_id", reference);
+            item.put("reference_type", ReferenceType.ORDER.name());
+            item.put("task", "CREATE_INVOICE");
+            item.put("assignee_id", ASSIGNEE_ID);
+            item.put("priority", "MEDIUM");
+            item.put("task_deadline_time", LocalDateTime.now().plusDays(7).withNano(0).toString());
+            item.put("start_date", START_DATE.toString());
+            requests.add(item);
+        }
+        JsonNode response = http.postForObject(routerUrl + "/task-mgmt/create", Map.of("requests", requests),
+                JsonNode.class);
+        for (JsonNode task : response.get("data")) {
+            created.put(task.get("id").asLong(), task.get("reference_id").asLong());
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (router != null) {
+            router.close();
+        }
+        shards.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void createIsRoutedToTheShardOwningTheReference() {
+        ShardRing ring = new ShardRing(router.getBean(ShardClient.class).nodes(), 128);
+
+        assertThat(created).hasSize(REFERENCES);
+        Set<Integer> used = new HashSet<>();
+        for (Map.Entry<Long, Long> task : created.entrySet()) {
+            int owner = ring.ownerOf(task.getValue(), ReferenceType.ORDER);
+            assertThat(TaskIdSpace.shardOf(task.getKey())).isEqualTo(owner);
+            for (int shard = 0; shard < SHARDS; shard++) {
+                TaskRepository tasks = shards.get(shard).getBean(TaskRepository.class);
+                assertThat(tasks.findById(task.getKey()).isPresent())
+                        .as("task %d stored on shard %d", task.getKey(), shard)
+                        .isEqualTo(shard == owner);
+            }
+            used.add(owner);
+        }
+        assertThat(used).hasSize(SHARDS);
+    }
+
+    @Test
+    void getByIdIsRoutedByTheShardBitsOfTheId() {
+        created.forEach((id, reference) -> {
+            JsonNode viaRouter = http.getForObject(routerUrl + "/task-mgmt/" + id, JsonNode.class);
+            assertThat(viaRouter.get("data").get("reference_id").asLong()).isEqualTo(reference);
+
+            String otherShard = nodes.get((TaskIdSpace.shardOf(id) + 1) % SHARDS);
+            JsonNode viaOtherShard = http.getForObject(otherShard + "/task-mgmt/" + id, JsonNode.class);
+            assertThat(viaOtherShard.get("data").get("id").asLong()).isEqualTo(id);
+        });
+    }
+
+    @Test
+    void keysetPagesMergeAllShardsInIdOrder() {
+        List<Long> paged = new ArrayList<>();
+        Long cursor = null;
+        int pages = 0;
+        boolean hasMore = true;
+        while (hasMore) {
+            Map<String, Object> request = new HashMap<>();
+            request.put("start_date", START_DATE.toString());
+            request.put("end_date", START_DATE.toString());
+            request.put("assignee_ids", List.of(ASSIGNEE_ID));
+            request.put("limit", 7);
+            request.put("cursor", cursor);
+            JsonNode page = http.postForObject(routerUrl + "/task-mgmt/fetch-by-date/v2", request, JsonNode.class);
+            page.get("data").forEach(task -> paged.add(task.get("id").asLong()));
+            JsonNode pagination = page.get("pagination");
+            hasMore = pagination.get("has_more").asBoolean();
+            cursor = pagination.get("next_cursor").asLong();
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo((REFERENCES + 6) / 7);
+        assertThat(paged).isSorted().doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(created.keySet());
+    }
+
+    private static ConfigurableApplicationContext start(int port, int self) {
+        return new SpringApplicationBuilder(WorkforcemgmtApplication.class).run(
+                "--server.port=" + port,
+                "--workforcemgmt.sharding.enabled=true",
+                "--workforcemgmt.sharding.nodes=" + String.join(",", nodes),
+                "--workforcemgmt.sharding.self=" + self,
+                "--workforcemgmt.deadlines.enabled=false",
+                "--workforcemgmt.history-tiering.enabled=false");
+    }
+
+    private static int portOf(String node) {
+        return Integer.parseInt(node.substring(node.lastIndexOf(':') + 1));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
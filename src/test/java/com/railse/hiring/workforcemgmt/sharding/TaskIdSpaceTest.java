@@ -0,0 +1,32 @@
+package com.railse.hiring.workforcemgmt.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskIdSpaceTest {
+
+    @Test
+    void idsAllocatedFromAShardBaseMapBackToThatShard() {
+        for (int shard = 0; shard < 64; shard++) {
+            long base = TaskIdSpace.idBase(shard);
+
+            assertThat(TaskIdSpace.shardOf(base + 1)).isEqualTo(shard);
+            assertThat(TaskIdSpace.shardOf(base + (1L << 40) - 1)).isEqualTo(shard);
+            assertThat(TaskIdSpace.shardOf(TaskIdSpace.idBase(shard + 1))).isEqualTo(shard + 1);
+        }
+    }
+
+    @Test
+    void shardZeroKeepsUnshardedIds() {
+        assertThat(TaskIdSpace.idBase(0)).isZero();
+        assertThat(TaskIdSpace.shardOf(1)).isZero();
+        assertThat(TaskIdSpace.shardOf(1_000_000_000L)).isZero();
+    }
+
+    @Test
+    void idsOfLaterShardsSortAfterEarlierOnes() {
+        assertThat(TaskIdSpace.idBase(1) + 1).isGreaterThan(TaskIdSpace.idBase(0) + (1L << 40) - 1);
+        assertThat(TaskIdSpace.idBase(2)).isGreaterThan(TaskIdSpace.idBase(1));
+    }
+}